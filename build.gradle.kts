@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -15,6 +16,9 @@ allprojects {
     group = property("app.group").toString()
 }
 
+// HTTP 부하 생성기 (src/loadgen, ./gradlew loadGen), 실행 중인 서버에 요청을 보내고 지연 시간 분포를 측정
+val loadgen: SourceSet by sourceSets.creating
+
 dependencyManagement {
     imports {
         mavenBom(libs.spring.cloud.dependencies.get().toString())
@@ -23,19 +27,45 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    // 부하 생성기의 분포, 설정, 집계 단위 테스트 (src/test/.../loadgen)
+    testImplementation(loadgen.output)
+    testImplementation(libs.hdrhistogram)
+    "loadgenImplementation"(libs.hdrhistogram)
+    "loadgenImplementation"(libs.jackson.databind)
 }
 
 // about source and compilation
+// 가상 스레드(spring.threads.virtual.enabled) 사용을 위해 JDK 21
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
+}
+
+// 벤치마크 (src/jmh, ./gradlew jmh), 결과는 추적할 수 있도록 JSON 으로 저장
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    // ./gradlew jmh -Pjmh.includes=PointHistoryBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// ./gradlew loadGen -Ploadgen.args="--mode=OPEN --rate=2000 --duration-seconds=60 --distribution=ZIPFIAN --json=build/results/loadgen.json"
+val loadGen by tasks.registering(JavaExec::class) {
+    description = "Drives a running server over HTTP and reports latency percentiles."
+    group = "verification"
+    classpath = loadgen.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadgen.LoadGenerator")
+    args(providers.gradleProperty("loadgen.args").orNull?.split(" ")?.filter { it.isNotBlank() } ?: emptyList<String>())
 }
 
 // bundling tasks
@@ -48,5 +78,23 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+// 부하 테스트는 시간이 오래 걸리므로 별도 태스크로 실행 (./gradlew loadTest)
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs load tests tagged with 'load'."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    // 1,000만 유저 메모리 사용량 비교용
+    maxHeapSize = "4g"
+    testLogging {
+        showStandardStreams = true
+    }
+    shouldRunAfter(tasks.test)
 }
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointHistoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 히스토리 조회 벤치마크 (./gradlew jmh)
+ * - rows 건의 히스토리를 NUMBER_OF_USERS 명에게 고르게 나누어 적재한 뒤 임의의 유저를 조회한다.
+ * - 조회는 테이블 지연이 없으므로 지연 없는 스텁 저장소를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PointHistoryBenchmark {
+
+    private static final int NUMBER_OF_USERS = 1_000;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private PointService pointService;
+    private PointAsyncExecutor pointAsyncExecutor;
+    private PointShardEngine pointShardEngine;
+
+    @Setup
+    public void setUp() {
+        StubPointHistoryRepository pointHistoryRepository = new StubPointHistoryRepository(StubLatency.NONE);
+        for (int i = 0; i < rows; i++) {
+            long amount = i % 2 == 0 ? 10L : -10L;
+            TransactionType type = amount > 0 ? TransactionType.CHARGE : TransactionType.USE;
+            pointHistoryRepository.insertPointHistory(i % NUMBER_OF_USERS + 1L, amount, type, i);
+        }
+
+        UserLockManager userLockManager = new UserLockManager(1024);
+        StubUserPointRepository userPointRepository = new StubUserPointRepository(StubLatency.NONE);
+        pointAsyncExecutor = new PointAsyncExecutor(userLockManager, 8, 1000, 10_000L);
+        pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 8, 1024);
+        pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                pointAsyncExecutor,
+                pointShardEngine
+        );
+    }
+
+    // 파라미터마다 만든 실행 스레드가 다음 측정까지 남지 않도록 종료
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pointShardEngine.close();
+        pointAsyncExecutor.close();
+    }
+
+    // 유저의 전체 히스토리
+    @Benchmark
+    public List<PointHistory> findAll() {
+        return pointService.getPointHistoriesByUser(randomUser());
+    }
+
+    // 전체 기간의 10% 구간
+    @Benchmark
+    public List<PointHistory> findBetween() {
+        long from = ThreadLocalRandom.current().nextLong(rows - rows / 10L);
+        return pointService.getPointHistoriesByUser(randomUser(), from, from + rows / 10L);
+    }
+
+    // 최신순 첫 페이지
+    @Benchmark
+    public PointHistoryPage firstPage() {
+        return pointService.getPointHistoryPage(randomUser(), null, 20, HistoryOrder.NEWEST);
+    }
+
+    private static long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, NUMBER_OF_USERS + 1);
+    }
+}
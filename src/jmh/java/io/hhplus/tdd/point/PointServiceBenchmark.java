@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * PointService 충전/사용/조회 벤치마크 (./gradlew jmh)
+ * - 쓰기는 충전 후 같은 금액을 사용하는 한 쌍으로 측정하여 잔고가 정책 범위를 벗어나지 않도록 한다.
+ * - latency, mode 파라미터로 테이블 지연 유무와 동시성 처리 방식을 바꿔가며 측정한다.
+ * - 경합 정도는 singleUser(모든 스레드가 한 유저) / manyUsers(거의 경합 없음) 로 비교한다.
+ * - OPTIMISTIC 모드에서 재시도를 모두 소진한 충돌은 측정을 중단하지 않고 conflicts 보조 지표로 집계한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PointServiceBenchmark {
+
+    private static final int NUMBER_OF_USERS = 10_000;
+    private static final int HOT_USERS = 8;
+
+    @Param({"NONE", "TABLE"})
+    private StubLatency latency;
+
+    @Param({"LOCK", "COMBINING", "OPTIMISTIC", "SHARDED"})
+    private ConcurrencyMode mode;
+
+    private PointService pointService;
+    private PointAsyncExecutor pointAsyncExecutor;
+    private PointShardEngine pointShardEngine;
+
+    @Setup
+    public void setUp() {
+        UserLockManager userLockManager = new UserLockManager(1024);
+        StubUserPointRepository userPointRepository = new StubUserPointRepository(latency);
+        StubPointHistoryRepository pointHistoryRepository = new StubPointHistoryRepository(latency);
+        pointAsyncExecutor = new PointAsyncExecutor(userLockManager, 8, 1000, 10_000L);
+        pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 8, 1024);
+        pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                pointAsyncExecutor,
+                pointShardEngine
+        );
+        pointService.setConcurrencyMode(mode);
+    }
+
+    // 파라미터마다 만든 실행 스레드가 다음 측정까지 남지 않도록 종료
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pointShardEngine.close();
+        pointAsyncExecutor.close();
+    }
+
+    // 모든 스레드가 같은 유저에 몰리는 경우
+    @Benchmark
+    public UserPoint singleUser(Conflicts conflicts) {
+        return chargeAndUse(1L, conflicts);
+    }
+
+    // 스레드 수와 비슷한 소수의 유저에 몰리는 경우 (가끔 충돌)
+    @Benchmark
+    public UserPoint fewUsers(Conflicts conflicts) {
+        return chargeAndUse(ThreadLocalRandom.current().nextLong(1, HOT_USERS + 1), conflicts);
+    }
+
+    // 요청이 여러 유저에 고르게 퍼지는 경우
+    @Benchmark
+    public UserPoint manyUsers(Conflicts conflicts) {
+        return chargeAndUse(randomUser(), conflicts);
+    }
+
+    // 조회 90%, 쓰기 10%
+    @Benchmark
+    public UserPoint readHeavy(Conflicts conflicts) {
+        return mixed(90, conflicts);
+    }
+
+    // 조회 10%, 쓰기 90%
+    @Benchmark
+    public UserPoint writeHeavy(Conflicts conflicts) {
+        return mixed(10, conflicts);
+    }
+
+    private UserPoint mixed(int readPercent, Conflicts conflicts) {
+        long userId = randomUser();
+        if (ThreadLocalRandom.current().nextInt(100) < readPercent) {
+            return pointService.getPointByUser(userId);
+        }
+        return chargeAndUse(userId, conflicts);
+    }
+
+    // 충전이 충돌하면 이번 호출은 건너뛰고, 사용은 충전만 반영된 채로 남지 않도록 성공할 때까지 다시 시도
+    private UserPoint chargeAndUse(long userId, Conflicts conflicts) {
+        if (attempt(() -> pointService.chargePoint(userId, 10L), conflicts) == null) {
+            return null;
+        }
+        UserPoint userPoint;
+        do {
+            userPoint = attempt(() -> pointService.usePoint(userId, -10L), conflicts);
+        } while (userPoint == null);
+        return userPoint;
+    }
+
+    // OPTIMISTIC 모드에서 재시도를 모두 소진하면 충돌로 집계하고 null (재시도 대기 중 중단된 경우는 그대로 던짐)
+    private UserPoint attempt(Supplier<UserPoint> operation, Conflicts conflicts) {
+        try {
+            return operation.get();
+        } catch (IllegalStateException e) {
+            if (mode != ConcurrencyMode.OPTIMISTIC || Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            conflicts.conflicts++;
+            return null;
+        }
+    }
+
+    private static long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, NUMBER_OF_USERS + 1);
+    }
+
+    // 스레드별 충돌 횟수, 반복(iteration)마다 초기화
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+}
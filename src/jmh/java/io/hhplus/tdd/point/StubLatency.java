@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크용 스텁 저장소의 지연
+ * - NONE : 지연 없음 (서비스 로직과 락 비용만 측정)
+ * - TABLE : UserPointTable / PointHistoryTable 과 같은 범위의 임의 지연
+ */
+public enum StubLatency {
+
+    NONE(0L, 0L),
+    TABLE(200L, 300L);
+
+    private final long maxReadMillis;
+    private final long maxWriteMillis;
+
+    StubLatency(long maxReadMillis, long maxWriteMillis) {
+        this.maxReadMillis = maxReadMillis;
+        this.maxWriteMillis = maxWriteMillis;
+    }
+
+    public void read() {
+        sleep(maxReadMillis);
+    }
+
+    public void write() {
+        sleep(maxWriteMillis);
+    }
+
+    private static void sleep(long maxMillis) {
+        if (maxMillis == 0L) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(maxMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
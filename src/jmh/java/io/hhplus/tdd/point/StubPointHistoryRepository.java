@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.repository.PointHistoryIndex;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 인덱스 기반 히스토리 저장소, 지연은 적재 시에만 적용 (PointHistoryTable 과 동일)
+public class StubPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryIndex index = new PointHistoryIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StubLatency latency;
+
+    private long cursor = 1;
+
+    public StubPointHistoryRepository(StubLatency latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public List<PointHistory> findAllById(Long id) {
+        lock.readLock().lock();
+        try {
+            return index.findAll(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByIdBetween(Long id, long from, long to) {
+        lock.readLock().lock();
+        try {
+            return index.findBetween(id, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findPageById(Long id, HistoryCursor cursor, int limit, HistoryOrder order) {
+        lock.readLock().lock();
+        try {
+            return index.findPage(id, cursor, limit, order);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+        latency.write();
+        lock.writeLock().lock();
+        try {
+            PointHistory pointHistory = new PointHistory(cursor++, id, amount, type, updateMillis);
+            index.add(pointHistory);
+            return pointHistory;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
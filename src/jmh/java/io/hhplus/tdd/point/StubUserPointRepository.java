@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 테이블과 달리 스레드 안전하고 지연을 선택할 수 있는 저장소
+public class StubUserPointRepository implements UserPointRepository {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final StubLatency latency;
+
+    public StubUserPointRepository(StubLatency latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public UserPoint findById(Long id) {
+        latency.read();
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint upsert(Long id, Long amount) {
+        latency.write();
+        return table.compute(id, (key, current) ->
+                new UserPoint(id, amount, System.currentTimeMillis(), current == null ? 1L : current.version() + 1));
+    }
+
+    @Override
+    public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+        latency.write();
+        UserPoint[] saved = new UserPoint[1];
+        table.compute(id, (key, current) -> {
+            long version = current == null ? 0L : current.version();
+            if (version != expectedVersion) {
+                return current;
+            }
+            saved[0] = new UserPoint(id, amount, System.currentTimeMillis(), version + 1);
+            return saved[0];
+        });
+        return saved[0];
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행 중인 서버의 PointController 에 HTTP 로 부하를 주고 지연 시간 분포를 출력
+ * - OPEN : rate 에 맞춰 정해진 시점마다 요청을 보내고 응답은 기다리지 않는다. 서버가 느려져도 요청 간격은 그대로이다.
+ * - CLOSED : concurrency 개의 스레드가 각자 응답을 받은 뒤 다음 요청을 보낸다. rate 를 지정하면 스레드별로 간격을 맞춘다.
+ * - 지연 시간은 보내려고 했던 시점부터 응답을 받은 시점까지 (CLOSED 모드에서 rate 가 0 이면 실제로 보낸 시점부터)
+ * - warmup-seconds 동안 보낸 요청은 집계하지 않는다.
+ * - OPEN 모드에서 max-in-flight 를 넘어 보내지 못한 요청이 있으면 부하를 제대로 주지 못한 것이므로 종료 코드 1 로 끝난다.
+ * <p>
+ * ./gradlew loadGen -Ploadgen.args="--mode=OPEN --rate=2000 --duration-seconds=60 --distribution=ZIPFIAN --json=build/results/loadgen.json"
+ */
+public final class LoadGenerator {
+
+    private final LoadOptions options;
+    private final HttpClient client;
+    private final UserIdDistribution userIds;
+    private final LoadStats stats = new LoadStats();
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.userIds = UserIdDistribution.of(options);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(options.timeoutMillis()))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        LoadResult result = new LoadGenerator(options).run();
+
+        System.out.print(result.toText());
+        if (options.json() != null) {
+            Path path = Path.of(options.json());
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        }
+        if (result.dropped() > 0) {
+            System.exit(1);
+        }
+    }
+
+    LoadResult run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        boolean corrected = true;
+        if (options.mode() == LoadOptions.Mode.OPEN) {
+            runOpen(start, measureFrom, end);
+        } else {
+            corrected = options.rate() > 0;
+            runClosed(start, measureFrom, end);
+        }
+        return stats.result(options, (end - measureFrom) / 1e9, corrected);
+    }
+
+    // 한 스레드가 정해진 시점마다 비동기로 요청, 응답은 HttpClient 스레드에서 기록
+    private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        double intervalNanos = 1e9 / options.rate();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            waitUntil(intended);
+
+            boolean measured = intended >= measureFrom;
+            Operation operation = Operation.pick(options);
+            if (inFlight.get() >= options.maxInFlight()) {
+                if (measured) {
+                    stats.recordDropped(operation, TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()));
+                }
+                continue;
+            }
+
+            HttpRequest request = operation.request(options, userIds.next());
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    record(operation, intended, response, error);
+                }
+            });
+        }
+
+        // 보낸 요청의 응답을 기다림 (시간 초과된 요청은 오류로 기록됨)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()) * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void runClosed(long start, long measureFrom, long end) throws InterruptedException {
+        // 스레드별 요청 간격, 시작 시점은 스레드마다 조금씩 어긋나게 함
+        double intervalNanos = options.rate() > 0 ? options.concurrency() * 1e9 / options.rate() : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        List<Runnable> tasks = new ArrayList<>();
+        for (int worker = 0; worker < options.concurrency(); worker++) {
+            long offset = (long) (worker * intervalNanos / options.concurrency());
+            tasks.add(() -> {
+                for (long i = 0; ; i++) {
+                    long intended = intervalNanos > 0 ? start + offset + (long) (i * intervalNanos) : System.nanoTime();
+                    if (intended >= end) {
+                        return;
+                    }
+                    waitUntil(intended);
+
+                    Operation operation = Operation.pick(options);
+                    HttpResponse<Void> response = null;
+                    Throwable error = null;
+                    try {
+                        response = client.send(operation.request(options, userIds.next()), HttpResponse.BodyHandlers.discarding());
+                    } catch (IOException e) {
+                        error = e;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (intended >= measureFrom) {
+                        record(operation, intended, response, error);
+                    }
+                }
+            });
+        }
+        tasks.forEach(workers::execute);
+        workers.shutdown();
+        workers.awaitTermination(end - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()) * 2,
+                TimeUnit.NANOSECONDS);
+        workers.shutdownNow();
+    }
+
+    private void record(Operation operation, long intended, HttpResponse<Void> response, Throwable error) {
+        long latency = System.nanoTime() - intended;
+        if (error != null) {
+            stats.recordError(operation, latency);
+        } else {
+            stats.record(operation, latency, response.statusCode());
+        }
+    }
+
+    // 남은 시간이 짧으면 바쁜 대기로 정확한 시점에 보냄
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MILLISECONDS.toNanos(2)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MILLISECONDS.toNanos(1));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.loadgen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 생성 설정, --key=value 형식의 인자로 지정
+ * - mode : OPEN 은 rate 에 맞춰 응답을 기다리지 않고 요청을 보냄, CLOSED 는 concurrency 개의 스레드가 응답을 받은 뒤 다음 요청을 보냄
+ * - rate : 초당 요청 수, CLOSED 모드에서 0 이면 최대한 빠르게 보냄 (지연 시간 보정 없음)
+ * - mix : 조회:충전:사용 비율
+ * - base-url : 쉼표로 여러 노드를 지정하면 요청마다 무작위로 골라 보냄 (클러스터 모드, 소유하지 않은 유저는 노드가 전달)
+ */
+public record LoadOptions(
+        String baseUrl,
+        Mode mode,
+        double rate,
+        int concurrency,
+        int maxInFlight,
+        long warmupSeconds,
+        long durationSeconds,
+        long users,
+        Distribution distribution,
+        double zipfianExponent,
+        int readWeight,
+        int chargeWeight,
+        int useWeight,
+        long amount,
+        long timeoutMillis,
+        String json
+) {
+
+    public enum Mode {
+        OPEN, CLOSED
+    }
+
+    public enum Distribution {
+        UNIFORM, ZIPFIAN
+    }
+
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String[] mix = values.getOrDefault("mix", "50:25:25").split(":");
+        if (mix.length != 3) {
+            throw new IllegalArgumentException("mix 는 조회:충전:사용 비율이어야 합니다. (예: 50:25:25)");
+        }
+
+        LoadOptions options = new LoadOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                Mode.valueOf(values.getOrDefault("mode", "OPEN").toUpperCase()),
+                Double.parseDouble(values.getOrDefault("rate", "1000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Long.parseLong(values.getOrDefault("warmup-seconds", "5")),
+                Long.parseLong(values.getOrDefault("duration-seconds", "30")),
+                Long.parseLong(values.getOrDefault("users", "10000")),
+                Distribution.valueOf(values.getOrDefault("distribution", "UNIFORM").toUpperCase()),
+                Double.parseDouble(values.getOrDefault("zipfian-exponent", "0.99")),
+                Integer.parseInt(mix[0]),
+                Integer.parseInt(mix[1]),
+                Integer.parseInt(mix[2]),
+                Long.parseLong(values.getOrDefault("amount", "10")),
+                Long.parseLong(values.getOrDefault("timeout-millis", "10000")),
+                values.get("json")
+        );
+        options.validate();
+        return options;
+    }
+
+    // 요청을 보낼 노드
+    String pickBaseUrl() {
+        String[] baseUrls = baseUrl.split(",");
+        return baseUrls.length == 1 ? baseUrl : baseUrls[ThreadLocalRandom.current().nextInt(baseUrls.length)].trim();
+    }
+
+    private void validate() {
+        if (mode == Mode.OPEN && rate <= 0) {
+            throw new IllegalArgumentException("OPEN 모드는 rate 가 0 보다 커야 합니다.");
+        }
+        if (rate < 0 || concurrency <= 0 || maxInFlight <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || users <= 0) {
+            throw new IllegalArgumentException("rate, warmup-seconds 는 0 이상, concurrency, max-in-flight, duration-seconds, users 는 1 이상이어야 합니다.");
+        }
+        if (readWeight < 0 || chargeWeight < 0 || useWeight < 0 || readWeight + chargeWeight + useWeight == 0) {
+            throw new IllegalArgumentException("mix 의 비율은 0 이상이고 합이 1 이상이어야 합니다.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount 는 1 이상이어야 합니다.");
+        }
+    }
+}
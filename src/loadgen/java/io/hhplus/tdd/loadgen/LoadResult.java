@@ -0,0 +1,72 @@
+package io.hhplus.tdd.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * 부하 생성 결과, JSON 으로 그대로 저장
+ * - corrected 가 false 면 (CLOSED 모드, rate 0) 지연 시간에 서버가 느려져 요청을 늦게 보낸 시간이 포함되지 않음
+ * - statuses 는 응답 상태 코드별 건수, errors 는 응답을 받지 못한 건수 (연결 실패, 시간 초과)
+ * - dropped 는 max-in-flight 를 넘어 보내지 못한 건수, 지연 시간에는 시간 초과로 포함되며 0 보다 크면 결과를 신뢰할 수 없음
+ */
+record LoadResult(
+        LoadOptions options,
+        double elapsedSeconds,
+        boolean corrected,
+        Map<String, Summary> operations,
+        Map<Integer, Long> statuses,
+        long errors,
+        long dropped
+) {
+
+    // 지연 시간 단위 ms
+    record Summary(
+            long count,
+            double throughput,
+            double mean,
+            double p50,
+            double p90,
+            double p99,
+            double p999,
+            double p9999,
+            double max
+    ) {
+
+        static Summary of(Histogram histogram, double elapsedSeconds) {
+            return new Summary(
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(90.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getValueAtPercentile(99.99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0
+            );
+        }
+    }
+
+    String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("mode=%s rate=%.0f/s concurrency=%d users=%d distribution=%s mix=%d:%d:%d duration=%.1fs%n",
+                options.mode(), options.rate(), options.concurrency(), options.users(), options.distribution(),
+                options.readWeight(), options.chargeWeight(), options.useWeight(), elapsedSeconds));
+        if (!corrected) {
+            text.append("(coordinated omission 미보정: rate 를 지정하면 보정됨)\n");
+        }
+        if (dropped > 0) {
+            text.append(String.format("(경고: max-in-flight 를 넘어 %d 건을 보내지 못해 시간 초과로 기록함, rate 를 줄이거나 max-in-flight 를 늘려야 함)%n", dropped));
+        }
+        text.append(String.format("%-8s %10s %10s %9s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "req/s", "mean", "p50", "p90", "p99", "p99.9", "p99.99", "max"));
+        operations.forEach((operation, summary) -> text.append(String.format(
+                "%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, summary.count(), summary.throughput(), summary.mean(), summary.p50(), summary.p90(),
+                summary.p99(), summary.p999(), summary.p9999(), summary.max())));
+        text.append("(latency ms)\n");
+        text.append("statuses=").append(statuses).append(" errors=").append(errors).append(" dropped=").append(dropped).append('\n');
+        return text.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연 시간(us)과 응답 상태 집계
+ * - 여러 스레드에서 동시에 기록하므로 HdrHistogram Recorder 를 사용 (기록 시 락 없음)
+ * - 지연 시간은 실제로 보낸 시점이 아니라 보내려고 했던 시점부터 계산하여, 서버가 느려져 요청을 늦게 보낸 시간도 포함한다. (coordinated omission 보정)
+ * - max-in-flight 를 넘어 보내지 못한 요청도 응답을 받지 못한 요청이므로 시간 초과(timeout-millis)로 지연 시간에 포함한다.
+ *   (빼면 서버가 가장 느릴 때의 요청만 빠져 백분위가 실제보다 낮게 나옴)
+ */
+final class LoadStats {
+
+    // 1시간, 이보다 긴 값은 1시간으로 기록
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LoadStats() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        recordLatency(operation, latencyNanos);
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    // 연결 실패, 시간 초과, 걸린 시간까지 지연 시간에 포함
+    void recordError(Operation operation, long latencyNanos) {
+        recordLatency(operation, latencyNanos);
+        errors.increment();
+    }
+
+    // max-in-flight 를 넘어 보내지 못한 요청, 응답을 기다렸다면 걸렸을 최소 시간(시간 초과)으로 기록
+    void recordDropped(Operation operation, long timeoutNanos) {
+        recordLatency(operation, timeoutNanos);
+        dropped.increment();
+    }
+
+    LoadResult result(LoadOptions options, double elapsedSeconds, boolean corrected) {
+        Map<String, LoadResult.Summary> operations = new LinkedHashMap<>();
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            all.add(histogram);
+            operations.put(entry.getKey().name(), LoadResult.Summary.of(histogram, elapsedSeconds));
+        }
+        operations.put("ALL", LoadResult.Summary.of(all, elapsedSeconds));
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new LoadResult(options, elapsedSeconds, corrected, operations, statusCounts, errors.sum(), dropped.sum());
+    }
+
+    private void recordLatency(Operation operation, long latencyNanos) {
+        long micros = Math.max(0L, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorders.get(operation).recordValue(micros);
+    }
+}
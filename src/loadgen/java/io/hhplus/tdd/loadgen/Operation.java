@@ -0,0 +1,40 @@
+package io.hhplus.tdd.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 생성기가 보내는 요청 종류, PointController 의 조회/충전/사용
+ */
+enum Operation {
+
+    READ, CHARGE, USE;
+
+    static Operation pick(LoadOptions options) {
+        int total = options.readWeight() + options.chargeWeight() + options.useWeight();
+        int value = ThreadLocalRandom.current().nextInt(total);
+        if (value < options.readWeight()) {
+            return READ;
+        }
+        return value < options.readWeight() + options.chargeWeight() ? CHARGE : USE;
+    }
+
+    HttpRequest request(LoadOptions options, long userId) {
+        String baseUrl = options.pickBaseUrl();
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofMillis(options.timeoutMillis()))
+                .header("Content-Type", "application/json");
+        return switch (this) {
+            case READ -> builder.uri(URI.create(baseUrl + "/point/" + userId)).GET().build();
+            case CHARGE -> builder.uri(URI.create(baseUrl + "/point/" + userId + "/charge"))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + options.amount() + "}"))
+                    .build();
+            // 사용은 음수로 보냄 (PointPolicy)
+            case USE -> builder.uri(URI.create(baseUrl + "/point/" + userId + "/use"))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + -options.amount() + "}"))
+                    .build();
+        };
+    }
+}
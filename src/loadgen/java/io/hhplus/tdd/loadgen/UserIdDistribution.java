@@ -0,0 +1,63 @@
+package io.hhplus.tdd.loadgen;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청할 유저 ID (1 ~ users) 분포
+ */
+interface UserIdDistribution {
+
+    long next();
+
+    static UserIdDistribution of(LoadOptions options) {
+        return switch (options.distribution()) {
+            case UNIFORM -> () -> ThreadLocalRandom.current().nextLong(options.users()) + 1;
+            case ZIPFIAN -> new Zipfian(options.users(), options.zipfianExponent());
+        };
+    }
+
+    /**
+     * Zipfian 분포, ID 가 작을수록 요청이 많음 (1 번 유저가 가장 많음)
+     * - Gray et al. "Quickly Generating Billion-Record Synthetic Databases" 의 방식으로, 생성 시 한 번 zeta 를 계산하고 이후 O(1) 로 뽑는다.
+     */
+    final class Zipfian implements UserIdDistribution {
+
+        private final long items;
+        private final double theta;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+
+        Zipfian(long items, double theta) {
+            if (theta <= 0 || theta >= 1) {
+                throw new IllegalArgumentException("zipfian-exponent 는 0 보다 크고 1 보다 작아야 합니다.");
+            }
+            this.items = items;
+            this.theta = theta;
+            this.zetaN = zeta(items, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+        }
+
+        @Override
+        public long next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0) {
+                return 1;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return Math.min(2, items);
+            }
+            return 1 + Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+        }
+
+        private static double zeta(long n, double theta) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+    }
+}
@@ -1,14 +1,67 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.IdempotencyKeyMismatchException;
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.hhplus.tdd.point.cluster.ClusterRoutingException;
+import io.hhplus.tdd.point.cluster.CrossNodeBatchException;
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
+
+    // 같은 Idempotency-Key 로 다른 요청을 보낸 경우, 재시도해도 처리되지 않음
+    @ExceptionHandler(value = IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException e) {
+        return ResponseEntity.status(422).body(new ErrorResponse("422", e.getMessage()));
+    }
+
+    // 수락 제어나 비동기 실행기/샤드 대기열에서 거절한 요청은 잠시 후 재시도하도록 응답
+    @ExceptionHandler(value = AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(AdmissionRejectedException e) {
+        return tooManyRequests(e.retryAfterSeconds());
+    }
+
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException e) {
+        return tooManyRequests(1L);
+    }
+
+    // 소유권 이전 중이거나 소유 노드에 연결하지 못한 요청
+    @ExceptionHandler(value = ClusterRoutingException.class)
+    public ResponseEntity<ErrorResponse> handleClusterRouting(ClusterRoutingException e) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("503", "요청을 처리할 노드를 찾지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    // 여러 노드가 소유한 유저를 섞은 일괄 처리 요청, 재시도해도 같으므로 Retry-After 없이 나누어 요청하도록 응답
+    @ExceptionHandler(value = CrossNodeBatchException.class)
+    public ResponseEntity<ErrorResponse> handleCrossNodeBatch(CrossNodeBatchException e) {
+        return ResponseEntity.status(503)
+                .body(new ErrorResponse("503", "여러 노드가 소유한 유저의 요청은 한 번에 처리할 수 없습니다. 유저별로 나누어 요청해주세요."));
+    }
+
+    // 처리 기한이 지나 처리하지 않은 요청, 비동기 요청의 처리 제한 시간 초과
+    @ExceptionHandler(value = {DeadlineExceededException.class, TimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleTimeout(Exception e) {
+        return ResponseEntity.status(504).body(new ErrorResponse("504", "요청 처리 시간이 초과되었습니다."));
+    }
+
+    private static ResponseEntity<ErrorResponse> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("429", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+    }
 }
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.PointOperationResult;
+import io.hhplus.tdd.point.reponse.UserPoint;
+
+/**
+ * 포인트 충전/사용 요청 한 건의 처리 결과와, 실패했다면 그 원인 예외
+ * - 단건 요청으로 처리할 때는 단건 처리와 같은 예외를 다시 던진다.
+ */
+record AppliedOperation(
+        PointOperationResult result,
+        RuntimeException error
+) {
+
+    static AppliedOperation success(PointOperation operation, long point) {
+        return new AppliedOperation(PointOperationResult.success(operation, point), null);
+    }
+
+    static AppliedOperation failure(PointOperation operation, String message, RuntimeException error) {
+        return new AppliedOperation(PointOperationResult.failure(operation, message), error);
+    }
+
+    UserPoint toUserPoint() {
+        if (error != null) {
+            throw error;
+        }
+        return new UserPoint(result.userId(), result.point(), System.currentTimeMillis());
+    }
+}
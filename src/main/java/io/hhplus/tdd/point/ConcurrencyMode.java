@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+
+/**
+ * 포인트 충전/사용 동시성 제어 방식
+ * - LOCK : 유저별 락을 잡고 요청마다 조회/저장
+ * - COMBINING : 락을 잡은 스레드가 같은 락을 기다리는 요청을 모아 한 번에 조회/저장
+ * - OPTIMISTIC : 락 없이 조회 후 버전이 그대로일 때만 저장, 충돌하면 잠시 대기 후 재시도
+ * - SHARDED : 유저 ID 로 정한 샤드의 단일 스레드가 락 없이 처리 (PointShardEngine)
+ */
+public enum ConcurrencyMode {
+    LOCK, COMBINING, OPTIMISTIC, SHARDED
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.PointHistory;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 포인트 히스토리 페이지 커서
+ * - 마지막으로 반환한 히스토리의 정렬 키 (updateMillis, id) 를 담는다.
+ * - 클라이언트에는 내부 구조를 알 수 없는 문자열로 인코딩하여 전달한다.
+ */
+public record HistoryCursor(
+        long updateMillis,
+        long id
+) {
+
+    public static HistoryCursor of(PointHistory pointHistory) {
+        return new HistoryCursor(pointHistory.updateMillis(), pointHistory.id());
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+
+        if (bytes.length != Long.BYTES * 2) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new HistoryCursor(buffer.getLong(), buffer.getLong());
+    }
+
+    // 정렬 키 비교, 음수면 커서가 pointHistory 보다 앞
+    public int compareTo(PointHistory pointHistory) {
+        int result = Long.compare(updateMillis, pointHistory.updateMillis());
+        return result != 0 ? result : Long.compare(id, pointHistory.id());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2).putLong(updateMillis).putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
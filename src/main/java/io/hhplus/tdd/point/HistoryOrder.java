@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+
+/**
+ * 포인트 히스토리 정렬 순서
+ * - NEWEST : 최신순
+ * - OLDEST : 오래된순
+ */
+public enum HistoryOrder {
+    NEWEST, OLDEST
+}
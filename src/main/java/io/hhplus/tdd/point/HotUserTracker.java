@@ -0,0 +1,262 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.HotUser;
+import io.hhplus.tdd.point.reponse.HotUsers;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 요청이 몰리는 유저(hot user) 추적
+ * - 유저별 요청 수와 락 대기 시간을 Space-Saving 알고리즘으로 집계하여, 유저 수와 상관없이 고정된 메모리로 상위 유저를 찾는다.
+ * - 집계 값은 실제보다 클 수 있으며, 최대 오차(error)를 함께 반환한다. (capacity 보다 많은 유저가 몰리면 오차가 커짐)
+ * - 유저 ID 로 stripe 를 나누어 각자 집계하므로 서로 다른 유저의 요청은 같은 락을 거의 경쟁하지 않는다.
+ * - window-millis 단위로 구간을 나누고, 직전 구간과 현재 구간을 합쳐 초당 값을 계산한다.
+ */
+@Component
+public class HotUserTracker {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final int topK;
+    private final long windowMillis;
+    private final long metricsCacheMillis;
+    private final LongSupplier clock;
+
+    private volatile CachedSnapshot metricsCache;
+
+    public HotUserTracker(int capacity, int topK, long windowMillis, LongSupplier clock) {
+        this(capacity, topK, windowMillis, 1_000L, clock, null);
+    }
+
+    @Autowired
+    public HotUserTracker(
+            @Value("${point.hot-users.capacity:1024}") int capacity,
+            @Value("${point.hot-users.top-k:10}") int topK,
+            @Value("${point.hot-users.window-millis:60000}") long windowMillis,
+            @Value("${point.hot-users.metrics-cache-millis:1000}") long metricsCacheMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this(capacity, topK, windowMillis, metricsCacheMillis, System::currentTimeMillis, meterRegistry);
+    }
+
+    HotUserTracker(int capacity, int topK, long windowMillis, long metricsCacheMillis, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (capacity < STRIPES || topK <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("집계 유저 수는 " + STRIPES + " 이상, 상위 유저 수와 집계 구간은 1 이상이어야 합니다.");
+        }
+        this.topK = topK;
+        this.windowMillis = windowMillis;
+        this.metricsCacheMillis = metricsCacheMillis;
+        this.clock = clock;
+
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity / STRIPES);
+        }
+
+        if (meterRegistry == null) {
+            return;
+        }
+        // 유저 ID 를 태그로 쓰면 유저 수만큼 시계열이 늘어나므로 순위를 태그로 사용 (유저 ID 는 /point/admin/hot-users 로 조회)
+        for (int rank = 1; rank <= topK; rank++) {
+            int index = rank - 1;
+            Gauge.builder("point.hot.users.requests", this, tracker -> rankValue(tracker.metricsSnapshot().byRequests(), index))
+                    .description("요청이 많은 순위별 유저의 초당 충전/사용 요청 수")
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+            Gauge.builder("point.hot.users.lock.wait", this, tracker -> rankValue(tracker.metricsSnapshot().byLockWait(), index))
+                    .description("락 대기 시간이 긴 순위별 유저의 초당 락 대기 시간(ms)")
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordRequest(long userId) {
+        stripeOf(userId).record(userId, 1L, 0L, currentWindow());
+    }
+
+    // 락(또는 OPTIMISTIC 모드의 재시도) 대기 시간
+    public void recordLockWait(long userId, long waitNanos) {
+        if (waitNanos > 0) {
+            stripeOf(userId).record(userId, 0L, waitNanos, currentWindow());
+        }
+    }
+
+    public HotUsers snapshot() {
+        return new HotUsers(windowMillis, topByRequests(), topByLockWait());
+    }
+
+    List<HotUser> topByRequests() {
+        return top(Stripe::requests, 1.0);
+    }
+
+    // 락 대기 시간은 ms 단위로 반환
+    List<HotUser> topByLockWait() {
+        return top(Stripe::lockWaits, 1.0 / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private List<HotUser> top(Function<Stripe, SpaceSaving[]> summaries, double scale) {
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        // 직전 구간 전체 + 현재 구간의 경과 시간
+        double seconds = (windowMillis + now % windowMillis) / 1000.0;
+
+        List<HotUser> candidates = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.rotate(window);
+                SpaceSaving[] generations = summaries.apply(stripe);
+                Map<Long, long[]> merged = new HashMap<>();
+                for (SpaceSaving generation : generations) {
+                    for (SpaceSaving.Counter counter : generation.counters.values()) {
+                        long[] sum = merged.computeIfAbsent(counter.userId, userId -> new long[2]);
+                        sum[0] += counter.count;
+                        sum[1] += counter.error;
+                    }
+                }
+                merged.forEach((userId, sum) -> candidates.add(
+                        new HotUser(userId, (long) (sum[0] * scale), (long) (sum[1] * scale), sum[0] * scale / seconds)));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(HotUser::value).reversed().thenComparingLong(HotUser::userId));
+        return List.copyOf(candidates.subList(0, Math.min(topK, candidates.size())));
+    }
+
+    // 메트릭 수집 한 번에 게이지 2 x top-k 개를 읽으므로, 상위 유저는 metrics-cache-millis 동안 한 번만 계산
+    HotUsers metricsSnapshot() {
+        long now = clock.getAsLong();
+        CachedSnapshot cached = metricsCache;
+        if (cached == null || now - cached.computedAt() >= metricsCacheMillis) {
+            cached = new CachedSnapshot(now, snapshot());
+            metricsCache = cached;
+        }
+        return cached.snapshot();
+    }
+
+    private static double rankValue(List<HotUser> top, int index) {
+        return index < top.size() ? top.get(index).perSecond() : Double.NaN;
+    }
+
+    private Stripe stripeOf(long userId) {
+        int h = Long.hashCode(userId);
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private long currentWindow() {
+        return clock.getAsLong() / windowMillis;
+    }
+
+    private record CachedSnapshot(long computedAt, HotUsers snapshot) {
+    }
+
+    // 유저 ID 로 나눈 집계 단위, 직전/현재 구간의 요청 수와 락 대기 시간을 각각 집계
+    private static final class Stripe {
+
+        private final int capacity;
+        private SpaceSaving[] requests;
+        private SpaceSaving[] lockWaits;
+        private long window = Long.MIN_VALUE;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.requests = new SpaceSaving[]{new SpaceSaving(capacity), new SpaceSaving(capacity)};
+            this.lockWaits = new SpaceSaving[]{new SpaceSaving(capacity), new SpaceSaving(capacity)};
+        }
+
+        private synchronized void record(long userId, long requestCount, long waitNanos, long current) {
+            rotate(current);
+            if (requestCount > 0) {
+                requests[1].add(userId, requestCount);
+            }
+            if (waitNanos > 0) {
+                lockWaits[1].add(userId, waitNanos);
+            }
+        }
+
+        // [0] 직전 구간, [1] 현재 구간
+        private void rotate(long current) {
+            if (current == window) {
+                return;
+            }
+            boolean adjacent = current - window == 1;
+            requests = new SpaceSaving[]{adjacent ? requests[1] : new SpaceSaving(capacity), new SpaceSaving(capacity)};
+            lockWaits = new SpaceSaving[]{adjacent ? lockWaits[1] : new SpaceSaving(capacity), new SpaceSaving(capacity)};
+            window = current;
+        }
+
+        private SpaceSaving[] requests() {
+            return requests;
+        }
+
+        private SpaceSaving[] lockWaits() {
+            return lockWaits;
+        }
+    }
+
+    /**
+     * Space-Saving 상위 빈도 집계
+     * - 최대 capacity 명의 유저만 집계하고, 가득 차면 가장 작은 값의 유저를 새 유저로 교체한다.
+     * - 교체된 유저는 기존 값을 이어받으므로 값은 실제보다 클 수 있고, 이어받은 값을 error 로 기록한다.
+     */
+    static final class SpaceSaving {
+
+        private final int capacity;
+        private final Map<Long, Counter> counters = new HashMap<>();
+        private final TreeSet<Counter> ordered = new TreeSet<>(
+                Comparator.comparingLong((Counter counter) -> counter.count).thenComparingLong(counter -> counter.userId));
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(long userId, long weight) {
+            Counter counter = counters.get(userId);
+            if (counter == null) {
+                if (counters.size() < capacity) {
+                    counter = new Counter(userId, 0L);
+                } else {
+                    Counter min = ordered.pollFirst();
+                    counters.remove(min.userId);
+                    // 가장 작은 값을 이어받고, 이어받은 값만큼 실제보다 클 수 있음
+                    counter = new Counter(userId, min.count);
+                    counter.count = min.count;
+                }
+                counters.put(userId, counter);
+            } else {
+                ordered.remove(counter);
+            }
+            counter.count += weight;
+            ordered.add(counter);
+        }
+
+        long count(long userId) {
+            Counter counter = counters.get(userId);
+            return counter == null ? 0L : counter.count;
+        }
+
+        private static final class Counter {
+
+            private final long userId;
+            private final long error;
+            private long count;
+
+            private Counter(long userId, long error) {
+                this.userId = userId;
+                this.error = error;
+            }
+        }
+    }
+}
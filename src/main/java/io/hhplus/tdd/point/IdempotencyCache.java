@@ -0,0 +1,193 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 포인트 충전/사용 결과 캐시
+ * - 처음 들어온 키만 실제로 처리하고, 같은 키로 다시 들어온 요청은 저장된 결과를 그대로 반환한다. (유저 락, 테이블을 거치지 않음)
+ * - 처리 중인 키로 들어온 요청은 다시 처리하지 않고 먼저 들어온 요청의 결과를 기다린다.
+ * - 처리에 실패하면 기다리던 요청에도 같은 예외를 전달하고 키를 지워, 이후 재시도는 다시 처리한다.
+ * - 비동기 처리가 시간 초과되어도 작업은 이미 반영되었을 수 있으므로, 키는 작업이 실제로 끝날 때까지 처리 중으로 남긴다.
+ *   (재시도는 작업 결과를 기다리고, 시작하지 않고 버려진 작업이면 키를 지워 다시 처리)
+ * - 처리 중인 키를 기다리는 요청은 요청 처리 기한(RequestDeadline)까지만 기다린다.
+ * - 키는 ttl 이 지나거나 최대 개수를 넘으면 오래된 순으로 제거한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    // 키 최대 길이
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final int maximumSize;
+    private final long ttlNanos;
+
+    // 넣은 순서 = 만료 순서이므로 앞에서부터 만료된 키를 제거
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final Counter replays;
+
+    public IdempotencyCache(
+            @Value("${point.idempotency.maximum-size:100000}") int maximumSize,
+            @Value("${point.idempotency.ttl-millis:3600000}") long ttlMillis,
+            MeterRegistry meterRegistry
+    ) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Idempotency-Key 최대 개수는 1 이상이어야 합니다.");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+
+        this.replays = Counter.builder("point.idempotency.replays")
+                .description("같은 Idempotency-Key 로 들어와 저장된 결과를 반환한 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("point.idempotency.keys", this, IdempotencyCache::size)
+                .description("저장된 Idempotency-Key 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * key 로 처음 들어온 요청이면 processor 로 처리하고, 아니면 먼저 처리한 결과를 반환
+     * - 같은 키로 다른 요청(유저, 종류, 금액)을 보내면 IdempotencyKeyMismatchException
+     */
+    public UserPoint execute(String key, PointOperation operation, Supplier<UserPoint> processor) {
+        CompletableFuture<UserPoint> result = executeAsync(key, operation, () -> {
+            try {
+                return CompletableFuture.completedFuture(processor.get());
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new DeadlineExceededException("같은 Idempotency-Key 로 처리 중인 요청을 기다리는 중 처리 기한이 지났습니다.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * execute 의 비동기 버전, 처리 중인 키로 들어온 요청은 먼저 들어온 요청의 결과로 완료
+     */
+    public CompletableFuture<UserPoint> executeAsync(String key, PointOperation operation,
+                                                     Supplier<CompletableFuture<UserPoint>> processor) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1 자 이상 " + MAX_KEY_LENGTH + " 자 이하여야 합니다.");
+        }
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.nanoTime();
+            expire(now);
+
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(operation, now + ttlNanos);
+                entries.put(key, entry);
+                owner = true;
+                evictOverflow();
+            }
+        }
+
+        if (!entry.operation.equals(operation)) {
+            throw new IdempotencyKeyMismatchException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+        }
+        if (!owner) {
+            replays.increment();
+            // 기다리는 쪽에서 취소해도 저장된 결과에는 영향이 없도록 복사본 반환
+            CompletableFuture<UserPoint> waiting = entry.result.copy();
+            if (RequestDeadline.current() != null && !waiting.isDone()) {
+                waiting.orTimeout(Math.max(0L, RequestDeadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            }
+            return waiting;
+        }
+
+        Entry owned = entry;
+        CompletableFuture<UserPoint> processing;
+        try {
+            processing = processor.get();
+        } catch (Throwable e) {
+            // Error 도 결과로 전달해야 기다리던 요청이 멈추지 않고 키도 남지 않음
+            processing = CompletableFuture.failedFuture(e);
+        }
+        // 비동기 실행기의 결과는 시간 초과로 먼저 완료될 수 있으므로, 키는 작업이 실제로 끝난 결과로만 완료하거나 지움
+        CompletableFuture<UserPoint> outcome = processing instanceof PointAsyncExecutor.AsyncResult<UserPoint> async
+                ? async.completion()
+                : processing;
+        outcome.whenComplete((userPoint, error) -> {
+            if (error == null) {
+                owned.result.complete(userPoint);
+                return;
+            }
+            // 실패한 키는 지워 이후 재시도는 다시 처리
+            synchronized (entries) {
+                entries.remove(key, owned);
+            }
+            owned.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+        });
+        return outcome == processing ? owned.result.copy() : processing;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // entries 락을 잡은 상태에서 호출
+    private void expire(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt - now > 0) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    // entries 락을 잡은 상태에서 호출, 처리 중인 키가 제거되면 그 키의 재시도는 다시 처리됨
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final PointOperation operation;
+        private final long expiresAt;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(PointOperation operation, long expiresAt) {
+            this.operation = operation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
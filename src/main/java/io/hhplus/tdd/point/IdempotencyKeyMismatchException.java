@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 같은 Idempotency-Key 로 다른 요청(유저, 종류, 금액)을 보낸 경우 (422 Unprocessable Entity)
+ */
+public class IdempotencyKeyMismatchException extends IllegalArgumentException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.PointAdmissionControl;
+import io.hhplus.tdd.point.reponse.AdmissionStats;
+import io.hhplus.tdd.point.reponse.HotUsers;
+import io.hhplus.tdd.point.reponse.ReconciliationReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 운영용 포인트 조회 API
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/point/admin")
+public class PointAdminController {
+
+    private final HotUserTracker hotUserTracker;
+    private final PointReconciler pointReconciler;
+    private final PointAdmissionControl pointAdmissionControl;
+
+    /**
+     * 충전/사용 요청 수와 락 대기 시간 기준 상위 유저 조회
+     * - 직전 구간과 현재 구간(point.hot-users.window-millis)의 집계
+     */
+    @GetMapping("hot-users")
+    public HotUsers hotUsers() {
+        return hotUserTracker.snapshot();
+    }
+
+    /**
+     * 현재 전체 동시 처리 한도와 이유별 거절(429) 건수
+     */
+    @GetMapping("admission")
+    public AdmissionStats admission() {
+        return pointAdmissionControl.stats();
+    }
+
+    /**
+     * 잔고/히스토리 대사 시작 (백그라운드)
+     * - 같은 범위의 끝나지 않은 진행 상황이 있으면 이어서 검사, restart 면 처음부터 검사
+     */
+    @PostMapping("reconciliation")
+    public ReconciliationReport startReconciliation(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "false") boolean restart
+    ) {
+        return pointReconciler.start(from, to, restart);
+    }
+
+    /**
+     * 대사 진행 상황과 불일치 유저 조회
+     */
+    @GetMapping("reconciliation")
+    public ReconciliationReport reconciliation() {
+        return pointReconciler.report();
+    }
+
+    /**
+     * 대사 중단, 같은 범위로 다시 시작하면 끝난 구간은 건너뜀
+     */
+    @DeleteMapping("reconciliation")
+    public ReconciliationReport cancelReconciliation() {
+        pointReconciler.cancel();
+        return pointReconciler.report();
+    }
+}
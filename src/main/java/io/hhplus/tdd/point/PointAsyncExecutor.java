@@ -0,0 +1,253 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 포인트 요청 실행기
+ * - 요청 스레드(서블릿)는 작업을 넘기고 바로 반환되며, 작업은 고정된 수의 스레드에서 처리한다.
+ * - 같은 유저 락(stripe)의 작업은 대기열에 넣어 하나씩 처리하므로, 한 유저에 요청이 몰려도 락을 기다리며 잡고 있는 스레드는 하나뿐이다.
+ * - 처리 중이거나 대기 중인 작업이 queue-capacity 를 넘으면 RejectedExecutionException 으로 거절한다.
+ * - timeout-millis 안에 끝나지 않으면 TimeoutException 으로 완료하고, 아직 시작하지 않은 작업은 처리하지 않는다.
+ *   요청 처리 기한(RequestDeadline)이 더 짧으면 기한까지만 기다리고, 작업은 같은 기한으로 처리한다.
+ *   (이미 시작한 작업은 끝까지 처리되므로 재시도는 Idempotency-Key 와 함께 보내야 함, 작업이 실제로 끝난 결과는 AsyncResult.completion)
+ */
+@Component
+public class PointAsyncExecutor {
+
+    private static final String THREAD_NAME = "point-async-";
+
+    // 한 유저 락의 작업을 연속으로 처리할 최대 개수, 넘으면 다른 작업에 스레드를 양보
+    private static final int MAX_SERIAL_RUNS = 64;
+
+    private final UserLockManager userLockManager;
+    private final ExecutorService executor;
+    private final SerialQueue[] serialQueues;
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    public PointAsyncExecutor(UserLockManager userLockManager, int threads, int queueCapacity, long timeoutMillis) {
+        this(userLockManager, threads, queueCapacity, timeoutMillis, false, null);
+    }
+
+    @Autowired
+    public PointAsyncExecutor(
+            UserLockManager userLockManager,
+            @Value("${point.async.threads:64}") int threads,
+            @Value("${point.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${point.async.timeout-millis:10000}") long timeoutMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry
+    ) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("비동기 실행 스레드 수와 대기 가능한 작업 수는 1 이상이어야 합니다.");
+        }
+        this.userLockManager = userLockManager;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(queueCapacity);
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor(THREAD_NAME).getVirtualThreadFactory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+
+        this.serialQueues = new SerialQueue[userLockManager.stripes()];
+        for (int i = 0; i < serialQueues.length; i++) {
+            serialQueues[i] = new SerialQueue();
+        }
+
+        if (meterRegistry != null) {
+            Gauge.builder("point.async.pending", this, PointAsyncExecutor::pending)
+                    .description("처리 중이거나 대기 중인 비동기 포인트 요청 수")
+                    .register(meterRegistry);
+        }
+    }
+
+    // 같은 유저 락의 다른 작업과 순서대로 처리
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> work) {
+        SerialQueue serialQueue = serialQueues[userLockManager.stripeOf(userId)];
+        return submit(work, task -> serialQueue.execute(task, executor));
+    }
+
+    // 락이 필요 없는 작업 (조회)
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return submit(work, task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.reject(e);
+            }
+        });
+    }
+
+    public int pending() {
+        return queueCapacity - permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work, Consumer<Task<?>> dispatcher) {
+        AsyncResult<T> future = new AsyncResult<>();
+        if (!permits.tryAcquire()) {
+            RejectedExecutionException rejected = new RejectedExecutionException("처리 대기 중인 요청이 너무 많습니다.");
+            future.completion.completeExceptionally(rejected);
+            future.completeExceptionally(rejected);
+            return future;
+        }
+        long timeoutNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(timeoutMillis), RequestDeadline.remainingNanos());
+        future.orTimeout(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+
+        dispatcher.accept(new Task<>(future, work, RequestDeadline.current(), permits));
+        return future;
+    }
+
+    /**
+     * 처리 제한 시간이 적용된 비동기 작업 결과
+     * - completion 은 제한 시간과 관계없이 작업이 실제로 끝났을 때 완료된다. (시간 초과 후에도 이미 시작한 작업은 반영될 수 있음)
+     *   시작하기 전에 시간이 초과되었거나 거절되어 처리하지 않은 작업은 실패로 완료된다.
+     */
+    public static final class AsyncResult<T> extends CompletableFuture<T> {
+
+        private final CompletableFuture<T> completion = new CompletableFuture<>();
+
+        private AsyncResult() {
+        }
+
+        // 기다리는 쪽에서 취소해도 작업 결과에는 영향이 없도록 복사본 반환
+        public CompletableFuture<T> completion() {
+            return completion.copy();
+        }
+    }
+
+    // 실행기에 넘기는 작업 하나, 처리하거나 거절하면서 허용 개수를 한 번만 반납
+    private static final class Task<T> implements Runnable {
+
+        private final AsyncResult<T> future;
+        private final Supplier<T> work;
+        private final Long deadline;
+        private final Semaphore permits;
+
+        private Task(AsyncResult<T> future, Supplier<T> work, Long deadline, Semaphore permits) {
+            this.future = future;
+            this.work = work;
+            this.deadline = deadline;
+            this.permits = permits;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // 대기하는 동안 시간이 초과된 요청은 처리하지 않음
+                if (future.isDone()) {
+                    future.completion.completeExceptionally(new TimeoutException("처리 제한 시간이 초과되어 처리하지 않았습니다."));
+                    return;
+                }
+                T result = RequestDeadline.callWithin(deadline, work);
+                future.completion.complete(result);
+                future.complete(result);
+            } catch (Throwable e) {
+                // Error 도 요청에 전달하고 실행 스레드는 다음 작업을 처리
+                future.completion.completeExceptionally(e);
+                future.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        }
+
+        void reject(RejectedExecutionException e) {
+            permits.release();
+            future.completion.completeExceptionally(e);
+            future.completeExceptionally(e);
+        }
+    }
+
+    // 한 유저 락의 작업 대기열, 처리 중인 스레드가 없을 때만 실행기에 넘김
+    private static final class SerialQueue {
+
+        private final Queue<Task<?>> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        void execute(Task<?> task, Executor executor) {
+            synchronized (this) {
+                tasks.add(task);
+                if (running) {
+                    return;
+                }
+                running = true;
+            }
+            dispatch(executor);
+        }
+
+        private void dispatch(Executor executor) {
+            try {
+                executor.execute(() -> drain(executor));
+            } catch (RejectedExecutionException e) {
+                // 실행기가 종료된 경우, 남은 작업은 처리하지 않고 거절로 완료
+                List<Task<?>> dropped;
+                synchronized (this) {
+                    dropped = List.copyOf(tasks);
+                    tasks.clear();
+                    running = false;
+                }
+                dropped.forEach(task -> task.reject(e));
+            }
+        }
+
+        private void drain(Executor executor) {
+            boolean drained = false;
+            try {
+                for (int i = 0; i < MAX_SERIAL_RUNS; i++) {
+                    Task<?> task;
+                    synchronized (this) {
+                        task = tasks.poll();
+                        if (task == null) {
+                            running = false;
+                            drained = true;
+                            return;
+                        }
+                    }
+                    task.run();
+                }
+            } finally {
+                // 남은 작업은 실행기 대기열 뒤로 보내 다른 작업도 처리되도록 함 (작업에서 예외가 새어 나와도 대기열이 멈추지 않음)
+                if (!drained) {
+                    dispatch(executor);
+                }
+            }
+        }
+    }
+}
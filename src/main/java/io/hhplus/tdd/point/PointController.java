@@ -1,14 +1,29 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.cluster.ClusterBatchRouter;
+import io.hhplus.tdd.point.cluster.ClusterForwarder;
 import io.hhplus.tdd.point.dto.PointDto;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
 import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointHistoryPage;
+import io.hhplus.tdd.point.reponse.PointOperationResult;
+import io.hhplus.tdd.point.reponse.PointSummary;
 import io.hhplus.tdd.point.reponse.UserPoint;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -17,7 +32,19 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PointService pointService;
+    private final PointHistoryExporter pointHistoryExporter;
+    private final IdempotencyCache idempotencyCache;
+
+    // 클러스터 모드에서 일괄 처리 요청을 소유 노드로 전달, 없으면 (단일 노드) 항상 이 노드에서 처리
+    private ClusterBatchRouter clusterBatchRouter;
+
+    @Autowired(required = false)
+    void setClusterBatchRouter(ClusterBatchRouter clusterBatchRouter) {
+        this.clusterBatchRouter = clusterBatchRouter;
+    }
 
     /**
      * 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -31,33 +58,165 @@ public class PointController {
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - from, to (epoch millis) 를 지정하면 해당 기간의 내역만 조회
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        if (from == null && to == null) {
+            return pointService.getPointHistoriesByUser(id);
+        }
+        return pointService.getPointHistoriesByUser(id, from == null ? 0L : from, to == null ? Long.MAX_VALUE : to);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 페이지 단위로 조회
+     * - cursor 에는 이전 응답의 nextCursor 를 전달, 마지막 페이지면 nextCursor 는 null
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "NEWEST") HistoryOrder order
+    ) {
+        return pointService.getPointHistoryPage(id, cursor, limit, order);
+    }
+
+    /**
+     * 특정 유저의 누적 충전/사용 금액과 횟수 (사용 금액은 음수)
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.getPointHistoriesByUser(id);
+        return pointService.getPointSummary(id);
+    }
+
+    /**
+     * 특정 유저의 일별 충전/사용 금액과 횟수 (UTC 기준, 내역이 있는 날만)
+     * - from, to (yyyy-MM-dd) 를 생략하면 오늘까지 최근 30일
+     */
+    @GetMapping("{id}/summary/daily")
+    public List<DailyPointSummary> dailySummary(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        return pointService.getDailyPointSummaries(id, from == null ? end.minusDays(29) : from, end);
+    }
+
+    /**
+     * 특정 유저의 전체 포인트 충전/이용 내역을 NDJSON 으로 내보내기 (오래된순)
+     * - Accept-Encoding 에 gzip 이 있으면 gzip 으로 압축하여 응답
+     */
+    @GetMapping(value = "{id}/histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = outputStream -> pointHistoryExporter.export(id, outputStream, gzip);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
     }
 
     /**
      * 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 충전하지 않고 처음 결과를 반환
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody PointDto dto
+            @RequestBody PointDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.chargePoint(id, dto.amount());
+        if (idempotencyKey == null) {
+            return pointService.chargePoint(id, dto.amount());
+        }
+        return idempotencyCache.execute(idempotencyKey, new PointOperation(id, TransactionType.CHARGE, dto.amount()),
+                () -> pointService.chargePoint(id, dto.amount()));
     }
 
     /**
      * 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 사용하지 않고 처음 결과를 반환
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody PointDto dto
+            @RequestBody PointDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.usePoint(id, dto.amount());
+        }
+        return idempotencyCache.execute(idempotencyKey, new PointOperation(id, TransactionType.USE, dto.amount()),
+                () -> pointService.usePoint(id, dto.amount()));
+    }
+
+    /**
+     * 비동기 포인트 조회/충전/사용
+     * - 요청 스레드는 바로 반환되고 응답은 비동기 실행기에서 처리가 끝나면 전송
+     * - point.async.timeout-millis 안에 처리되지 않으면 실패로 응답
+     */
+    @GetMapping("{id}/async")
+    public CompletableFuture<UserPoint> pointAsync(
+            @PathVariable long id
+    ) {
+        return pointService.getPointByUserAsync(id);
+    }
+
+    @PatchMapping("{id}/charge/async")
+    public CompletableFuture<UserPoint> chargeAsync(
+            @PathVariable long id,
+            @RequestBody PointDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.chargePointAsync(id, dto.amount());
+        }
+        return idempotencyCache.executeAsync(idempotencyKey, new PointOperation(id, TransactionType.CHARGE, dto.amount()),
+                () -> pointService.chargePointAsync(id, dto.amount()));
+    }
+
+    @PatchMapping("{id}/use/async")
+    public CompletableFuture<UserPoint> useAsync(
+            @PathVariable long id,
+            @RequestBody PointDto dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.usePointAsync(id, dto.amount());
+        }
+        return idempotencyCache.executeAsync(idempotencyKey, new PointOperation(id, TransactionType.USE, dto.amount()),
+                () -> pointService.usePointAsync(id, dto.amount()));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리
+     * - 요청별 결과를 요청 순서대로 반환하며, 일부가 실패해도 나머지는 처리
+     * - 클러스터 모드에서는 모든 유저를 소유한 노드가 처리하고, 여러 노드에 걸친 요청은 전체를 503 으로 거절
+     */
+    @PostMapping("batch")
+    public ResponseEntity<?> batch(
+            @RequestBody List<PointOperation> operations,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy
     ) {
-        return pointService.usePoint(id, dto.amount());
+        if (clusterBatchRouter != null) {
+            ResponseEntity<byte[]> forwarded = clusterBatchRouter.route(operations, forwardedBy);
+            if (forwarded != null) {
+                return forwarded;
+            }
+        }
+        return ResponseEntity.ok(pointService.applyBatch(operations));
     }
 }
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 포인트 히스토리 내보내기 (NDJSON)
+ * - 전체 내역을 한 번에 메모리에 올리지 않고 chunk-size 단위로 조회하면서 한 줄에 하나씩 JSON 으로 쓴다.
+ * - flush-interval 건마다 flush 하여 클라이언트가 바로 받아볼 수 있도록 한다.
+ */
+@Component
+public class PointHistoryExporter {
+
+    private static final int NEW_LINE = '\n';
+
+    private final PointService pointService;
+    private final ObjectWriter writer;
+    private final int chunkSize;
+    private final int flushInterval;
+
+    public PointHistoryExporter(
+            PointService pointService,
+            ObjectMapper objectMapper,
+            @Value("${point.history.export.chunk-size:500}") int chunkSize,
+            @Value("${point.history.export.flush-interval:100}") int flushInterval
+    ) {
+        if (chunkSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException("내보내기 chunk-size, flush-interval 은 1 이상이어야 합니다.");
+        }
+        this.pointService = pointService;
+        this.writer = objectMapper.writerFor(PointHistory.class);
+        this.chunkSize = chunkSize;
+        this.flushInterval = flushInterval;
+    }
+
+    // 내보낸 건수 반환
+    public long export(long userId, OutputStream outputStream, boolean gzip) throws IOException {
+        // syncFlush = true: flush 할 때마다 압축된 데이터를 바로 내보냄
+        OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192, true) : outputStream;
+
+        long count = 0;
+        HistoryCursor cursor = null;
+        while (true) {
+            List<PointHistory> chunk = pointService.getPointHistoryChunk(userId, cursor, chunkSize);
+            for (PointHistory pointHistory : chunk) {
+                out.write(writer.writeValueAsBytes(pointHistory));
+                out.write(NEW_LINE);
+
+                if (++count % flushInterval == 0) {
+                    out.flush();
+                }
+            }
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            cursor = HistoryCursor.of(chunk.get(chunk.size() - 1));
+        }
+
+        if (out instanceof GZIPOutputStream gzipOutputStream) {
+            gzipOutputStream.finish();
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청 한 건
+ * - CHARGE 는 양수, USE 는 음수 amount
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * 같은 유저 락에 몰린 요청 결합 (flat combining)
+ * - 요청은 유저 락(stripe) 별 대기열에 들어간 뒤 락을 기다린다.
+ * - 락을 잡은 스레드는 대기열의 요청을 도착 순서대로 모아 한 번에 처리하고, 각 요청에 결과를 채워준다.
+ * - 이후 락을 잡은 스레드는 자신의 요청이 이미 처리되었다면 결과만 가져간다.
+ * - 요청마다 처리 기한(RequestDeadline)을 함께 넣고, 락을 잡은 스레드는 기한이 지난 요청만 반영하지 않고 실패 처리한다.
+ * - 기한 안에 락을 잡지 못하면 아직 대기열에 남은 자신의 요청을 꺼내고 DeadlineExceededException
+ *   (이미 다른 스레드가 꺼내 처리 중이면 그 결과를 기다림)
+ */
+@Component
+public class PointOperationCombiner {
+
+    private final UserLockManager userLockManager;
+    private final List<Queue<Pending>> queues;
+    private final int maxOperations;
+
+    public PointOperationCombiner(
+            UserLockManager userLockManager,
+            @Value("${point.combining.max-operations:128}") int maxOperations
+    ) {
+        if (maxOperations <= 0) {
+            throw new IllegalArgumentException("한 번에 결합할 요청 수는 1 이상이어야 합니다.");
+        }
+        this.userLockManager = userLockManager;
+        this.maxOperations = maxOperations;
+        this.queues = new ArrayList<>(userLockManager.stripes());
+        for (int i = 0; i < userLockManager.stripes(); i++) {
+            queues.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * @param applier 모은 요청을 도착 순서대로 처리하고, 같은 순서로 결과를 반환
+     */
+    AppliedOperation submit(PointOperation operation, Function<List<PointOperation>, List<AppliedOperation>> applier) {
+        Queue<Pending> queue = queues.get(userLockManager.stripeOf(operation.userId()));
+        Pending pending = new Pending(operation, RequestDeadline.current());
+        queue.add(pending);
+
+        Lock lock = userLockManager.getLock(operation.userId());
+        if (!tryLock(lock, pending)) {
+            // 아직 아무도 꺼내지 않았으면 반영되지 않은 채로 포기
+            if (queue.remove(pending)) {
+                throw new DeadlineExceededException("유저 락을 기다리는 중 요청 처리 시간이 초과되었습니다.");
+            }
+            // 다른 스레드가 이미 꺼내 처리 중이므로 결과를 기다림
+            lock.lock();
+        }
+        try {
+            // 앞서 락을 잡은 스레드가 처리하지 못했다면 직접 모아서 처리
+            while (pending.result == null) {
+                combine(queue, applier);
+            }
+            return pending.result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 기한이 없으면 잡을 때까지 기다림
+    private static boolean tryLock(Lock lock, Pending pending) {
+        if (pending.deadlineNanos == null) {
+            lock.lock();
+            return true;
+        }
+        try {
+            return lock.tryLock(pending.deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 락을 잡은 상태에서 호출
+    private void combine(Queue<Pending> queue, Function<List<PointOperation>, List<AppliedOperation>> applier) {
+        List<Pending> batch = new ArrayList<>();
+        Pending next;
+        while (batch.size() < maxOperations && (next = queue.poll()) != null) {
+            // 기한이 지난 요청은 테이블에 접근하지 않고 그 요청만 실패
+            if (next.isExpired()) {
+                next.result = AppliedOperation.failure(next.operation(), "요청 처리 시간이 초과되었습니다.",
+                        new DeadlineExceededException("요청 처리 시간이 초과되었습니다."));
+                continue;
+            }
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PointOperation> operations = batch.stream().map(Pending::operation).toList();
+        try {
+            List<AppliedOperation> results = applier.apply(operations);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result = results.get(i);
+            }
+        } catch (RuntimeException e) {
+            // 꺼낸 요청이 결과 없이 남지 않도록 모두 실패 처리
+            for (Pending failed : batch) {
+                failed.result = AppliedOperation.failure(failed.operation(), "포인트 처리 실패", e);
+            }
+        }
+    }
+
+    // 결과는 락을 잡은 상태에서만 쓰고 읽으므로 별도 동기화 불필요
+    private static final class Pending {
+
+        private final PointOperation operation;
+        // 요청한 스레드의 처리 기한 (ns), 없으면 null
+        private final Long deadlineNanos;
+        private AppliedOperation result;
+
+        private Pending(PointOperation operation, Long deadlineNanos) {
+            this.operation = operation;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private PointOperation operation() {
+            return operation;
+        }
+
+        private boolean isExpired() {
+            return deadlineNanos != null && deadlineNanos - System.nanoTime() <= 0;
+        }
+    }
+}
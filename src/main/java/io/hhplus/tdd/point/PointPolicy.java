@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+
+/**
+ * 포인트 충전/사용 규칙
+ * - 충전 : 0 이상만 가능, 충전 후 최대 보유 가능 포인트를 넘을 수 없음
+ * - 사용 : 음수만 가능, 사용 후 잔고가 음수일 수 없음
+ */
+public final class PointPolicy {
+
+    // 최대 보유 가능 포인트
+    public static final long MAX_POINT = 1000L;
+
+    private PointPolicy() {
+    }
+
+    public static UserPoint apply(UserPoint userPoint, TransactionType type, long amount) {
+        if (type == null) {
+            throw new IllegalArgumentException("거래 종류는 필수입니다.");
+        }
+        return switch (type) {
+            case CHARGE -> charge(userPoint, amount);
+            case USE -> use(userPoint, amount);
+        };
+    }
+
+    public static UserPoint charge(UserPoint userPoint, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("충전 시 입력 포인트는 마이너스일 수 없습니다.");
+        }
+
+        UserPoint updateUserPoint = userPoint.chargeOrUsePoint(amount);
+
+        if (MAX_POINT < updateUserPoint.point()) {
+            throw new IllegalArgumentException("최대 보유 가능 포인트를 넘어섰습니다.");
+        }
+        return updateUserPoint;
+    }
+
+    public static UserPoint use(UserPoint userPoint, long amount) {
+        if (amount >= 0) {
+            throw new IllegalArgumentException("사용 시 입력 포인트는 플러스일 수 없습니다.");
+        }
+
+        UserPoint updateUserPoint = userPoint.chargeOrUsePoint(amount);
+
+        if (updateUserPoint.point() < 0) {
+            throw new IllegalArgumentException("포인트 총 금액은 음수일 수 없습니다.");
+        }
+        return updateUserPoint;
+    }
+}
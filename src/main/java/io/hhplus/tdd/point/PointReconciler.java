@@ -0,0 +1,409 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import io.hhplus.tdd.point.reponse.ReconciliationReport;
+import io.hhplus.tdd.point.reponse.ReconciliationReport.Mismatch;
+import io.hhplus.tdd.point.reponse.ReconciliationReport.Status;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 잔고/히스토리 대사(reconciliation)
+ * - 유저 ID 범위를 chunk-size 단위 구간으로 나누어 fork-join 풀에서 병렬로 검사한다.
+ * - 유저별로 잔고(UserPoint.point)와 히스토리 금액 합계(PointHistoryRepository.summarize)를 비교한다.
+ * - 요청 처리에 영향을 주지 않도록 먼저 락 없이 읽고, 다를 때만 (잔고 저장과 히스토리 적재 사이에 읽었을 수 있음) 유저 락을 잡고 다시 읽는다.
+ *   락 없이 처리하는 모드를 위해 그래도 다르면 잠시 후 한 번 더 확인한다.
+ * - 잔고는 캐시(CachedUserPointRepository)를 거치지 않고 저장소에서 직접 읽어, 전체 검사가 캐시의 자주 쓰는 유저를 밀어내지 않는다.
+ * - 끝난 구간은 checkpoint-file 에 기록하여, 중단된 뒤 같은 범위로 다시 시작하면 이어서 검사한다.
+ * - 초당 max-users-per-second 명까지만 검사하고, 유저 락은 lock-timeout-millis 만 기다려 요청 처리를 오래 막지 않는다.
+ * - 저장소를 읽거나 락을 기다리는 동안은 ManagedBlocker 로 알려, 풀이 (최대 병렬 수의 2배까지) 다른 스레드로 구간을 이어서 검사한다.
+ */
+@Component
+public class PointReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointReconciler.class);
+
+    private static final String WORKER_NAME = "point-reconciler-";
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockManager userLockManager;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final long intervalNanos;
+    private final long lockTimeoutMillis;
+    private final long recheckDelayMillis;
+    private final int maxReportedMismatches;
+    private final Path checkpointFile;
+    private final Counter mismatchCounter;
+
+    // 마지막 실행 (없으면 null)
+    private volatile Run current;
+
+    // 초당 검사 유저 수 제한, 다음 검사 가능 시각
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    public PointReconciler(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            int parallelism,
+            int chunkSize,
+            int maxUsersPerSecond,
+            Path checkpointFile
+    ) {
+        this(userPointRepository, pointHistoryRepository, userLockManager, parallelism, chunkSize, maxUsersPerSecond,
+                50L, 100L, 1000, checkpointFile.toString(), null);
+    }
+
+    @Autowired
+    public PointReconciler(
+            @Qualifier("userPointStore") UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            @Value("${point.reconciliation.parallelism:4}") int parallelism,
+            @Value("${point.reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${point.reconciliation.max-users-per-second:1000}") int maxUsersPerSecond,
+            @Value("${point.reconciliation.lock-timeout-millis:50}") long lockTimeoutMillis,
+            @Value("${point.reconciliation.recheck-delay-millis:100}") long recheckDelayMillis,
+            @Value("${point.reconciliation.max-reported-mismatches:1000}") int maxReportedMismatches,
+            @Value("${point.reconciliation.checkpoint-file:data/reconciliation/checkpoint.log}") String checkpointFile,
+            MeterRegistry meterRegistry
+    ) {
+        if (parallelism <= 0 || chunkSize <= 0 || maxUsersPerSecond < 0 || maxReportedMismatches < 0) {
+            throw new IllegalArgumentException("병렬 수와 구간 크기는 1 이상, 초당 검사 유저 수와 보고할 불일치 수는 0 이상이어야 합니다.");
+        }
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLockManager = userLockManager;
+        this.chunkSize = chunkSize;
+        // 0 이면 제한 없음
+        this.intervalNanos = maxUsersPerSecond == 0 ? 0L : TimeUnit.SECONDS.toNanos(1) / maxUsersPerSecond;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.recheckDelayMillis = recheckDelayMillis;
+        this.maxReportedMismatches = maxReportedMismatches;
+        this.checkpointFile = Path.of(checkpointFile);
+
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(WORKER_NAME + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false, 0, parallelism * 2, 1, saturated -> true, 60, TimeUnit.SECONDS);
+
+        this.mismatchCounter = meterRegistry == null ? null : Counter.builder("point.reconciliation.mismatches")
+                .description("잔고와 히스토리 합계가 다른 유저 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * fromUserId ~ toUserId (포함) 대사를 백그라운드에서 시작
+     * - 같은 범위의 끝나지 않은 진행 상황이 있으면 이어서 검사하고, restart 면 처음부터 검사
+     * - 이미 실행 중이면 IllegalStateException
+     */
+    public synchronized ReconciliationReport start(long fromUserId, long toUserId, boolean restart) {
+        if (fromUserId <= 0 || fromUserId > toUserId) {
+            throw new IllegalArgumentException("유저 ID 범위가 올바르지 않습니다.");
+        }
+        long totalChunks = (toUserId - fromUserId) / chunkSize + 1;
+        if (totalChunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("구간 수가 너무 많습니다. chunk-size 를 늘려야 합니다.");
+        }
+        if (current != null && current.status == Status.RUNNING) {
+            throw new IllegalStateException("이미 대사가 실행 중입니다.");
+        }
+
+        ReconciliationCheckpoint checkpoint;
+        try {
+            checkpoint = ReconciliationCheckpoint.open(checkpointFile, fromUserId, toUserId, chunkSize, restart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Run run = new Run(fromUserId, toUserId, totalChunks, checkpoint);
+        current = run;
+        run.future = CompletableFuture.runAsync(() -> execute(run), pool);
+        return run.report();
+    }
+
+    // 대사를 실행하고 끝날 때까지 대기
+    public ReconciliationReport run(long fromUserId, long toUserId, boolean restart) {
+        start(fromUserId, toUserId, restart);
+        current.future.join();
+        return report();
+    }
+
+    public ReconciliationReport report() {
+        Run run = current;
+        return run == null ? ReconciliationReport.idle() : run.report();
+    }
+
+    // 진행 중인 구간까지만 검사하고 중단, 같은 범위로 다시 시작하면 이어서 검사
+    public void cancel() {
+        Run run = current;
+        if (run != null) {
+            run.cancelled = true;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        cancel();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void execute(Run run) {
+        try {
+            new ChunkRange(run, 0, run.totalChunks).invoke();
+            if (run.cancelled) {
+                run.finish(Status.CANCELLED);
+                return;
+            }
+            run.checkpoint.complete();
+            run.finish(Status.COMPLETED);
+            log.info("포인트 대사 완료: {} ~ {}, 검사 {} 명, 불일치 {} 명",
+                    run.fromUserId, run.toUserId, run.checkedUsers.get(), run.mismatchCount.get());
+        } catch (RuntimeException | IOException e) {
+            log.error("포인트 대사 실패: {} ~ {}", run.fromUserId, run.toUserId, e);
+            run.finish(Status.FAILED);
+        }
+    }
+
+    // 한 구간의 유저를 순서대로 검사한 뒤 결과를 기록
+    private void checkChunk(Run run, long chunk) {
+        long from = run.fromUserId + chunk * chunkSize;
+        long to = Math.min(run.toUserId, from + chunkSize - 1);
+
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (long userId = from; userId <= to; userId++) {
+            if (run.cancelled) {
+                // 끝나지 않은 구간은 기록하지 않으므로 다시 시작하면 처음부터 검사
+                return;
+            }
+            throttle();
+            Mismatch mismatch = check(userId);
+            if (mismatch != null) {
+                mismatches.add(mismatch);
+            }
+        }
+
+        try {
+            run.checkpoint.chunkDone(chunk, to - from + 1, mismatches);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run.chunkDone(to - from + 1, mismatches);
+        if (mismatchCounter != null) {
+            mismatchCounter.increment(mismatches.size());
+        }
+    }
+
+    // 락 없이 읽어 같으면 끝, 다르면 락을 잡고 다시 읽고, 그래도 다르면 잠시 후 한 번 더 확인하여 모두 다를 때만 불일치
+    private Mismatch check(long userId) {
+        if (blocking(() -> observe(userId)).matches()) {
+            return null;
+        }
+        if (blocking(() -> observeLocked(userId)).matches()) {
+            return null;
+        }
+        blocking(() -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(recheckDelayMillis));
+            return null;
+        });
+
+        Observation second = blocking(() -> observeLocked(userId));
+        if (second.matches()) {
+            return null;
+        }
+        return new Mismatch(userId, second.point, second.historySum, second.point - second.historySum);
+    }
+
+    private Observation observe(long userId) {
+        long point = userPointRepository.findById(userId).point();
+        PointSummary summary = pointHistoryRepository.summarize(userId);
+        return new Observation(point, summary.chargedAmount() + summary.usedAmount());
+    }
+
+    // 락을 잡지 못하면 (요청이 몰린 유저) 락 없이 읽고, 다르게 읽힌 경우는 다시 확인으로 거름
+    private Observation observeLocked(long userId) {
+        Lock lock = userLockManager.getLock(userId);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            return observe(userId);
+        } finally {
+            if (locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // fork-join 작업 스레드가 대기하는 동안 풀이 다른 스레드로 작업을 이어가도록 ManagedBlocker 로 실행
+    private static <T> T blocking(Supplier<T> work) {
+        BlockingCall<T> call = new BlockingCall<>(work);
+        try {
+            ForkJoinPool.managedBlock(call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 대사 중 중단되었습니다.", e);
+        }
+        return call.result;
+    }
+
+    private void throttle() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = nextSlot.getAndAccumulate(now, (next, time) -> Math.max(next, time) + intervalNanos);
+        if (slot - now > 0) {
+            LockSupport.parkNanos(slot - now);
+        }
+    }
+
+    private static final class BlockingCall<T> implements ForkJoinPool.ManagedBlocker {
+
+        private final Supplier<T> work;
+        private T result;
+        private boolean done;
+
+        private BlockingCall(Supplier<T> work) {
+            this.work = work;
+        }
+
+        @Override
+        public boolean block() {
+            result = work.get();
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+
+    private record Observation(long point, long historySum) {
+
+        boolean matches() {
+            return point == historySum;
+        }
+    }
+
+    // 구간 [from, to) 를 반으로 나누어 병렬로 검사, 이미 끝난 구간은 건너뜀
+    private final class ChunkRange extends RecursiveAction {
+
+        private final Run run;
+        private final long from;
+        private final long to;
+
+        private ChunkRange(Run run, long from, long to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (!run.checkpoint.isCompleted(from)) {
+                    checkChunk(run, from);
+                }
+                return;
+            }
+            long middle = (from + to) >>> 1;
+            invokeAll(new ChunkRange(run, from, middle), new ChunkRange(run, middle, to));
+        }
+    }
+
+    private final class Run {
+
+        private final long fromUserId;
+        private final long toUserId;
+        private final long totalChunks;
+        private final ReconciliationCheckpoint checkpoint;
+        private final long startedMillis = System.currentTimeMillis();
+
+        private final AtomicLong completedChunks = new AtomicLong();
+        private final AtomicLong checkedUsers = new AtomicLong();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final List<Mismatch> mismatches = new ArrayList<>();
+
+        private volatile Status status = Status.RUNNING;
+        private volatile Long finishedMillis;
+        private volatile boolean cancelled;
+        private CompletableFuture<Void> future;
+
+        private Run(long fromUserId, long toUserId, long totalChunks, ReconciliationCheckpoint checkpoint) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+            this.totalChunks = totalChunks;
+            this.checkpoint = checkpoint;
+
+            // 이전 실행에서 끝난 구간의 결과
+            completedChunks.set(checkpoint.completedChunks());
+            checkedUsers.set(checkpoint.checkedUsers());
+            checkpoint.mismatches().forEach(this::addMismatch);
+        }
+
+        private void chunkDone(long checked, List<Mismatch> chunkMismatches) {
+            chunkMismatches.forEach(this::addMismatch);
+            checkedUsers.addAndGet(checked);
+            completedChunks.incrementAndGet();
+        }
+
+        private void addMismatch(Mismatch mismatch) {
+            mismatchCount.incrementAndGet();
+            synchronized (mismatches) {
+                if (mismatches.size() < maxReportedMismatches) {
+                    mismatches.add(mismatch);
+                }
+            }
+        }
+
+        private void finish(Status status) {
+            this.finishedMillis = System.currentTimeMillis();
+            this.status = status;
+        }
+
+        private ReconciliationReport report() {
+            List<Mismatch> reported;
+            synchronized (mismatches) {
+                reported = List.copyOf(mismatches);
+            }
+            return new ReconciliationReport(status, fromUserId, toUserId, completedChunks.get(), totalChunks,
+                    checkedUsers.get(), mismatchCount.get(), reported, startedMillis, finishedMillis);
+        }
+    }
+}
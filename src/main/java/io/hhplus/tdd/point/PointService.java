@@ -1,53 +1,131 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.cluster.ClusterRoutingException;
+import io.hhplus.tdd.point.cluster.UserOwnership;
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
 import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointHistoryPage;
+import io.hhplus.tdd.point.reponse.PointOperationResult;
+import io.hhplus.tdd.point.reponse.PointSummary;
 import io.hhplus.tdd.point.reponse.UserPoint;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
+    // 히스토리 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 일괄 처리 최대 요청 수
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String DEADLINE_EXCEEDED = "요청 처리 시간이 초과되었습니다.";
+
     private final UserPointRepository userPointRepository;
     private final PointHistoryRepository pointHistoryRepository;
 
-    // 사용해보려고 했으나 사용자별로 별도의 락을 관리하기 때문에 서로 다른 사용자에 대해서는 동시성 제어 불가하게 됨
-    //    private final Map<Long, Lock> userLocks = new ConcurrentHashMap<>();
-    private final ReentrantLock lock = new ReentrantLock(true);
+    // 같은 유저의 요청만 직렬화하고, 서로 다른 유저의 요청은 병렬로 처리
+    private final UserLockManager userLockManager;
+    private final PointOperationCombiner pointOperationCombiner;
+
+    // 비동기 요청은 서블릿 스레드 대신 이 실행기에서 처리
+    private final PointAsyncExecutor pointAsyncExecutor;
+
+    // SHARDED 모드에서 유저별 샤드 스레드에 요청을 넘겨 처리
+    private final PointShardEngine pointShardEngine;
+
+    // 요청 수와 락 대기 시간이 많은 유저 집계, 없으면 집계하지 않음
+    private HotUserTracker hotUserTracker;
+
+    // 클러스터 모드에서 유저 락을 잡은 뒤 이 노드가 처리해도 되는 유저인지 확인, 없으면 (단일 노드) 확인하지 않음
+    private UserOwnership userOwnership;
+
+    private ConcurrencyMode concurrencyMode = ConcurrencyMode.LOCK;
+
+    // OPTIMISTIC 모드에서 버전 충돌 시 최대 시도 횟수와 재시도 대기 시간
+    private int optimisticMaxAttempts = 10;
+    private long optimisticBackoffMillis = 1L;
+    private long optimisticMaxBackoffMillis = 50L;
+
+    @Autowired
+    void setHotUserTracker(HotUserTracker hotUserTracker) {
+        this.hotUserTracker = hotUserTracker;
+    }
+
+    @Autowired(required = false)
+    void setUserOwnership(UserOwnership userOwnership) {
+        this.userOwnership = userOwnership;
+    }
+
+    @Value("${point.concurrency.mode:LOCK}")
+    void setConcurrencyMode(ConcurrencyMode concurrencyMode) {
+        this.concurrencyMode = concurrencyMode;
+    }
+
+    @Value("${point.optimistic.max-attempts:10}")
+    void setOptimisticMaxAttempts(int optimisticMaxAttempts) {
+        this.optimisticMaxAttempts = optimisticMaxAttempts;
+    }
+
+    @Value("${point.optimistic.backoff-millis:1}")
+    void setOptimisticBackoffMillis(long optimisticBackoffMillis) {
+        this.optimisticBackoffMillis = optimisticBackoffMillis;
+    }
+
+    @Value("${point.optimistic.max-backoff-millis:50}")
+    void setOptimisticMaxBackoffMillis(long optimisticMaxBackoffMillis) {
+        this.optimisticMaxBackoffMillis = optimisticMaxBackoffMillis;
+    }
 
     public UserPoint getPointByUser(long id) {
         return userPointRepository.findById(id);
     }
 
     public UserPoint chargePoint(long userId, long amount) {
-        // 최대 보유 가능 포인트값 지정
-        long maxPoint = 1000L;
+        recordRequest(userId);
+        // 기한이 지난 요청은 테이블에 접근하지 않음
+        RequestDeadline.check(DEADLINE_EXCEEDED);
+        if (concurrencyMode == ConcurrencyMode.COMBINING) {
+            return pointOperationCombiner.submit(new PointOperation(userId, TransactionType.CHARGE, amount), this::applyOperations)
+                    .toUserPoint();
+        }
+        if (concurrencyMode == ConcurrencyMode.SHARDED) {
+            return pointShardEngine.await(pointShardEngine.submit(new PointOperation(userId, TransactionType.CHARGE, amount)))
+                    .toUserPoint();
+        }
+        if (concurrencyMode == ConcurrencyMode.OPTIMISTIC) {
+            // 락 없이 조회 후 버전이 그대로일 때만 저장, 충돌하면 다시 조회해서 재시도
+            return applyUserOperations(userId, List.of(new PointOperation(userId, TransactionType.CHARGE, amount)))
+                    .get(0).toUserPoint();
+        }
 
-        lock.lock();
+        Lock lock = lockUser(userId);
 
         try {
             // 유저 포인트 조회
             UserPoint userPoint = userPointRepository.findById(userId);
 
-            if (amount < 0) {
-                throw new IllegalArgumentException("충전 시 입력 포인트는 마이너스일 수 없습니다.");
-            }
-
-            // 포인트 더하고 저장
-            UserPoint updateUserPoint = userPoint.chargeOrUsePoint(amount);
-
-            if (maxPoint < updateUserPoint.point()) {
-                throw new IllegalArgumentException("최대 보유 가능 포인트를 넘어섰습니다.");
-            }
+            // 포인트 더하고 저장 (마이너스 입력, 최대 보유 가능 포인트 초과 검사)
+            UserPoint updateUserPoint = PointPolicy.charge(userPoint, amount);
 
             userPointRepository.upsert(userId, updateUserPoint.point());
 
@@ -65,22 +143,29 @@ public class PointService {
     }
 
     public UserPoint usePoint(long id, long amount) {
+        recordRequest(id);
+        RequestDeadline.check(DEADLINE_EXCEEDED);
+        if (concurrencyMode == ConcurrencyMode.COMBINING) {
+            return pointOperationCombiner.submit(new PointOperation(id, TransactionType.USE, amount), this::applyOperations)
+                    .toUserPoint();
+        }
+        if (concurrencyMode == ConcurrencyMode.SHARDED) {
+            return pointShardEngine.await(pointShardEngine.submit(new PointOperation(id, TransactionType.USE, amount)))
+                    .toUserPoint();
+        }
+        if (concurrencyMode == ConcurrencyMode.OPTIMISTIC) {
+            return applyUserOperations(id, List.of(new PointOperation(id, TransactionType.USE, amount)))
+                    .get(0).toUserPoint();
+        }
 
-        lock.lock();
+        Lock lock = lockUser(id);
 
         try {
             UserPoint userPoint = userPointRepository.findById(id);
 
-            if (amount >= 0) {
-                throw new IllegalArgumentException("사용 시 입력 포인트는 플러스일 수 없습니다.");
-            }
-
-            // 포인트 차감하고 저장
-            UserPoint updateUserPoint = userPoint.chargeOrUsePoint(amount);
+            // 포인트 차감하고 저장 (플러스 입력, 잔고 음수 검사)
+            UserPoint updateUserPoint = PointPolicy.use(userPoint, amount);
 
-            if (updateUserPoint.point() < 0) {
-                throw new IllegalArgumentException("포인트 총 금액은 음수일 수 없습니다.");
-            }
             userPointRepository.upsert(id, updateUserPoint.point());
 
             try {
@@ -96,8 +181,298 @@ public class PointService {
         }
     }
 
+    // 비동기 조회/충전/사용, 충전/사용은 같은 유저의 다른 비동기 요청과 순서대로 처리
+    public CompletableFuture<UserPoint> getPointByUserAsync(long id) {
+        return pointAsyncExecutor.submit(() -> getPointByUser(id));
+    }
+
+    public CompletableFuture<UserPoint> chargePointAsync(long userId, long amount) {
+        return pointAsyncExecutor.submit(userId, () -> chargePoint(userId, amount));
+    }
+
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return pointAsyncExecutor.submit(id, () -> usePoint(id, amount));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리
+     * - 유저별로 묶어 락을 한 번만 잡고, 요청 순서대로 잔고에 반영하며 검증한다.
+     * - 유저별 잔고 저장은 한 번만 수행하고, 실패한 요청은 잔고에 반영하지 않는다.
+     * - 결과는 요청과 같은 순서로 반환한다.
+     */
+    public List<PointOperationResult> applyBatch(List<PointOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 요청은 " + MAX_BATCH_SIZE + "건 이하입니다.");
+        }
+        operations.forEach(operation -> recordRequest(operation.userId()));
+        if (concurrencyMode == ConcurrencyMode.SHARDED) {
+            return applyBatchOnShards(operations);
+        }
+
+        // 요청 순서를 유지하면서 유저별로 묶음
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), userId -> new ArrayList<>()).add(i);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        for (Map.Entry<Long, List<Integer>> entry : indexesByUser.entrySet()) {
+            List<PointOperation> userOperations = entry.getValue().stream().map(operations::get).toList();
+
+            // 기한이 지나거나 다른 노드가 소유한 유저의 요청은 처리하지 않고 실패로 응답
+            Lock lock;
+            try {
+                // 새로 소유하게 된 유저는 락을 잡기 전에 이전 소유 노드에서 데이터를 가져옴
+                if (userOwnership != null) {
+                    userOwnership.prepare(entry.getKey());
+                }
+                lock = lockUser(entry.getKey());
+            } catch (DeadlineExceededException | ClusterRoutingException e) {
+                for (int i = 0; i < userOperations.size(); i++) {
+                    results[entry.getValue().get(i)] = PointOperationResult.failure(userOperations.get(i), e.getMessage());
+                }
+                continue;
+            }
+            try {
+                List<AppliedOperation> userResults = applyUserOperations(entry.getKey(), userOperations);
+                for (int i = 0; i < userResults.size(); i++) {
+                    results[entry.getValue().get(i)] = userResults.get(i).result();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return List.of(results);
+    }
+
+    // 샤드 메모리의 잔고가 어긋나지 않도록 일괄 처리도 샤드를 거침, 같은 유저의 요청은 같은 샤드 큐에 순서대로 들어감
+    private List<PointOperationResult> applyBatchOnShards(List<PointOperation> operations) {
+        List<CompletableFuture<AppliedOperation>> futures = new ArrayList<>(operations.size());
+        for (PointOperation operation : operations) {
+            try {
+                futures.add(pointShardEngine.submit(operation));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.completedFuture(AppliedOperation.failure(operation, e.getMessage(), e)));
+            }
+        }
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(pointShardEngine.await(futures.get(i)).result());
+            } catch (DeadlineExceededException e) {
+                results.add(PointOperationResult.failure(operations.get(i), e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    // 같은 락을 쓰는 여러 유저의 요청을 유저별로 나누어 반영, 결과는 요청 순서대로 반환
+    private List<AppliedOperation> applyOperations(List<PointOperation> operations) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), userId -> new ArrayList<>()).add(i);
+        }
+
+        AppliedOperation[] results = new AppliedOperation[operations.size()];
+        for (Map.Entry<Long, List<Integer>> entry : indexesByUser.entrySet()) {
+            List<PointOperation> userOperations = entry.getValue().stream().map(operations::get).toList();
+            List<AppliedOperation> userResults = applyUserOperations(entry.getKey(), userOperations);
+            for (int i = 0; i < userResults.size(); i++) {
+                results[entry.getValue().get(i)] = userResults.get(i);
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * 한 유저의 요청을 순서대로 반영 후 한 번에 저장
+     * - LOCK, COMBINING 모드에서는 유저 락을 잡은 상태에서 호출한다.
+     * - OPTIMISTIC 모드에서는 조회한 버전이 그대로일 때만 저장하고, 그 사이 다른 요청이 저장했으면 처음부터 다시 반영한다.
+     */
+    private List<AppliedOperation> applyUserOperations(long userId, List<PointOperation> operations) {
+        for (int attempt = 1; ; attempt++) {
+            UserPoint userPoint;
+            try {
+                userPoint = userPointRepository.findById(userId);
+            } catch (RuntimeException e) {
+                return operations.stream().map(operation -> AppliedOperation.failure(operation, "포인트 조회 실패", e)).toList();
+            }
+
+            AppliedOperation[] results = new AppliedOperation[operations.size()];
+            List<Integer> applied = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                PointOperation operation = operations.get(i);
+                try {
+                    userPoint = PointPolicy.apply(userPoint, operation.type(), operation.amount());
+                    results[i] = AppliedOperation.success(operation, userPoint.point());
+                    applied.add(i);
+                } catch (IllegalArgumentException e) {
+                    results[i] = AppliedOperation.failure(operation, e.getMessage(), e);
+                }
+            }
+
+            if (applied.isEmpty()) {
+                return List.of(results);
+            }
+
+            boolean saved;
+            try {
+                saved = save(userId, userPoint);
+            } catch (RuntimeException e) {
+                for (int i : applied) {
+                    results[i] = AppliedOperation.failure(operations.get(i), "포인트 저장 실패", e);
+                }
+                return List.of(results);
+            }
+
+            if (!saved) {
+                // 기한이 지났으면 다시 시도하지 않음
+                if (RequestDeadline.remainingNanos() <= 0) {
+                    DeadlineExceededException expired = new DeadlineExceededException(DEADLINE_EXCEEDED);
+                    for (int i : applied) {
+                        results[i] = AppliedOperation.failure(operations.get(i), expired.getMessage(), expired);
+                    }
+                    return List.of(results);
+                }
+                if (attempt < optimisticMaxAttempts) {
+                    backoff(userId, attempt);
+                    continue;
+                }
+                IllegalStateException conflict = new IllegalStateException("다른 요청과 동시에 변경되어 포인트를 저장하지 못했습니다.");
+                for (int i : applied) {
+                    results[i] = AppliedOperation.failure(operations.get(i), conflict.getMessage(), conflict);
+                }
+                return List.of(results);
+            }
+
+            for (int i : applied) {
+                PointOperation operation = operations.get(i);
+                try {
+                    pointHistoryRepository.insertPointHistory(userId, operation.amount(), operation.type(), System.currentTimeMillis());
+                } catch (Exception e) {
+                    // 단건 처리와 동일하게 히스토리 적재 실패는 실패로 응답
+                    results[i] = AppliedOperation.failure(operation, "포인트 히스토리 적재 실패",
+                            new RuntimeException("포인트 히스토리 적재 실패"));
+                }
+            }
+            return List.of(results);
+        }
+    }
+
+    // 잔고 저장, OPTIMISTIC 모드에서는 조회한 버전에서 바뀌었으면 저장하지 않고 false
+    private boolean save(long userId, UserPoint updateUserPoint) {
+        if (concurrencyMode == ConcurrencyMode.OPTIMISTIC) {
+            return userPointRepository.compareAndSet(userId, updateUserPoint.version(), updateUserPoint.point()) != null;
+        }
+        userPointRepository.upsert(userId, updateUserPoint.point());
+        return true;
+    }
+
+    // 시도할 때마다 최대 대기 시간을 두 배로 늘리고 그 안에서 무작위로 대기 (충돌한 요청들이 다시 같은 시점에 몰리지 않도록)
+    // 대기한 시간은 락 대기 시간과 같이 집계, 요청 처리 기한을 넘겨 대기하지 않음
+    private void backoff(long userId, int attempt) {
+        long maxMillis = Math.min(optimisticMaxBackoffMillis, optimisticBackoffMillis << Math.min(attempt - 1, 20));
+        long start = System.nanoTime();
+        try {
+            long sleepNanos = TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+            TimeUnit.NANOSECONDS.sleep(Math.min(sleepNanos, RequestDeadline.remainingNanos()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 저장 재시도 중 중단되었습니다.", e);
+        } finally {
+            recordLockWait(userId, System.nanoTime() - start);
+        }
+    }
+
+    // 유저 락을 잡고, 기다린 시간을 유저별로 집계
+    // 요청 처리 기한이 있으면 남은 시간만큼만 기다리고, 못 잡거나 잡는 사이 기한이 지나면 DeadlineExceededException
+    // 클러스터 모드에서 이 노드가 처리하지 않는 유저면 ClusterRoutingException
+    private Lock lockUser(long userId) {
+        RequestDeadline.check(DEADLINE_EXCEEDED);
+        Lock lock = userLockManager.getLock(userId);
+        long start = System.nanoTime();
+        try {
+            if (RequestDeadline.current() == null) {
+                lock.lock();
+            } else if (!lock.tryLock(RequestDeadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new DeadlineExceededException("유저 락을 기다리는 중 " + DEADLINE_EXCEEDED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("유저 락을 기다리는 중 중단되었습니다.");
+        } finally {
+            recordLockWait(userId, System.nanoTime() - start);
+        }
+
+        if (RequestDeadline.remainingNanos() <= 0) {
+            lock.unlock();
+            throw new DeadlineExceededException("유저 락을 기다리는 중 " + DEADLINE_EXCEEDED);
+        }
+        // 락을 기다리는 사이 다른 노드로 넘어간 유저면 처리하지 않음
+        if (userOwnership != null && !userOwnership.isOwned(userId)) {
+            lock.unlock();
+            throw new ClusterRoutingException("유저 " + userId + " 는 이 노드가 처리하지 않습니다.");
+        }
+        return lock;
+    }
+
+    private void recordRequest(long userId) {
+        if (hotUserTracker != null) {
+            hotUserTracker.recordRequest(userId);
+        }
+    }
+
+    private void recordLockWait(long userId, long waitNanos) {
+        if (hotUserTracker != null) {
+            hotUserTracker.recordLockWait(userId, waitNanos);
+        }
+    }
+
     // 포인트 충전/사용 내역 확인
     public List<PointHistory> getPointHistoriesByUser(long id) {
         return pointHistoryRepository.findAllById(id);
     }
+
+    // 기간 내 포인트 충전/사용 내역 확인 (from, to 포함)
+    public List<PointHistory> getPointHistoriesByUser(long id, long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+        return pointHistoryRepository.findAllByIdBetween(id, from, to);
+    }
+
+    // 커서 기반 포인트 충전/사용 내역 페이지 조회
+    public PointHistoryPage getPointHistoryPage(long id, String cursor, int limit, HistoryOrder order) {
+        if (limit < 1 || MAX_PAGE_SIZE < limit) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+
+        // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+        List<PointHistory> histories = pointHistoryRepository.findPageById(id, after, limit + 1, order);
+        if (histories.size() <= limit) {
+            return new PointHistoryPage(histories, null);
+        }
+
+        List<PointHistory> page = List.copyOf(histories.subList(0, limit));
+        return new PointHistoryPage(page, HistoryCursor.of(page.get(limit - 1)).encode());
+    }
+
+    // 누적 충전/사용 합계, 히스토리를 적재할 때 함께 집계한 값을 조회
+    public PointSummary getPointSummary(long id) {
+        return pointHistoryRepository.summarize(id);
+    }
+
+    // 기간 내 일별 충전/사용 합계 (UTC, from, to 포함)
+    public List<DailyPointSummary> getDailyPointSummaries(long id, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        return pointHistoryRepository.summarizeDaily(id, from, to);
+    }
+
+    // 포인트 충전/사용 내역을 오래된순으로 size 개씩 나누어 조회 (내보내기용)
+    public List<PointHistory> getPointHistoryChunk(long id, HistoryCursor after, int size) {
+        return pointHistoryRepository.findPageById(id, after, size, HistoryOrder.OLDEST);
+    }
 }
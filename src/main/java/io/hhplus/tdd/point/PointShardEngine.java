@@ -0,0 +1,433 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 유저 ID 로 나눈 샤드별 단일 스레드 실행 엔진 (SHARDED 모드)
+ * - 유저 ID 를 해시하여 샤드를 정하고, 요청은 샤드의 제한된 크기의 큐(ring buffer)에 넣는다.
+ * - 샤드마다 스레드 하나가 큐의 요청을 모아 처리하므로, 한 유저의 변경은 항상 같은 스레드에서 락 없이 처리된다.
+ * - 잔고는 샤드 메모리에 두고 저장소에는 바로 반영한다. (write-through, 유저별로 모은 요청은 한 번만 저장)
+ * - 샤드 메모리의 잔고는 유저 수가 max-users-per-shard 를 넘으면 가장 오래 사용되지 않은 유저부터 제거하고, 다시 필요하면 저장소에서 읽는다.
+ * - 큐가 가득 차면 offer-timeout-millis 만큼 기다린 뒤 거절한다.
+ * - 요청마다 요청 처리 기한(RequestDeadline)과 result-timeout-millis 중 빠른 시각을 기한으로 함께 넣는다.
+ *   샤드 스레드는 기한이 지난 요청을 반영하지 않고 그 요청만 실패 처리한다.
+ * - 요청한 스레드는 결과를 기한까지만 기다리고, 그때까지 반영을 시작하지 않은 요청은 취소한다.
+ *   (샤드 스레드가 멈춰도 요청 스레드가 계속 묶이지 않음, 반영을 시작한 뒤 시간 초과된 요청만 이후에 반영될 수 있음)
+ * - 종료 시 새 요청은 받지 않고, 큐에 남은 요청은 모두 처리한 뒤 스레드를 종료한다.
+ * - SHARDED 모드의 요청이 처음 들어올 때 샤드 스레드를 시작한다.
+ */
+@Component
+public class PointShardEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardEngine.class);
+
+    private static final String WORKER_NAME = "point-shard-";
+
+    // 피보나치 해싱, 연속된 유저 ID 도 샤드에 고르게 퍼짐
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final Shard[] shards;
+    private final int maxBatchSize;
+    private final long offerTimeoutMillis;
+    private final long resultTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+
+    // 종료 이후 큐에 들어가는 요청이 없도록 보장
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean started;
+    private volatile boolean running = true;
+
+    public PointShardEngine(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            int shardCount,
+            int queueSize
+    ) {
+        this(userPointRepository, pointHistoryRepository, shardCount, queueSize, 128, 100_000, 100L, 10_000L, 30_000L, null);
+    }
+
+    @Autowired
+    public PointShardEngine(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            @Value("${point.shard.count:16}") int shardCount,
+            @Value("${point.shard.queue-size:1024}") int queueSize,
+            @Value("${point.shard.max-batch-size:128}") int maxBatchSize,
+            @Value("${point.shard.max-users-per-shard:100000}") int maxUsersPerShard,
+            @Value("${point.shard.offer-timeout-millis:100}") long offerTimeoutMillis,
+            @Value("${point.shard.result-timeout-millis:10000}") long resultTimeoutMillis,
+            @Value("${point.shard.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        if (shardCount <= 0 || queueSize <= 0 || maxBatchSize <= 0 || maxUsersPerShard <= 0) {
+            throw new IllegalArgumentException("샤드 수, 큐 크기, 한 번에 처리할 요청 수, 샤드별 유저 수는 1 이상이어야 합니다.");
+        }
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.resultTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(resultTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            Shard shard = new Shard(i, queueSize, maxUsersPerShard, meterRegistry);
+            shards[i] = shard;
+
+            if (meterRegistry != null) {
+                Gauge.builder("point.shard.queue.depth", shard.queue, BlockingQueue::size)
+                        .description("샤드 큐에서 처리를 기다리는 요청 수")
+                        .tag("shard", String.valueOf(i))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(long userId) {
+        return (int) (((userId * GOLDEN_RATIO) >>> 32) % shards.length);
+    }
+
+    /**
+     * 요청을 유저의 샤드 큐에 넣고, 처리 결과로 완료되는 future 를 반환
+     * - 큐가 가득 차 있거나 종료 중이면 RejectedExecutionException
+     */
+    CompletableFuture<AppliedOperation> submit(PointOperation operation) {
+        if (!started) {
+            start();
+        }
+
+        Shard shard = shards[shardOf(operation.userId())];
+        long now = System.nanoTime();
+        Long requestDeadline = RequestDeadline.current();
+        long deadlineNanos = requestDeadline == null || requestDeadline - (now + resultTimeoutNanos) > 0
+                ? now + resultTimeoutNanos
+                : requestDeadline;
+        Task task = new Task(operation, now, deadlineNanos);
+
+        lifecycleLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("포인트 샤드 엔진이 종료되었습니다.");
+            }
+            if (!shard.queue.offer(task, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("샤드 " + shard.index + " 의 처리 대기 요청이 너무 많습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("샤드 큐 대기 중 중단되었습니다.", e);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        return task.result;
+    }
+
+    /**
+     * submit 한 요청의 결과를 기다림
+     * - 요청 처리 기한이나 result-timeout-millis 안에 처리되지 않으면 DeadlineExceededException
+     *   아직 반영을 시작하지 않은 요청은 취소하므로 이후에도 반영되지 않는다.
+     */
+    AppliedOperation await(CompletableFuture<AppliedOperation> result) {
+        long timeoutNanos = Math.min(resultTimeoutNanos, RequestDeadline.remainingNanos());
+        try {
+            return result.get(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (result instanceof ShardResult shardResult && !shardResult.abandon()) {
+                // 취소하기 직전에 반영을 시작했으면 곧 끝나므로 기다림
+                if (shardResult.isDone()) {
+                    return shardResult.join();
+                }
+            }
+            throw new DeadlineExceededException("샤드에서 처리 결과를 기다리는 중 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("샤드에서 처리 결과를 기다리는 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            // 샤드 스레드는 실패도 결과로 완료하므로 발생하지 않음
+            throw new IllegalStateException("샤드 처리 실패", e.getCause());
+        }
+    }
+
+    public List<ShardStats> stats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            stats.add(shard.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * 새 요청을 막고 큐에 남은 요청을 모두 처리할 때까지 대기
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        for (Shard shard : shards) {
+            if (shard.worker != null) {
+                shard.worker.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                if (shard.worker.isAlive()) {
+                    log.warn("샤드 {} 가 제한 시간 내에 남은 요청 {} 건을 처리하지 못했습니다.", shard.index, shard.queue.size());
+                }
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (started) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.worker = new Thread(() -> run(shard), WORKER_NAME + shard.index);
+            shard.worker.setDaemon(true);
+            shard.worker.start();
+        }
+        started = true;
+    }
+
+    // 샤드 스레드, 종료 후에도 큐가 빌 때까지 처리
+    private void run(Shard shard) {
+        List<Task> batch = new ArrayList<>(maxBatchSize);
+        while (running || !shard.queue.isEmpty()) {
+            try {
+                Task first = shard.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                shard.queue.drainTo(batch, maxBatchSize - 1);
+                process(shard, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 요청이 결과 없이 남지 않도록 모두 실패 처리
+                log.error("샤드 {} 처리 실패", shard.index, e);
+                for (Task task : batch) {
+                    task.result.complete(AppliedOperation.failure(task.operation, "포인트 처리 실패", e));
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 모은 요청을 유저별로 나누어 도착 순서대로 반영
+    private void process(Shard shard, List<Task> batch) {
+        Map<Long, List<Task>> tasksByUser = new LinkedHashMap<>();
+        for (Task task : batch) {
+            tasksByUser.computeIfAbsent(task.operation.userId(), userId -> new ArrayList<>()).add(task);
+        }
+
+        for (Map.Entry<Long, List<Task>> entry : tasksByUser.entrySet()) {
+            List<AppliedOperation> results = applyUserTasks(shard, entry.getKey(), entry.getValue());
+            long now = System.nanoTime();
+            for (int i = 0; i < results.size(); i++) {
+                Task task = entry.getValue().get(i);
+                shard.record(now - task.submittedNanos);
+                task.result.complete(results.get(i));
+            }
+        }
+    }
+
+    // 한 유저의 요청을 샤드 메모리의 잔고에 순서대로 반영한 뒤 저장소에 한 번 저장
+    private List<AppliedOperation> applyUserTasks(Shard shard, long userId, List<Task> tasks) {
+        UserPoint userPoint = shard.balances.get(userId);
+        if (userPoint == null) {
+            try {
+                userPoint = userPointRepository.findById(userId);
+            } catch (RuntimeException e) {
+                return tasks.stream().map(task -> AppliedOperation.failure(task.operation, "포인트 조회 실패", e)).toList();
+            }
+        }
+
+        AppliedOperation[] results = new AppliedOperation[tasks.size()];
+        List<Integer> applied = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            PointOperation operation = tasks.get(i).operation;
+            // 기한이 지났거나 요청한 스레드가 취소한 요청은 테이블에 접근하지 않고 그 요청만 실패
+            if (!tasks.get(i).result.start()) {
+                results[i] = AppliedOperation.failure(operation, "요청 처리 시간이 초과되었습니다.",
+                        new DeadlineExceededException("요청 처리 시간이 초과되었습니다."));
+                continue;
+            }
+            try {
+                userPoint = PointPolicy.apply(userPoint, operation.type(), operation.amount());
+                results[i] = AppliedOperation.success(operation, userPoint.point());
+                applied.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = AppliedOperation.failure(operation, e.getMessage(), e);
+            }
+        }
+
+        if (applied.isEmpty()) {
+            return List.of(results);
+        }
+
+        try {
+            shard.balances.put(userId, userPointRepository.upsert(userId, userPoint.point()));
+        } catch (RuntimeException e) {
+            // 저장 여부를 알 수 없으므로 다음 요청은 저장소에서 다시 읽음
+            shard.balances.remove(userId);
+            for (int i : applied) {
+                results[i] = AppliedOperation.failure(tasks.get(i).operation, "포인트 저장 실패", e);
+            }
+            return List.of(results);
+        }
+
+        for (int i : applied) {
+            PointOperation operation = tasks.get(i).operation;
+            try {
+                pointHistoryRepository.insertPointHistory(userId, operation.amount(), operation.type(), System.currentTimeMillis());
+            } catch (Exception e) {
+                results[i] = AppliedOperation.failure(operation, "포인트 히스토리 적재 실패",
+                        new RuntimeException("포인트 히스토리 적재 실패"));
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * 샤드별 처리 현황
+     * - latency 는 큐에 넣은 시점부터 처리 완료까지
+     */
+    public record ShardStats(
+            int shard,
+            int queueDepth,
+            long processed,
+            double meanLatencyMillis,
+            double maxLatencyMillis
+    ) {
+    }
+
+    private static final class Task {
+
+        private final PointOperation operation;
+        private final long submittedNanos;
+        private final ShardResult result;
+
+        private Task(PointOperation operation, long submittedNanos, long deadlineNanos) {
+            this.operation = operation;
+            this.submittedNanos = submittedNanos;
+            this.result = new ShardResult(deadlineNanos);
+        }
+    }
+
+    /**
+     * 요청 결과, 샤드 스레드가 반영을 시작하는 것과 요청한 스레드가 취소하는 것 중 먼저 한 쪽만 성공
+     */
+    private static final class ShardResult extends CompletableFuture<AppliedOperation> {
+
+        private static final int PENDING = 0;
+        private static final int STARTED = 1;
+        private static final int CANCELLED = 2;
+
+        // 요청의 기한 (ns)
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private ShardResult(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // 샤드 스레드가 반영 직전에 호출, 기한이 지났거나 취소되었으면 false
+        private boolean start() {
+            if (deadlineNanos - System.nanoTime() <= 0) {
+                state.compareAndSet(PENDING, CANCELLED);
+            }
+            return state.compareAndSet(PENDING, STARTED);
+        }
+
+        // 요청한 스레드가 기다리다 시간이 초과되면 호출, 이미 반영을 시작했으면 false
+        private boolean abandon() {
+            return state.compareAndSet(PENDING, CANCELLED) || state.get() == CANCELLED;
+        }
+    }
+
+    private static final class Shard {
+
+        private final int index;
+        private final BlockingQueue<Task> queue;
+
+        // 샤드 스레드만 접근, accessOrder = true 로 가장 오래 사용되지 않은 유저부터 제거
+        private final Map<Long, UserPoint> balances;
+
+        private final Timer latencyTimer;
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        private Thread worker;
+
+        private Shard(int index, int queueSize, int maxUsers, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.balances = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    return size() > maxUsers;
+                }
+            };
+            this.latencyTimer = meterRegistry == null ? null : Timer.builder("point.shard.latency")
+                    .description("샤드 큐에 넣은 시점부터 처리 완료까지 걸린 시간")
+                    .tag("shard", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+
+        private void record(long latencyNanos) {
+            processed.increment();
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+            if (latencyTimer != null) {
+                latencyTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private ShardStats stats() {
+            long count = processed.sum();
+            double mean = count == 0 ? 0.0 : totalLatencyNanos.sum() / (double) count / 1_000_000;
+            return new ShardStats(index, queue.size(), count, mean, maxLatencyNanos.get() / 1_000_000.0);
+        }
+    }
+}
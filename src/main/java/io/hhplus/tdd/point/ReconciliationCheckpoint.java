@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.reponse.ReconciliationReport.Mismatch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대사 진행 상황 파일 (끝에 이어 쓰는 텍스트 로그)
+ * <pre>
+ * range {fromUserId} {toUserId} {chunkSize}
+ * mismatch {chunk} {userId} {point} {historySum}
+ * done {chunk} {checkedUsers}
+ * complete
+ * </pre>
+ * - 구간(chunk) 하나의 불일치 목록과 done 은 한 번에 기록하고, done 이 없는 구간의 불일치는 읽을 때 버린다. (중간에 끊긴 쓰기)
+ * - 같은 범위로 다시 시작하면 done 이 기록된 구간은 건너뛴다.
+ */
+final class ReconciliationCheckpoint {
+
+    private final Path file;
+
+    // 이전 실행에서 끝난 구간과 그 결과
+    private final BitSet completed = new BitSet();
+    private final List<Mismatch> mismatches = new ArrayList<>();
+    private long checkedUsers;
+
+    private ReconciliationCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 같은 범위의 끝나지 않은 진행 상황이 있으면 이어서 사용하고, 아니면 새로 시작
+     */
+    static ReconciliationCheckpoint open(Path file, long fromUserId, long toUserId, int chunkSize, boolean restart)
+            throws IOException {
+        String header = "range " + fromUserId + " " + toUserId + " " + chunkSize;
+        ReconciliationCheckpoint checkpoint = new ReconciliationCheckpoint(file);
+
+        if (!restart && Files.exists(file)) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (!lines.isEmpty() && lines.get(0).equals(header) && !lines.contains("complete")) {
+                checkpoint.load(lines.subList(1, lines.size()));
+                return checkpoint;
+            }
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, header + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        return checkpoint;
+    }
+
+    boolean isCompleted(long chunk) {
+        return completed.get(Math.toIntExact(chunk));
+    }
+
+    int completedChunks() {
+        return completed.cardinality();
+    }
+
+    long checkedUsers() {
+        return checkedUsers;
+    }
+
+    List<Mismatch> mismatches() {
+        return mismatches;
+    }
+
+    // 구간 결과를 한 번의 쓰기로 기록
+    synchronized void chunkDone(long chunk, long checked, List<Mismatch> chunkMismatches) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Mismatch mismatch : chunkMismatches) {
+            lines.append("mismatch ").append(chunk).append(' ').append(mismatch.userId()).append(' ')
+                    .append(mismatch.point()).append(' ').append(mismatch.historySum()).append('\n');
+        }
+        lines.append("done ").append(chunk).append(' ').append(checked).append('\n');
+        append(lines.toString());
+    }
+
+    synchronized void complete() throws IOException {
+        append("complete\n");
+    }
+
+    private void append(String lines) throws IOException {
+        Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+
+    private void load(List<String> lines) {
+        Map<Long, List<Mismatch>> pending = new HashMap<>();
+        for (String line : lines) {
+            String[] fields = line.split(" ");
+            try {
+                if (fields[0].equals("mismatch") && fields.length == 5) {
+                    long point = Long.parseLong(fields[3]);
+                    long historySum = Long.parseLong(fields[4]);
+                    pending.computeIfAbsent(Long.parseLong(fields[1]), chunk -> new ArrayList<>())
+                            .add(new Mismatch(Long.parseLong(fields[2]), point, historySum, point - historySum));
+                } else if (fields[0].equals("done") && fields.length == 3) {
+                    long chunk = Long.parseLong(fields[1]);
+                    completed.set(Math.toIntExact(chunk));
+                    checkedUsers += Long.parseLong(fields[2]);
+                    mismatches.addAll(pending.getOrDefault(chunk, List.of()));
+                    pending.remove(chunk);
+                }
+            } catch (NumberFormatException ignored) {
+                // 마지막 줄이 끊긴 경우, 해당 구간은 다시 검사
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 포인트 API 요청을 컨트롤러에 넘기기 전에 수락 여부를 검사
+ * - 거절하면 AdmissionRejectedException 을 던지고, ApiControllerAdvice 가 429 + Retry-After 로 응답한다.
+ * - 비동기 응답은 처리가 끝나 다시 디스패치된 뒤에 반환한다. (다시 디스패치될 때는 검사하지 않음)
+ */
+class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final PointAdmissionControl pointAdmissionControl;
+
+    AdmissionInterceptor(PointAdmissionControl pointAdmissionControl) {
+        this.pointAdmissionControl = pointAdmissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        PointAdmissionControl.Permit permit = pointAdmissionControl.acquire(userIdOf(request));
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            pointAdmissionControl.release((PointAdmissionControl.Permit) permit);
+        }
+    }
+
+    // 경로의 {id}, 없거나 숫자가 아니면 null (숫자가 아니면 컨트롤러에서 400)
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.admission;
+
+/**
+ * 처리하지 않고 바로 거절한 요청 (429 Too Many Requests)
+ * - retryAfterSeconds 는 Retry-After 헤더로 응답
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final RejectReason reason;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(RejectReason reason, long retryAfterSeconds) {
+        // 거절은 자주 발생하므로 스택 트레이스를 만들지 않음
+        super("요청이 거절되었습니다: " + reason, null, false, false);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public RejectReason reason() {
+        return reason;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트를 바꾸는 API (충전, 사용, 일괄 처리)에만 수락 제어 적용
+ * - 조회와 내보내기는 기존처럼 제한하지 않음
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionWebConfig implements WebMvcConfigurer {
+
+    private final PointAdmissionControl pointAdmissionControl;
+
+    // 처리 기한 설정과 클러스터 전달 다음에 검사
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(pointAdmissionControl))
+                .addPathPatterns("/point/*/charge", "/point/*/use", "/point/*/charge/async", "/point/*/use/async",
+                        "/point/batch")
+                .order(Ordered.HIGHEST_PRECEDENCE + 2);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 관측한 응답 시간으로 조절하는 전체 동시 처리 한도 (gradient 방식)
+ * - 구간(window)마다 평균 응답 시간(short)을 구하고, 긴 기간의 지수 평균(long)과 비교한다.
+ * - short 가 long * tolerance 보다 크면 대기열이 쌓이고 있는 것으로 보고 그 비율만큼 한도를 줄이고,
+ *   아니면 sqrt(limit) 만큼 늘린다. (한도의 절반도 쓰지 않는 구간에서는 늘리지 않음)
+ * - 응답 시간이 오래 높게 유지되어도 기준이 따라 올라가 한도가 계속 줄지 않도록, long 은 천천히 short 를 따라간다.
+ */
+final class GradientConcurrencyLimit {
+
+    // long 평균에 반영하는 비율 (약 100 구간)
+    private static final double LONG_ALPHA = 0.01;
+
+    // 새 한도에 반영하는 비율
+    private static final double SMOOTHING = 0.2;
+
+    // 한 번에 줄이는 최대 비율
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // 현재 구간의 응답 시간 합계, 개수, 최대 동시 처리 수
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd;
+
+    private double longRtt;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowMillis, long nowNanos) {
+        if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit || tolerance < 1.0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("동시 처리 한도는 1 <= min-limit <= initial-limit <= max-limit, tolerance 는 1 이상이어야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.limit = initialLimit;
+        this.windowEnd = new AtomicLong(nowNanos + windowNanos);
+    }
+
+    // 한도 안이면 처리 중 수를 늘리고 true
+    boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        maxInFlight.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    // 처리가 끝난 요청의 응답 시간을 기록, 구간이 지났으면 한 스레드만 한도를 다시 계산
+    void release(long rttNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        rttSum.add(rttNanos);
+        rttCount.increment();
+
+        long end = windowEnd.get();
+        if (nowNanos - end >= 0 && windowEnd.compareAndSet(end, nowNanos + windowNanos)) {
+            update();
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        int used = maxInFlight.getAndSet(0);
+        if (count == 0) {
+            return;
+        }
+
+        double shortRtt = (double) sum / count;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt = longRtt * (1 - LONG_ALPHA) + shortRtt * LONG_ALPHA;
+
+        // 응답 시간이 기준보다 한참 짧아졌으면 기준을 빨리 낮춤
+        if (longRtt / shortRtt > 2.0) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        // 한도를 거의 쓰지 않았다면 응답 시간은 한도와 무관하므로 늘리지 않음
+        if (used < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - SMOOTHING) + next * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
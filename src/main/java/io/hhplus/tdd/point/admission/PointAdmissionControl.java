@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point.admission;
+
+import io.hhplus.tdd.point.reponse.AdmissionStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 포인트 요청 수락 제어 (admission control)
+ * - 처리할 수 없는 요청은 락이나 큐에서 기다리다 시간 초과되기 전에 바로 거절(429)하여 스레드를 돌려준다.
+ * - 유저별 토큰 버킷(user-rate, user-burst)을 넘으면 거절
+ * - 같은 유저의 처리 중인 요청(락 대기 포함)이 max-queue-per-user 이상이면 거절
+ *   유저별로 직접 세므로 동시성 모드와 관계없고, 같은 락 stripe 의 다른 유저 요청에는 영향받지 않는다.
+ * - 응답 시간으로 조절하는 전체 동시 처리 한도(GradientConcurrencyLimit)를 넘으면 거절
+ * - 거절 건수는 이유별로 point.admission.rejected 메트릭과 /point/admin/admission 으로 노출한다.
+ */
+@Component
+public class PointAdmissionControl {
+
+    private final UserTokenBuckets userTokenBuckets;
+    private final GradientConcurrencyLimit concurrencyLimit;
+    private final int maxQueuePerUser;
+    // 유저별 처리 중인 요청 수, 0 이 되면 제거하므로 처리 중인 유저 수만큼만 보관
+    private final ConcurrentMap<Long, Integer> userInFlight = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    private final LongAdder admitted = new LongAdder();
+    private final Map<RejectReason, LongAdder> rejected = new EnumMap<>(RejectReason.class);
+    private final Map<RejectReason, Counter> rejectedCounters = new EnumMap<>(RejectReason.class);
+
+    public PointAdmissionControl(
+            double userRate,
+            int userBurst,
+            int maxQueuePerUser,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            LongSupplier nanoClock
+    ) {
+        this(userRate, userBurst, 100000, maxQueuePerUser, initialLimit, minLimit, maxLimit, 1.5, 1000L,
+                nanoClock, null);
+    }
+
+    @Autowired
+    public PointAdmissionControl(
+            @Value("${point.admission.user-rate:100}") double userRate,
+            @Value("${point.admission.user-burst:200}") int userBurst,
+            @Value("${point.admission.max-users:100000}") int maxUsers,
+            @Value("${point.admission.max-queue-per-user:16}") int maxQueuePerUser,
+            @Value("${point.admission.initial-limit:200}") int initialLimit,
+            @Value("${point.admission.min-limit:16}") int minLimit,
+            @Value("${point.admission.max-limit:2000}") int maxLimit,
+            @Value("${point.admission.tolerance:1.5}") double tolerance,
+            @Value("${point.admission.window-millis:1000}") long windowMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this(userRate, userBurst, maxUsers, maxQueuePerUser, initialLimit, minLimit, maxLimit, tolerance,
+                windowMillis, System::nanoTime, meterRegistry);
+    }
+
+    private PointAdmissionControl(
+            double userRate,
+            int userBurst,
+            int maxUsers,
+            int maxQueuePerUser,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double tolerance,
+            long windowMillis,
+            LongSupplier nanoClock,
+            MeterRegistry meterRegistry
+    ) {
+        if (maxQueuePerUser <= 0) {
+            throw new IllegalArgumentException("유저별 최대 처리 중 요청 수는 1 이상이어야 합니다.");
+        }
+        this.userTokenBuckets = new UserTokenBuckets(userRate, userBurst, maxUsers, nanoClock);
+        this.concurrencyLimit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, windowMillis,
+                nanoClock.getAsLong());
+        this.maxQueuePerUser = maxQueuePerUser;
+        this.nanoClock = nanoClock;
+
+        for (RejectReason reason : RejectReason.values()) {
+            rejected.put(reason, new LongAdder());
+        }
+
+        if (meterRegistry != null) {
+            for (RejectReason reason : RejectReason.values()) {
+                rejectedCounters.put(reason, Counter.builder("point.admission.rejected")
+                        .description("처리하지 않고 바로 거절(429)한 요청 수")
+                        .tag("reason", reason.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            Gauge.builder("point.admission.limit", concurrencyLimit, GradientConcurrencyLimit::limit)
+                    .description("현재 전체 동시 처리 한도")
+                    .register(meterRegistry);
+            Gauge.builder("point.admission.in.flight", concurrencyLimit, GradientConcurrencyLimit::inFlight)
+                    .description("처리 중인 요청 수")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 요청을 수락하면 Permit 을 반환하고, 처리가 끝나면 반드시 release 로 반환해야 한다.
+     * - userId 가 없으면 (일괄 처리 등) 전체 동시 처리 한도만 검사
+     * - 거절하면 AdmissionRejectedException
+     */
+    public Permit acquire(Long userId) {
+        if (userId != null) {
+            long waitNanos = userTokenBuckets.tryAcquire(userId);
+            if (waitNanos > 0) {
+                throw reject(RejectReason.USER_RATE, waitNanos);
+            }
+            // 같은 유저 요청이 이미 많이 처리 중이면 기다려도 시간 안에 처리되기 어려움
+            if (userInFlight.merge(userId, 1, Integer::sum) > maxQueuePerUser) {
+                decrementUser(userId);
+                throw reject(RejectReason.USER_QUEUE, 0L);
+            }
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            if (userId != null) {
+                decrementUser(userId);
+            }
+            throw reject(RejectReason.CONCURRENCY, 0L);
+        }
+        admitted.increment();
+        return new Permit(userId, nanoClock.getAsLong());
+    }
+
+    public void release(Permit permit) {
+        if (permit.userId() != null) {
+            decrementUser(permit.userId());
+        }
+        long now = nanoClock.getAsLong();
+        concurrencyLimit.release(now - permit.startNanos(), now);
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(
+                concurrencyLimit.limit(),
+                concurrencyLimit.inFlight(),
+                admitted.sum(),
+                rejected.get(RejectReason.USER_RATE).sum(),
+                rejected.get(RejectReason.USER_QUEUE).sum(),
+                rejected.get(RejectReason.CONCURRENCY).sum()
+        );
+    }
+
+    private void decrementUser(Long userId) {
+        userInFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    // Retry-After 는 초 단위, 최소 1초
+    private AdmissionRejectedException reject(RejectReason reason, long waitNanos) {
+        rejected.get(reason).increment();
+        Counter counter = rejectedCounters.get(reason);
+        if (counter != null) {
+            counter.increment();
+        }
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new AdmissionRejectedException(reason, retryAfterSeconds);
+    }
+
+    /**
+     * 수락된 요청 (유저 ID 가 없으면 null, 수락 시각 ns)
+     */
+    public record Permit(Long userId, long startNanos) {
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.admission;
+
+
+/**
+ * 요청을 거절한 이유
+ * - USER_RATE : 유저별 초당 요청 수 초과
+ * - USER_QUEUE : 유저 락을 기다리는 요청이 너무 많음
+ * - CONCURRENCY : 전체 동시 처리 한도 초과
+ */
+public enum RejectReason {
+    USER_RATE, USER_QUEUE, CONCURRENCY
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저별 토큰 버킷
+ * - 초당 rate 개씩 토큰이 채워지고 최대 burst 개까지 쌓이며, 요청마다 토큰 하나를 사용한다.
+ * - 유저 ID 로 stripe 를 나누어 각자 동기화하고, stripe 별로 최근에 요청한 유저의 버킷만 보관한다. (LRU)
+ *   밀려난 유저는 다음 요청 때 가득 찬 버킷으로 다시 시작한다.
+ */
+final class UserTokenBuckets {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final double tokensPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    UserTokenBuckets(double ratePerSecond, int burst, int maxUsers, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst <= 0 || maxUsers < STRIPES) {
+            throw new IllegalArgumentException("초당 요청 수와 버스트는 1 이상, 최대 유저 수는 " + STRIPES + " 이상이어야 합니다.");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(maxUsers / STRIPES);
+        }
+    }
+
+    /**
+     * 토큰을 사용할 수 있으면 사용하고 0, 없으면 다음 토큰이 채워질 때까지 남은 시간(ns)
+     */
+    long tryAcquire(long userId) {
+        int h = Long.hashCode(userId);
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        long now = nanoClock.getAsLong();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(userId);
+            if (bucket == null) {
+                bucket = new Bucket(burst, now);
+                stripe.buckets.put(userId, bucket);
+            }
+
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledNanos) * tokensPerNano);
+            bucket.refilledNanos = now;
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0L;
+            }
+            return (long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledNanos;
+
+        private Bucket(double tokens, long refilledNanos) {
+            this.tokens = tokens;
+            this.refilledNanos = refilledNanos;
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Map<Long, Bucket> buckets;
+
+        private Stripe(int maxUsers) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Bucket> eldest) {
+                    return size() > maxUsers;
+                }
+            };
+        }
+    }
+}
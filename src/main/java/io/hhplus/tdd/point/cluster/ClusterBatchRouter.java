@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 일괄 처리(/point/batch) 요청을 처리할 노드를 정함 (경로에 유저 ID 가 없어 ClusterForwardingInterceptor 가 전달하지 않음)
+ * - 모든 유저를 이 노드가 소유하면 이 노드에서 처리한다.
+ * - 모든 유저를 다른 한 노드가 소유하면 요청 전체를 그 노드로 전달하고 응답을 그대로 돌려준다.
+ * - 여러 노드에 걸치면 일부만 처리되지 않도록 전체를 CrossNodeBatchException 으로 거절한다. (나누어 전달하면 한쪽만 실패할 수 있으므로)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterBatchRouter {
+
+    private static final Map<String, String> REQUEST_HEADERS = Map.of(
+            HttpHeaders.CONTENT_TYPE, "application/json",
+            HttpHeaders.ACCEPT, "application/json"
+    );
+    // 소유 노드의 응답에서 그대로 돌려주는 헤더
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER);
+
+    private final PointClusterNode pointClusterNode;
+    private final ClusterForwarder clusterForwarder;
+    private final ObjectMapper objectMapper;
+
+    public ClusterBatchRouter(PointClusterNode pointClusterNode, ClusterForwarder clusterForwarder, ObjectMapper objectMapper) {
+        this.pointClusterNode = pointClusterNode;
+        this.clusterForwarder = clusterForwarder;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 이 노드에서 처리할 요청이면 null, 아니면 소유 노드의 응답
+     * - forwardedBy 가 있으면 (다른 노드가 전달한 요청) 다시 전달하지 않고 ClusterRoutingException
+     */
+    public ResponseEntity<byte[]> route(List<PointOperation> operations, String forwardedBy) {
+        Set<String> owners = new LinkedHashSet<>();
+        for (PointOperation operation : operations) {
+            owners.add(pointClusterNode.ownerOf(operation.userId()));
+        }
+        if (owners.isEmpty() || owners.equals(Set.of(pointClusterNode.self()))) {
+            return null;
+        }
+        if (owners.size() > 1) {
+            throw new CrossNodeBatchException("일괄 처리 요청의 유저를 여러 노드가 소유합니다: " + owners);
+        }
+        String owner = owners.iterator().next();
+        if (forwardedBy != null) {
+            throw new ClusterRoutingException("일괄 처리 요청의 유저를 소유하지 않습니다. (소유 노드: " + owner + ")");
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(operations);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        HttpResponse<byte[]> forwarded = clusterForwarder.send(owner, "POST", "/point/batch", body, REQUEST_HEADERS);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(forwarded.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(name).ifPresent(value -> builder.header(name, value));
+        }
+        return builder.body(forwarded.body());
+    }
+}
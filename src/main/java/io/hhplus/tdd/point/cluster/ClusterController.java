@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.reponse.ClusterStatus;
+import io.hhplus.tdd.point.reponse.UserHandoff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 클러스터 노드 간 API (소유권 이전) 와 상태 조회
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(ClusterController.PATH)
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    static final String PATH = "/point/cluster";
+
+    private final PointClusterNode pointClusterNode;
+    private final ClusterMembership clusterMembership;
+
+    /**
+     * 멤버 목록과 이 노드가 데이터를 가진 유저 수
+     */
+    @GetMapping
+    public ClusterStatus status() {
+        return new ClusterStatus(clusterMembership.self(), clusterMembership.ring().members(), pointClusterNode.localUserCount());
+    }
+
+    /**
+     * 새 소유 노드가 이 노드의 유저 데이터를 가져감 (pull)
+     */
+    @PostMapping("handoff/{id}/release")
+    public UserHandoff release(
+            @PathVariable long id
+    ) {
+        return pointClusterNode.release(id);
+    }
+
+    /**
+     * 이전 소유 노드가 유저 데이터를 넘겨줌 (push)
+     */
+    @PostMapping("handoff")
+    public void accept(
+            @RequestBody UserHandoff handoff
+    ) {
+        pointClusterNode.accept(handoff);
+    }
+}
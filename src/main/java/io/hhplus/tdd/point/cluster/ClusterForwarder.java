@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 API 요청을 소유 노드로 보내고 응답을 받음 (ClusterForwardingInterceptor, ClusterBatchRouter 에서 사용)
+ * - 보낸 노드는 X-Point-Forwarded-By 로 알리고, 받은 노드는 소유하지 않으면 다시 전달하지 않는다.
+ * - 남은 처리 기한은 X-Request-Timeout-Millis 로 넘기고, 소유 노드의 응답도 그 안에서만 기다린다. (기한이 없으면 timeout-millis 까지)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterForwarder {
+
+    public static final String FORWARDED_BY_HEADER = "X-Point-Forwarded-By";
+    private static final String TIMEOUT_HEADER = "X-Request-Timeout-Millis";
+
+    private final PointClusterNode pointClusterNode;
+    private final HttpClient client;
+    private final long timeoutMillis;
+
+    public ClusterForwarder(PointClusterNode pointClusterNode, @Value("${point.cluster.timeout-millis:2000}") long timeoutMillis) {
+        this.pointClusterNode = pointClusterNode;
+        this.timeoutMillis = timeoutMillis;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
+    }
+
+    /**
+     * owner 에게 method, pathAndQuery, body 와 headers 로 요청을 보내고 응답을 반환
+     * - 처리 기한이 지났으면 DeadlineExceededException, 연결하지 못하거나 중단되면 ClusterRoutingException
+     */
+    HttpResponse<byte[]> send(String owner, String method, String pathAndQuery, byte[] body, Map<String, String> headers) {
+        RequestDeadline.check("요청 처리 시간이 초과되었습니다.");
+        long remainingMillis = RequestDeadline.current() == null
+                ? timeoutMillis
+                : TimeUnit.NANOSECONDS.toMillis(RequestDeadline.remainingNanos());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(Duration.ofMillis(Math.max(1L, remainingMillis)))
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY_HEADER, pointClusterNode.self())
+                .header(TIMEOUT_HEADER, String.valueOf(Math.max(0L, remainingMillis)));
+        headers.forEach(builder::header);
+
+        try {
+            return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterRoutingException("소유 노드로 전달 중 중단되었습니다: " + owner, e);
+        } catch (IOException e) {
+            throw new ClusterRoutingException("소유 노드에 연결하지 못했습니다: " + owner, e);
+        }
+    }
+}
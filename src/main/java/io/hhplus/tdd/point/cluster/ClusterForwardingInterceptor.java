@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경로에 유저 ID({id})가 있는 포인트 API 요청을 소유 노드로 전달
+ * - 이 노드가 소유하면 이전 소유 노드에 남은 데이터를 가져온 뒤 (PointClusterNode.prepare) 그대로 처리한다.
+ * - 아니면 메서드, 경로, 본문과 일부 헤더를 소유 노드로 보내고 응답을 그대로 돌려준다.
+ * - 전달받은 요청(X-Point-Forwarded-By)을 소유하지 않으면 다시 전달하지 않고 503 으로 응답한다. (노드 간 멤버 목록이 다른 동안)
+ * - 남은 처리 기한은 X-Request-Timeout-Millis 로 넘기고, 소유 노드의 응답도 그 안에서만 기다린다. (ClusterForwarder)
+ * - 경로에 유저 ID 가 없는 일괄 처리(/point/batch)는 본문의 유저로 ClusterBatchRouter 가 전달한다.
+ * - 비동기 응답이 다시 디스패치될 때는 검사하지 않는다. (처음 디스패치에서 이미 이 노드가 처리하기로 했고, 본문도 이미 읽었으므로)
+ */
+class ClusterForwardingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String FORWARDED_BY_HEADER = ClusterForwarder.FORWARDED_BY_HEADER;
+    private static final String ROUTED_ATTRIBUTE = ClusterForwardingInterceptor.class.getName() + ".routed";
+
+    // 소유 노드로 그대로 전달하는 요청/응답 헤더
+    private static final List<String> REQUEST_HEADERS = List.of("Content-Type", "Accept", "Accept-Encoding", "Idempotency-Key");
+    private static final List<String> RESPONSE_HEADERS = List.of("Content-Type", "Content-Encoding", "Retry-After");
+
+    private final PointClusterNode pointClusterNode;
+    private final ClusterForwarder clusterForwarder;
+
+    ClusterForwardingInterceptor(PointClusterNode pointClusterNode, ClusterForwarder clusterForwarder) {
+        this.pointClusterNode = pointClusterNode;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getAttribute(ROUTED_ATTRIBUTE) != null) {
+            return true;
+        }
+        Long userId = userIdOf(request);
+        if (userId == null) {
+            return true;
+        }
+
+        String owner = pointClusterNode.ownerOf(userId);
+        if (owner.equals(pointClusterNode.self())) {
+            pointClusterNode.prepare(userId);
+            request.setAttribute(ROUTED_ATTRIBUTE, owner);
+            return true;
+        }
+        if (request.getHeader(FORWARDED_BY_HEADER) != null) {
+            throw new ClusterRoutingException("유저 " + userId + " 의 소유 노드가 아닙니다. (소유 노드: " + owner + ")");
+        }
+
+        forward(owner, request, response);
+        return false;
+    }
+
+    private void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+
+        HttpResponse<byte[]> forwarded = clusterForwarder.send(owner, request.getMethod(),
+                request.getRequestURI() + (query == null ? "" : "?" + query),
+                request.getInputStream().readAllBytes(), headers);
+
+        response.setStatus(forwarded.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    // 경로의 {id}, 없거나 숫자가 아니면 null
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point.cluster;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 클러스터 멤버 목록과 소유 노드 링
+ * - 멤버는 노드의 기본 URL (예: http://localhost:8081) 이며, self 는 이 노드의 URL
+ * - members-file 을 지정하면 refresh-millis 마다 다시 읽고 (한 줄에 하나, # 은 주석), 아니면 members 로 고정
+ * - 멤버가 바뀌면 새 링으로 바꾸고 리스너에 (이전 링, 새 링) 을 알린다.
+ * - 이전 링은 최근 ring-history 개까지 보관하고, 소유권을 넘겨받을 때 이전 소유 노드를 찾는 데 쓴다.
+ *   (짧은 사이에 멤버가 여러 번 바뀌어도 데이터를 가진 노드를 찾을 수 있도록)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final String self;
+    private final int virtualNodes;
+    private final int ringHistory;
+    private final List<BiConsumer<ConsistentHashRing, ConsistentHashRing>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService reloader;
+
+    private volatile ConsistentHashRing ring;
+    // 이전 링, 최근 것부터
+    private volatile List<ConsistentHashRing> previousRings = List.of();
+
+    public ClusterMembership(String self, List<String> members, int virtualNodes) {
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.ringHistory = 8;
+        this.ring = new ConsistentHashRing(parse(members), virtualNodes);
+        this.reloader = null;
+        warnIfNotMember();
+    }
+
+    @Autowired
+    public ClusterMembership(
+            @Value("${point.cluster.self}") String self,
+            @Value("${point.cluster.members:}") String members,
+            @Value("${point.cluster.members-file:}") String membersFile,
+            @Value("${point.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${point.cluster.refresh-millis:5000}") long refreshMillis,
+            @Value("${point.cluster.ring-history:8}") int ringHistory
+    ) throws IOException {
+        if (ringHistory <= 0) {
+            throw new IllegalArgumentException("보관할 이전 링 수는 1 이상이어야 합니다.");
+        }
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.ringHistory = ringHistory;
+
+        if (membersFile.isBlank()) {
+            this.ring = new ConsistentHashRing(parse(Arrays.asList(members.split(","))), virtualNodes);
+            this.reloader = null;
+        } else {
+            Path path = Path.of(membersFile);
+            this.ring = new ConsistentHashRing(read(path), virtualNodes);
+            this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-cluster-membership");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(() -> reload(path), refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+        warnIfNotMember();
+        log.info("클러스터 멤버: {} (self: {})", ring.members(), self);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    // 이전 링 (최근 것부터 최대 ring-history 개), 바뀐 적 없으면 빈 목록
+    public List<ConsistentHashRing> previousRings() {
+        return previousRings;
+    }
+
+    public boolean isOwner(long userId) {
+        return ring.ownerOf(userId).equals(self);
+    }
+
+    public void addListener(BiConsumer<ConsistentHashRing, ConsistentHashRing> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 멤버 목록을 바꾸고, 달라졌으면 리스너에 알림 (리스너는 호출한 스레드에서 실행하므로 오래 걸리는 작업은 다른 스레드로 넘겨야 함)
+     */
+    public synchronized void update(List<String> members) {
+        ConsistentHashRing next = new ConsistentHashRing(parse(members), virtualNodes);
+        if (next.members().equals(ring.members())) {
+            return;
+        }
+        ConsistentHashRing previous = ring;
+        List<ConsistentHashRing> history = new ArrayList<>(ringHistory);
+        history.add(previous);
+        previousRings.stream().limit(ringHistory - 1).forEach(history::add);
+        this.previousRings = List.copyOf(history);
+        this.ring = next;
+        log.info("클러스터 멤버 변경: {} -> {}", previous.members(), next.members());
+        warnIfNotMember();
+        listeners.forEach(listener -> listener.accept(previous, next));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reload(Path path) {
+        try {
+            update(read(path));
+        } catch (IOException | RuntimeException e) {
+            // 파일을 쓰는 중이거나 비어 있으면 다음에 다시 읽음
+            log.warn("클러스터 멤버 파일을 읽지 못했습니다: {}", path, e);
+        }
+    }
+
+    private void warnIfNotMember() {
+        if (!ring.contains(self)) {
+            log.warn("이 노드({})가 클러스터 멤버가 아니므로 모든 요청을 다른 노드로 전달합니다.", self);
+        }
+    }
+
+    private static List<String> read(Path path) throws IOException {
+        return parse(Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    private static List<String> parse(List<String> lines) {
+        return lines.stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(ClusterMembership::normalize)
+                .toList();
+    }
+
+    // 끝의 / 는 제거 (요청 경로를 그대로 붙여서 전달)
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.cluster;
+
+/**
+ * 클러스터에서 요청을 처리할 노드를 정하지 못한 경우 (503 Service Unavailable, 잠시 후 재시도)
+ * - 소유권 이전 중, 소유 노드에 연결 실패, 노드 간 멤버 목록이 달라 소유 노드가 아닌 노드로 전달된 경우
+ */
+public class ClusterRoutingException extends RuntimeException {
+
+    public ClusterRoutingException(String message) {
+        super(message);
+    }
+
+    public ClusterRoutingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
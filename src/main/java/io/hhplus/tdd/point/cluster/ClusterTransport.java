@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.reponse.UserHandoff;
+
+/**
+ * 노드 간 소유권 이전 통신
+ */
+public interface ClusterTransport {
+
+    /**
+     * member 에게 userId 의 데이터를 넘겨받음, 넘겨준 노드는 더 이상 이 유저의 요청을 처리하지 않는다.
+     */
+    UserHandoff release(String member, long userId);
+
+    /**
+     * member 에게 userId 의 데이터를 넘겨줌, 실패하면 예외
+     */
+    void accept(String member, UserHandoff handoff);
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트 API 요청을 소유 노드로 전달 (운영용 /point/admin 과 노드 간 /point/cluster 는 제외)
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterWebConfig implements WebMvcConfigurer {
+
+    private final PointClusterNode pointClusterNode;
+    private final ClusterForwarder clusterForwarder;
+
+    public ClusterWebConfig(PointClusterNode pointClusterNode, ClusterForwarder clusterForwarder) {
+        this.pointClusterNode = pointClusterNode;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    // 처리 기한을 설정한 다음, 수락 제어보다 먼저 전달 (수락 제어는 소유 노드에서만 적용)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ClusterForwardingInterceptor(pointClusterNode, clusterForwarder))
+                .addPathPatterns("/point/**")
+                .excludePathPatterns("/point/admin/**", ClusterController.PATH + "/**")
+                .order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 유저 ID 를 소유 노드에 배정하는 consistent hash ring (불변)
+ * - 노드마다 virtualNodes 개의 지점을 링에 두고, 유저 ID 해시에서 시계 방향으로 가장 가까운 지점의 노드가 소유한다.
+ * - 노드가 추가/제거되면 그 노드와 이웃한 구간의 유저만 소유 노드가 바뀐다. (약 1/노드 수)
+ * - 모든 노드가 같은 멤버 목록이면 같은 결과를 내도록 해시는 JVM 과 무관한 값(FNV-1a)을 사용한다.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("멤버는 한 개 이상, 가상 노드 수는 1 이상이어야 합니다.");
+        }
+        // 순서와 중복에 상관없이 같은 링
+        this.members = List.copyOf(new TreeSet<>(members));
+
+        long[][] entries = new long[this.members.size() * virtualNodes][];
+        int index = 0;
+        for (int member = 0; member < this.members.size(); member++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                entries[index++] = new long[]{hash(this.members.get(member) + "#" + i), member};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = this.members.get((int) entries[i][1]);
+        }
+    }
+
+    public String ownerOf(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // 정렬된 멤버 목록
+    public List<String> members() {
+        return members;
+    }
+
+    public boolean contains(String member) {
+        return members.contains(member);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // 연속된 유저 ID 가 링에 고르게 퍼지도록 섞음 (murmur3 fmix64)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.cluster;
+
+/**
+ * 일괄 처리 요청의 유저를 여러 노드가 나누어 소유하는 경우 (503 Service Unavailable, 재시도해도 같음)
+ * - 일부 노드에서만 처리되지 않도록 전체를 처리하지 않는다. 한 노드가 소유한 유저끼리, 또는 유저별로 나누어 다시 요청해야 한다.
+ */
+public class CrossNodeBatchException extends ClusterRoutingException {
+
+    public CrossNodeBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.reponse.UserHandoff;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * ClusterController 의 소유권 이전 API 를 HTTP(JSON) 로 호출
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class HttpClusterTransport implements ClusterTransport {
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public HttpClusterTransport(ObjectMapper objectMapper, @Value("${point.cluster.timeout-millis:2000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public UserHandoff release(String member, long userId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(member + ClusterController.PATH + "/handoff/" + userId + "/release"))
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            return objectMapper.readValue(send(member, request), UserHandoff.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(String member, UserHandoff handoff) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(member + ClusterController.PATH + "/handoff"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(handoff)))
+                    .build();
+            send(member, request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String send(String member, HttpRequest request) throws IOException {
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("요청 중 중단되었습니다: " + member, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(member + " 응답 " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
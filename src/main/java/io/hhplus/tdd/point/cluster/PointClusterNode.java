@@ -0,0 +1,384 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.ConcurrencyMode;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.UserHandoff;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 클러스터 모드에서 이 노드가 소유한 유저의 데이터 관리
+ * - 유저는 ConsistentHashRing 으로 정해진 한 노드만 처리하고, 다른 노드는 요청을 소유 노드로 전달한다.
+ * - 멤버가 바뀌면 이 노드가 처리하던 유저 중 소유 노드가 바뀐 유저를 새 소유 노드로 넘겨준다. (push)
+ *   유저 락을 잡은 상태에서는 넘겨줄 데이터를 떼어 두기만 하고, 전송은 락을 놓은 뒤 멤버 변경을 알린 스레드가 아닌 handoff 스레드에서 한다.
+ * - 새로 소유하게 된 유저의 요청이 먼저 오면 이전 소유 노드들에서 최근 것부터 가져온다. (pull)
+ * - 재시작 등으로 이 JVM 이 처리한 적 없는 유저도 저장소에 데이터가 있으면 이 노드의 데이터로 넘겨준다.
+ * - 이미 넘겨준 유저를 다시 요청받으면 빈 데이터가 아니라 ClusterRoutingException 으로 거절한다. (잔고 0 에서 시작하지 않도록)
+ * - PointService 는 유저 락을 잡은 뒤 isOwned 로 한 번 더 확인하므로, 락을 기다리는 사이 넘겨준 유저의 데이터는 바뀌지 않는다.
+ *   (유저 락에 의존하므로 LOCK 모드에서만 사용할 수 있음)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointClusterNode implements UserOwnership {
+
+    private static final Logger log = LoggerFactory.getLogger(PointClusterNode.class);
+
+    private final ClusterMembership membership;
+    private final ClusterTransport transport;
+    private final UserLockManager userLockManager;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+
+    // 이 노드가 데이터를 가지고 있고 처리하는 유저
+    private final Set<Long> localUsers = ConcurrentHashMap.newKeySet();
+
+    // 처리를 멈추고 새 소유 노드로 보내는 중인 유저의 데이터, 보내지 못했으면 새 소유 노드가 가져갈 때까지 보관
+    private final ConcurrentHashMap<Long, UserHandoff> outgoing = new ConcurrentHashMap<>();
+
+    // 새 소유 노드가 받은 유저, 다시 요청받으면 거절
+    private final Set<Long> released = ConcurrentHashMap.newKeySet();
+
+    private final Executor handoffExecutor;
+    private final ExecutorService ownedExecutor;
+
+    // 유저별로 이전 소유 노드에서 가져오는 중인 작업 (한 번만 가져옴)
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> pulls = new ConcurrentHashMap<>();
+
+    private final Counter handedOff;
+    private final Counter received;
+
+    public PointClusterNode(
+            ClusterMembership membership,
+            ClusterTransport transport,
+            UserLockManager userLockManager,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            Executor handoffExecutor
+    ) {
+        this(membership, transport, userLockManager, userPointRepository, pointHistoryRepository, ConcurrencyMode.LOCK,
+                handoffExecutor, null, null);
+    }
+
+    @Autowired
+    public PointClusterNode(
+            ClusterMembership membership,
+            ClusterTransport transport,
+            UserLockManager userLockManager,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            @Value("${point.concurrency.mode:LOCK}") ConcurrencyMode concurrencyMode,
+            MeterRegistry meterRegistry
+    ) {
+        this(membership, transport, userLockManager, userPointRepository, pointHistoryRepository, concurrencyMode,
+                null, Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "point-cluster-handoff");
+                    thread.setDaemon(true);
+                    return thread;
+                }), meterRegistry);
+    }
+
+    private PointClusterNode(
+            ClusterMembership membership,
+            ClusterTransport transport,
+            UserLockManager userLockManager,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            ConcurrencyMode concurrencyMode,
+            Executor handoffExecutor,
+            ExecutorService ownedExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        if (concurrencyMode != ConcurrencyMode.LOCK) {
+            throw new IllegalStateException("클러스터 모드는 point.concurrency.mode=LOCK 에서만 사용할 수 있습니다.");
+        }
+        this.membership = membership;
+        this.transport = transport;
+        this.userLockManager = userLockManager;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.ownedExecutor = ownedExecutor;
+        this.handoffExecutor = ownedExecutor != null ? ownedExecutor : handoffExecutor;
+
+        this.handedOff = meterRegistry == null ? null : Counter.builder("point.cluster.handoff")
+                .description("다른 노드로 넘겨준 유저 수")
+                .tag("direction", "out")
+                .register(meterRegistry);
+        this.received = meterRegistry == null ? null : Counter.builder("point.cluster.handoff")
+                .description("다른 노드에서 넘겨받은 유저 수")
+                .tag("direction", "in")
+                .register(meterRegistry);
+
+        // 멤버 변경을 알린 스레드 (멤버 파일을 다시 읽는 스레드) 를 막지 않도록 handoff 스레드에서 넘겨줌
+        membership.addListener((previous, next) -> this.handoffExecutor.execute(this::handOffMovedUsers));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    public String self() {
+        return membership.self();
+    }
+
+    public String ownerOf(long userId) {
+        return membership.ring().ownerOf(userId);
+    }
+
+    public int localUserCount() {
+        return localUsers.size();
+    }
+
+    @Override
+    public boolean isOwned(long userId) {
+        if (!membership.isOwner(userId) || !isReady(userId)) {
+            return false;
+        }
+        localUsers.add(userId);
+        return true;
+    }
+
+    /**
+     * 소유한 유저의 요청을 처리하기 전에 호출, 이전 소유 노드에 데이터가 남아 있으면 가져온다.
+     * - 유저 락을 잡지 않은 상태에서 호출해야 한다. (이전 소유 노드가 이 유저를 넘겨주는 중이면 넘겨줄 때까지 기다림)
+     */
+    @Override
+    public void prepare(long userId) {
+        if (!membership.isOwner(userId) || isReady(userId)) {
+            return;
+        }
+
+        CompletableFuture<Void> pull = new CompletableFuture<>();
+        CompletableFuture<Void> running = pulls.putIfAbsent(userId, pull);
+        if (running != null) {
+            join(running);
+            return;
+        }
+
+        try {
+            if (!isReady(userId)) {
+                pullFromPreviousOwners(userId);
+            }
+            pull.complete(null);
+        } catch (RuntimeException e) {
+            pull.completeExceptionally(e);
+            throw e;
+        } finally {
+            pulls.remove(userId, pull);
+        }
+    }
+
+    /**
+     * 다른 노드가 이 유저의 데이터를 가져감, 이후 이 노드는 이 유저의 요청을 처리하지 않는다.
+     * - 이 JVM 이 처리한 적 없는 유저는 저장소의 데이터를 넘겨주고, 저장소에도 없을 때만 빈 데이터
+     * - 이 노드의 멤버 목록으로는 아직 이 노드가 소유한 유저면 (멤버 파일을 아직 다시 읽지 않음) ClusterRoutingException
+     * - 이미 다른 노드가 받아간 유저면 이 노드의 데이터는 오래된 것이므로 ClusterRoutingException
+     */
+    public UserHandoff release(long userId) {
+        if (membership.isOwner(userId)) {
+            throw new ClusterRoutingException("멤버 목록이 바뀌기 전이라 유저 " + userId + " 를 넘겨줄 수 없습니다.");
+        }
+        Lock lock = userLockManager.getLock(userId);
+        lock.lock();
+        try {
+            if (released.contains(userId)) {
+                throw new ClusterRoutingException("유저 " + userId + " 는 이미 다른 노드로 넘겨줬습니다.");
+            }
+            UserHandoff handoff = outgoing.remove(userId);
+            if (handoff == null) {
+                handoff = snapshot(userId);
+                if (!localUsers.remove(userId) && !hasData(handoff)) {
+                    return UserHandoff.empty(userId);
+                }
+            }
+            released.add(userId);
+            increment(handedOff);
+            return handoff;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이전 소유 노드가 넘겨준 데이터를 반영, 이미 이 노드가 처리하기 시작한 유저면 무시
+     * - 이 노드의 멤버 목록으로는 소유하지 않은 유저면 ClusterRoutingException (넘겨준 노드가 데이터를 보관)
+     */
+    public void accept(UserHandoff handoff) {
+        long userId = handoff.userId();
+        if (!membership.isOwner(userId)) {
+            throw new ClusterRoutingException("유저 " + userId + " 의 소유 노드가 아니라 넘겨받을 수 없습니다.");
+        }
+        Lock lock = userLockManager.getLock(userId);
+        lock.lock();
+        try {
+            if (!localUsers.contains(userId)) {
+                restore(handoff);
+                localUsers.add(userId);
+                outgoing.remove(userId);
+                released.remove(userId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 소유 노드가 바뀐 유저를 새 소유 노드로 넘겨줌, 실패한 유저는 새 소유 노드가 요청을 받을 때 가져감
+    void handOffMovedUsers() {
+        int moved = 0;
+        int failed = 0;
+        for (Long userId : List.copyOf(localUsers)) {
+            String owner = membership.ring().ownerOf(userId);
+            if (owner.equals(membership.self())) {
+                continue;
+            }
+
+            // 락을 잡은 동안에는 처리를 멈추고 데이터만 떼어 둠
+            UserHandoff handoff;
+            Lock lock = userLockManager.getLock(userId);
+            lock.lock();
+            try {
+                if (!localUsers.remove(userId)) {
+                    continue;
+                }
+                handoff = snapshot(userId);
+                outgoing.put(userId, handoff);
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                transport.accept(owner, handoff);
+                // 보내는 사이 새 소유 노드가 먼저 가져갔으면 이미 released
+                if (outgoing.remove(userId, handoff)) {
+                    released.add(userId);
+                    increment(handedOff);
+                }
+                moved++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.debug("유저 {} 를 {} 로 넘겨주지 못했습니다.", userId, owner, e);
+            }
+        }
+        log.info("소유권 이전: {} 명 넘겨줌, {} 명 실패 (새 소유 노드가 요청 시 가져감)", moved, failed);
+    }
+
+    // 처리하던 유저이거나, 보관 중인 이전 링에서도 계속 이 노드가 소유했으면 저장소의 데이터가 최신
+    private boolean isReady(long userId) {
+        if (localUsers.contains(userId)) {
+            return true;
+        }
+        for (ConsistentHashRing previous : membership.previousRings()) {
+            if (!previous.ownerOf(userId).equals(membership.self())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 최근 이전 소유 노드부터 물어보고, 데이터를 가진 노드를 찾으면 멈춤 (모두 없다고 하면 빈 데이터)
+    private void pullFromPreviousOwners(long userId) {
+        UserHandoff handoff = UserHandoff.empty(userId);
+        Set<String> asked = new HashSet<>();
+        asked.add(membership.self());
+        for (ConsistentHashRing previous : membership.previousRings()) {
+            String previousOwner = previous.ownerOf(userId);
+            if (!asked.add(previousOwner)) {
+                continue;
+            }
+            handoff = releaseFrom(previousOwner, userId);
+            if (!handoff.isEmpty()) {
+                break;
+            }
+        }
+        accept(handoff);
+        if (!handoff.isEmpty()) {
+            increment(received);
+        }
+    }
+
+    private UserHandoff releaseFrom(String previousOwner, long userId) {
+        try {
+            return transport.release(previousOwner, userId);
+        } catch (RuntimeException e) {
+            if (membership.ring().contains(previousOwner)) {
+                throw new ClusterRoutingException("유저 " + userId + " 의 소유권을 넘겨받는 중입니다.", e);
+            }
+            // 클러스터에서 빠진 노드에 연결할 수 없으면 그 노드의 데이터 없이 처리
+            log.warn("클러스터에서 제외된 {} 에서 유저 {} 를 가져오지 못해 데이터 없이 처리합니다.", previousOwner, userId, e);
+            return UserHandoff.empty(userId);
+        }
+    }
+
+    private UserHandoff snapshot(long userId) {
+        return new UserHandoff(userId, userPointRepository.findById(userId).point(), pointHistoryRepository.findAllById(userId));
+    }
+
+    // 저장소에 잔고나 히스토리가 있으면 이 노드의 데이터 (처리한 적 없는 유저는 잔고 0, 히스토리 없음)
+    private static boolean hasData(UserHandoff handoff) {
+        return handoff.point() != 0L || !handoff.histories().isEmpty();
+    }
+
+    // 잔고는 덮어쓰고, 히스토리는 이미 있는 내역(이전에 이 노드가 소유했던 경우)을 빼고 추가
+    private void restore(UserHandoff handoff) {
+        if (handoff.isEmpty()) {
+            return;
+        }
+        userPointRepository.upsert(handoff.userId(), handoff.point());
+
+        Set<HistoryKey> existing = new HashSet<>();
+        pointHistoryRepository.findAllById(handoff.userId()).forEach(history -> existing.add(HistoryKey.of(history)));
+        for (PointHistory history : handoff.histories()) {
+            if (!existing.contains(HistoryKey.of(history))) {
+                pointHistoryRepository.insertPointHistory(history.userId(), history.amount(), history.type(), history.updateMillis());
+            }
+        }
+    }
+
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record HistoryKey(long amount, TransactionType type, long updateMillis) {
+
+        static HistoryKey of(PointHistory history) {
+            return new HistoryKey(history.amount(), history.type(), history.updateMillis());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.cluster;
+
+/**
+ * 유저 락을 잡은 상태에서 이 노드가 해당 유저의 요청을 처리해도 되는지 확인
+ * - 락을 기다리는 사이 소유권이 다른 노드로 넘어간 요청이 넘겨준 데이터를 바꾸지 않도록 한다.
+ */
+public interface UserOwnership {
+
+    boolean isOwned(long userId);
+
+    /**
+     * 유저 락을 잡기 전에 호출, 이 노드가 새로 소유하게 된 유저면 이전 소유 노드에 남은 데이터를 가져온다.
+     * - 가져오지 못하면 ClusterRoutingException
+     */
+    void prepare(long userId);
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.deadline;
+
+/**
+ * 요청 처리 기한이 지나 처리하지 않은 요청 (504 Gateway Timeout)
+ * - 락을 기다리다 기한이 지난 경우 포함, 기한이 지난 요청은 테이블에 접근하지 않으므로 반영되지 않는다.
+ * - COMBINING, SHARDED 모드에서도 다른 스레드가 대신 처리하기 전에 기한을 확인하고, 지난 요청은 반영하지 않는다.
+ * - 단, SHARDED 모드에서 샤드 스레드가 반영을 시작한 뒤 초과된 요청은 이후에 반영될 수 있다. (재시도는 Idempotency-Key 와 함께)
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        // 시간 초과는 부하가 높을 때 몰려서 발생하므로 스택 트레이스를 만들지 않음
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 헤더(X-Request-Timeout-Millis) 또는 기본값으로 처리 기한을 정해 요청 스레드에 설정
+ * - 헤더 값은 요청을 받은 시점부터의 남은 시간(ms)이며, 서버 간 시계 차이와 무관하도록 절대 시각은 받지 않는다.
+ * - max-timeout-millis 보다 긴 값은 max-timeout-millis 로 줄이고, 0 이하면 이미 지난 것으로 처리한다.
+ */
+class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout-Millis";
+
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+
+    DeadlineInterceptor(long defaultTimeoutMillis, long maxTimeoutMillis) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long timeoutMillis = Math.min(maxTimeoutMillis, timeoutMillisOf(request.getHeader(TIMEOUT_HEADER)));
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        return true;
+    }
+
+    // 비동기 요청은 처리 스레드로 기한을 넘겼으므로 요청 스레드에서는 지움
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    // 숫자가 아니면 기본값
+    private long timeoutMillisOf(String header) {
+        if (header == null || header.isBlank()) {
+            return defaultTimeoutMillis;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return defaultTimeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트 API 에 요청 처리 기한 적용 (운영용 /point/admin 은 제외)
+ */
+@Configuration
+public class DeadlineWebConfig implements WebMvcConfigurer {
+
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+
+    public DeadlineWebConfig(
+            @Value("${point.deadline.default-timeout-millis:5000}") long defaultTimeoutMillis,
+            @Value("${point.deadline.max-timeout-millis:30000}") long maxTimeoutMillis
+    ) {
+        if (defaultTimeoutMillis <= 0 || maxTimeoutMillis < defaultTimeoutMillis) {
+            throw new IllegalArgumentException("기본 처리 기한은 1 이상, 최대 처리 기한은 기본 처리 기한 이상이어야 합니다.");
+        }
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+
+    // 수락 제어보다 먼저 기한을 설정
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DeadlineInterceptor(defaultTimeoutMillis, maxTimeoutMillis))
+                .addPathPatterns("/point/**")
+                .excludePathPatterns("/point/admin/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.deadline;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드에서 처리 중인 요청의 처리 기한 (System.nanoTime 기준)
+ * - HTTP 요청은 DeadlineInterceptor 가 설정하고, 비동기 실행기는 작업을 넘길 때 기한도 함께 넘긴다.
+ * - 기한이 없으면 (테스트, 내부 호출) 제한 없이 처리한다.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    // 기한 (ns), 없으면 null
+    public static Long current() {
+        return DEADLINE_NANOS.get();
+    }
+
+    public static void set(long deadlineNanos) {
+        DEADLINE_NANOS.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    // 주어진 기한으로 work 를 실행하고 이전 기한으로 되돌림 (다른 스레드로 기한을 넘길 때 사용)
+    public static <T> T callWithin(Long deadlineNanos, Supplier<T> work) {
+        Long previous = DEADLINE_NANOS.get();
+        if (deadlineNanos == null) {
+            DEADLINE_NANOS.remove();
+        } else {
+            DEADLINE_NANOS.set(deadlineNanos);
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                DEADLINE_NANOS.remove();
+            } else {
+                DEADLINE_NANOS.set(previous);
+            }
+        }
+    }
+
+    // 남은 시간 (ns), 기한이 없으면 Long.MAX_VALUE, 지났으면 0 이하
+    public static long remainingNanos() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    // 기한이 지났으면 DeadlineExceededException
+    public static void check(String message) {
+        if (remainingNanos() <= 0) {
+            throw new DeadlineExceededException(message);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.lock;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 획득 대기 시간과 보유 시간을 기록하는 락
+ * - 재진입한 경우는 기록하지 않고, 가장 바깥의 획득/해제만 기록한다.
+ */
+final class TimedLock implements Lock {
+
+    private final ReentrantLock delegate;
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+
+    // 락을 잡은 스레드만 읽고 쓰므로 동기화 불필요
+    private long acquiredNanos;
+
+    TimedLock(ReentrantLock delegate, Timer waitTimer, Timer holdTimer) {
+        this.delegate = delegate;
+        this.waitTimer = waitTimer;
+        this.holdTimer = holdTimer;
+    }
+
+    @Override
+    public void lock() {
+        long start = System.nanoTime();
+        delegate.lock();
+        acquired(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = System.nanoTime();
+        delegate.lockInterruptibly();
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = System.nanoTime();
+        if (!delegate.tryLock()) {
+            return false;
+        }
+        acquired(start);
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        if (!delegate.tryLock(time, unit)) {
+            // 획득하지 못한 경우도 대기한 시간은 기록
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return false;
+        }
+        acquired(start);
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (delegate.getHoldCount() == 1) {
+            holdTimer.record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+        }
+        delegate.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return delegate.newCondition();
+    }
+
+    private void acquired(long start) {
+        if (delegate.getHoldCount() == 1) {
+            acquiredNanos = System.nanoTime();
+            waitTimer.record(acquiredNanos - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락 관리
+ * - 유저 ID 를 고정 개수의 락(stripe) 중 하나에 매핑한다.
+ * - 같은 유저의 요청은 항상 같은 락을 사용하므로 순서가 보장되고, 다른 유저의 요청은 병렬로 처리된다.
+ * - 락 개수가 고정이므로 유저 수가 늘어나도 락 때문에 메모리가 늘어나지 않는다.
+ * - MeterRegistry 가 주어지면 락 대기/보유 시간(point.lock.wait, point.lock.hold)과 대기 중인 스레드 수(point.lock.queue)를 기록한다.
+ */
+@Component
+public class UserLockManager {
+
+    private final ReentrantLock[] locks;
+    private final Lock[] views;
+    private final int mask;
+
+    public UserLockManager(int stripes) {
+        this(stripes, null);
+    }
+
+    @Autowired
+    public UserLockManager(@Value("${point.lock.stripes:1024}") int stripes, MeterRegistry meterRegistry) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("락 개수는 1 이상이어야 합니다.");
+        }
+
+        // 비트 연산으로 인덱스를 구하기 위해 2의 거듭제곱으로 올림
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        this.locks = new ReentrantLock[size];
+        this.views = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            // 먼저 대기한 요청이 먼저 처리되도록 공정 락 사용
+            locks[i] = new ReentrantLock(true);
+            views[i] = locks[i];
+        }
+        this.mask = size - 1;
+
+        if (meterRegistry != null) {
+            Timer waitTimer = Timer.builder("point.lock.wait")
+                    .description("유저 락 획득 대기 시간")
+                    .register(meterRegistry);
+            Timer holdTimer = Timer.builder("point.lock.hold")
+                    .description("유저 락 보유 시간")
+                    .register(meterRegistry);
+            for (int i = 0; i < size; i++) {
+                views[i] = new TimedLock(locks[i], waitTimer, holdTimer);
+            }
+            Gauge.builder("point.lock.queue", this, UserLockManager::queueLength)
+                    .description("유저 락을 기다리는 스레드 수 (추정치)")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Lock getLock(long userId) {
+        return views[stripeOf(userId)];
+    }
+
+    public int stripeOf(long userId) {
+        int h = Long.hashCode(userId);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    // 모든 락의 대기 스레드 수 합계
+    public int queueLength() {
+        int queueLength = 0;
+        for (ReentrantLock lock : locks) {
+            queueLength += lock.getQueueLength();
+        }
+        return queueLength;
+    }
+}
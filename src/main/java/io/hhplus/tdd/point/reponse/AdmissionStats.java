@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.reponse;
+
+/**
+ * 요청 수락/거절 현황
+ * - limit : 현재 전체 동시 처리 한도, inFlight : 처리 중인 요청 수
+ * - rejected* : 시작 이후 이유별 거절 건수
+ */
+public record AdmissionStats(
+        int limit,
+        int inFlight,
+        long admitted,
+        long rejectedByUserRate,
+        long rejectedByUserQueue,
+        long rejectedByConcurrency
+) {
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.util.List;
+
+/**
+ * 클러스터 멤버 목록과 이 노드가 데이터를 가진 유저 수
+ */
+public record ClusterStatus(
+        String self,
+        List<String> members,
+        int localUsers
+) {
+}
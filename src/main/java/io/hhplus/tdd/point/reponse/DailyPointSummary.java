@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.time.LocalDate;
+
+/**
+ * 하루(UTC) 동안의 포인트 충전/사용 합계
+ * - usedAmount 는 히스토리와 같이 음수
+ */
+public record DailyPointSummary(
+        LocalDate date,
+        long chargedAmount,
+        long chargeCount,
+        long usedAmount,
+        long useCount
+) {
+
+    public DailyPointSummary plus(DailyPointSummary other) {
+        return new DailyPointSummary(date, chargedAmount + other.chargedAmount, chargeCount + other.chargeCount,
+                usedAmount + other.usedAmount, useCount + other.useCount);
+    }
+}
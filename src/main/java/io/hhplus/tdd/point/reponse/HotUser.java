@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.reponse;
+
+/**
+ * 요청이 몰리는 유저 한 명의 집계 값
+ * - value 는 직전 + 현재 구간의 합계 (요청 수 또는 락 대기 시간 ms), 실제보다 최대 error 만큼 클 수 있음
+ * - perSecond 는 value 를 집계 기간(초)으로 나눈 값
+ */
+public record HotUser(
+        long userId,
+        long value,
+        long error,
+        double perSecond
+) {
+}
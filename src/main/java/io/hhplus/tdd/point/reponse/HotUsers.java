@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.util.List;
+
+/**
+ * 요청 수, 락 대기 시간 기준 상위 유저
+ */
+public record HotUsers(
+        long windowMillis,
+        List<HotUser> byRequests,
+        List<HotUser> byLockWait
+) {
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.util.List;
+
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        String nextCursor
+) {
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.reponse;
+
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 포인트 충전/사용 요청 한 건의 처리 결과
+ * - 성공 시 point 는 해당 요청 처리 직후 잔고, 실패 시 message 에 실패 사유
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String message
+) {
+
+    public static PointOperationResult success(PointOperation operation, long point) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, point, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String message) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, message);
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.reponse;
+
+/**
+ * 유저별 포인트 충전/사용 누적 합계
+ * - usedAmount 는 히스토리와 같이 음수
+ */
+public record PointSummary(
+        long userId,
+        long chargedAmount,
+        long chargeCount,
+        long usedAmount,
+        long useCount
+) {
+
+    public PointSummary plus(PointSummary other) {
+        return new PointSummary(userId, chargedAmount + other.chargedAmount, chargeCount + other.chargeCount,
+                usedAmount + other.usedAmount, useCount + other.useCount);
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.util.List;
+
+/**
+ * 잔고/히스토리 대사(reconciliation) 진행 상황과 결과
+ * - mismatches 는 최대 point.reconciliation.max-reported-mismatches 건까지, mismatchCount 는 전체 건수
+ */
+public record ReconciliationReport(
+        Status status,
+        long fromUserId,
+        long toUserId,
+        long completedChunks,
+        long totalChunks,
+        long checkedUsers,
+        long mismatchCount,
+        List<Mismatch> mismatches,
+        Long startedMillis,
+        Long finishedMillis
+) {
+
+    public enum Status {
+        IDLE, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    /**
+     * 잔고와 히스토리 합계가 다른 유저
+     * - difference = point - historySum
+     */
+    public record Mismatch(
+            long userId,
+            long point,
+            long historySum,
+            long difference
+    ) {
+    }
+
+    public static ReconciliationReport idle() {
+        return new ReconciliationReport(Status.IDLE, 0L, 0L, 0L, 0L, 0L, 0L, List.of(), null, null);
+    }
+}
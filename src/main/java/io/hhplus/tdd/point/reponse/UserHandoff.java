@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.reponse;
+
+import java.util.List;
+
+/**
+ * 소유 노드가 바뀐 유저의 잔고와 히스토리 (노드 간 소유권 이전)
+ * - 이전 소유 노드에 이 유저의 데이터가 없으면 point 는 null
+ */
+public record UserHandoff(
+        long userId,
+        Long point,
+        List<PointHistory> histories
+) {
+
+    public static UserHandoff empty(long userId) {
+        return new UserHandoff(userId, null, List.of());
+    }
+
+    public boolean isEmpty() {
+        return point == null;
+    }
+}
@@ -1,16 +1,26 @@
 package io.hhplus.tdd.point.reponse;
 
+/**
+ * 유저 포인트
+ * - version 은 저장소가 부여하며 저장할 때마다 증가한다. 저장된 적 없는 유저는 0
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        long version
 ) {
 
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, 0L);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
 
+    // 변경 전 버전을 유지, 저장소에 compareAndSet 할 때 기대 버전으로 사용
     public UserPoint chargeOrUsePoint(long amount) {
-        return new UserPoint(this.id, this.point + amount, System.currentTimeMillis());
+        return new UserPoint(this.id, this.point + amount, System.currentTimeMillis(), this.version);
     }
 }
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유저 포인트 캐시 (read-through / write-through)
+ * - 조회 시 캐시에 없으면 테이블에서 읽어 캐시에 저장하고, 저장 시 테이블과 캐시를 함께 갱신한다.
+ * - 최대 개수를 넘으면 가장 오래 사용되지 않은 유저부터 제거한다. (LRU)
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedUserPointRepository implements UserPointRepository {
+
+    private final UserPointRepository delegate;
+    private final Map<Long, UserPoint> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // 테이블 조회 중 저장이 일어났는지 확인하기 위한 저장 횟수
+    private final AtomicLong writes = new AtomicLong();
+
+    public CachedUserPointRepository(
+            @Qualifier("userPointStore") UserPointRepository delegate,
+            @Value("${point.cache.maximum-size:100000}") int maximumSize
+    ) {
+        this.delegate = delegate;
+        // accessOrder = true: 조회할 때마다 가장 최근 위치로 이동
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public UserPoint findById(Long id) {
+        UserPoint cached;
+        synchronized (cache) {
+            cached = cache.get(id);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long writesBefore = writes.get();
+        UserPoint userPoint = delegate.findById(id);
+
+        synchronized (cache) {
+            // 조회하는 동안 저장이 있었다면 조회한 값이 이미 오래된 값일 수 있으므로 캐시에 넣지 않음
+            if (writes.get() == writesBefore) {
+                cache.putIfAbsent(id, userPoint);
+            }
+        }
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint upsert(Long id, Long amount) {
+        UserPoint userPoint = delegate.upsert(id, amount);
+        synchronized (cache) {
+            writes.incrementAndGet();
+            cache.put(id, userPoint);
+        }
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+        UserPoint userPoint = delegate.compareAndSet(id, expectedVersion, amount);
+        synchronized (cache) {
+            writes.incrementAndGet();
+            if (userPoint != null) {
+                cache.put(id, userPoint);
+            } else {
+                // 캐시의 버전이 오래되어 실패했을 수 있으므로 다음 조회는 저장소에서 읽음
+                cache.remove(id);
+            }
+        }
+        return userPoint;
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    public record CacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) {
+    }
+}
@@ -0,0 +1,514 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 스냅샷 + WAL 기반 유저 포인트 저장소 (durable-store 프로필)
+ * - 포인트는 메모리(LongPointStore)에 두고, 저장할 때마다 WAL 에 [lsn, id, point, updateMillis] 를 이어 쓴다.
+ * - 백그라운드에서 주기적으로 전체 포인트를 스냅샷 파일로 저장한다. 저장소를 조금씩 나누어 읽으므로 저장을 막지 않는다.
+ * - 스냅샷 도중의 저장이 섞여 있을 수 있지만, 저장은 덮어쓰기이므로 스냅샷 시작 lsn 부터 WAL 을 다시 적용하면 같은 상태가 된다.
+ * - 시작 시 가장 최근 스냅샷을 읽고 그 이후의 WAL 만 다시 적용한다. CRC 가 맞지 않는 WAL 레코드부터는 버린다.
+ * - 버전은 PrimitiveUserPointRepository 와 같이 수정 시각을 사용하므로 WAL, 스냅샷 형식은 그대로다.
+ */
+@Repository
+@Profile("durable-store")
+@Qualifier("userPointStore")
+public class DurableUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableUserPointRepository.class);
+
+    // [lsn 8][id 8][point 8][updateMillis 8][crc 4][padding 4]
+    static final int WAL_RECORD_SIZE = 40;
+    private static final int WAL_CRC_OFFSET = 32;
+
+    // 스냅샷: [magic 4][lsn 8] + [id 8][point 8][updateMillis 8] * count + [count 8][crc 4]
+    private static final int SNAPSHOT_MAGIC = 0x50545331;
+    private static final int SNAPSHOT_HEADER_SIZE = 12;
+    private static final int SNAPSHOT_TRAILER_SIZE = 12;
+    private static final int SNAPSHOT_ENTRY_SIZE = 24;
+
+    // 스냅샷 시 한 번에 읽는 슬롯 수 (이 동안만 저장이 대기)
+    private static final int SNAPSHOT_SCAN_SLOTS = 4096;
+
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long walSegmentSize;
+    private final boolean sync;
+
+    private final LongPointStore store;
+
+    // 조회는 동시에, 저장과 스냅샷 읽기는 단독으로
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    // WAL 쓰기와 메모리 반영을 lsn 순서대로 직렬화 (walLock -> storeLock 순서로 획득)
+    private final Lock walLock = new ReentrantLock();
+    private final ByteBuffer walRecord = ByteBuffer.allocate(WAL_RECORD_SIZE);
+    private final CRC32C walCrc = new CRC32C();
+    private FileChannel wal;
+    private long nextLsn;
+
+    // 마지막으로 WAL 세그먼트를 교체할 때의 lsn (교체 전 세그먼트는 디스크에 반영된 상태)
+    private long rolledLsn;
+
+    // 동시에 하나의 스냅샷만
+    private final Lock snapshotLock = new ReentrantLock();
+
+    private volatile boolean running = true;
+    private final GroupCommitter groupCommitter;
+    private final ScheduledExecutorService snapshotScheduler;
+
+    private final Timer selectTimer;
+    private final Timer upsertTimer;
+    private final Timer compareAndSetTimer;
+    private final Timer snapshotTimer;
+
+    public DurableUserPointRepository(
+            @Value("${point.durable-store.directory:data/points}") Path directory,
+            @Value("${point.durable-store.initial-capacity:1024}") int initialCapacity,
+            @Value("${point.durable-store.wal-segment-size-bytes:268435456}") long walSegmentSize,
+            @Value("${point.durable-store.snapshot-interval-millis:60000}") long snapshotIntervalMillis,
+            @Value("${point.durable-store.force-interval-millis:10}") long forceIntervalMillis,
+            @Value("${point.durable-store.sync:true}") boolean sync,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.directory = directory;
+        this.walSegmentSize = walSegmentSize;
+        this.sync = sync;
+
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "findById");
+        this.upsertTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "upsert");
+        this.compareAndSetTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "compareAndSet");
+        this.snapshotTimer = Timer.builder("point.store.snapshot")
+                .description("유저 포인트 스냅샷 저장 시간")
+                .register(meterRegistry);
+
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        this.store = recover(initialCapacity);
+        log.info("유저 포인트 복구 완료: {} 명, lsn {}, {}ms",
+                store.size(), nextLsn, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        this.groupCommitter = new GroupCommitter("point-wal-flusher", forceIntervalMillis, nextLsn, this::force);
+
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (snapshotIntervalMillis > 0) {
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint findById(Long id) {
+        return selectTimer.record(() -> {
+            storeLock.readLock().lock();
+            try {
+                UserPoint userPoint = store.find(id);
+                return userPoint != null ? UserPointVersions.versioned(userPoint) : UserPoint.empty(id);
+            } finally {
+                storeLock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public UserPoint upsert(Long id, Long amount) {
+        return upsertTimer.record(() -> write(id, UserPointVersions.ANY_VERSION, amount));
+    }
+
+    @Override
+    public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+        return compareAndSetTimer.record(() -> write(id, expectedVersion, amount));
+    }
+
+    public int size() {
+        storeLock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 포인트를 스냅샷으로 저장하고, 스냅샷에 포함된 WAL 과 이전 스냅샷을 삭제
+     * - 시작 시점의 lsn 으로 WAL 세그먼트를 교체한 뒤 저장소를 나누어 읽는다.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long started = System.nanoTime();
+            long lsn;
+            walLock.lock();
+            try {
+                lsn = nextLsn;
+                rollWal();
+            } finally {
+                walLock.unlock();
+            }
+
+            Path temp = directory.resolve(fileName(SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX + ".tmp"));
+            while (!writeSnapshot(temp, lsn)) {
+                // 읽는 도중 저장소가 재배치되면 처음부터 다시 읽음
+                log.debug("유저 포인트 스냅샷 도중 재배치되어 다시 저장");
+            }
+            Files.move(temp, directory.resolve(fileName(SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX)),
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            deleteBefore(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, lsn);
+            deleteBefore(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX + ".tmp", lsn);
+            deleteBefore(WAL_PREFIX, WAL_SUFFIX, lsn);
+            snapshotTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        walLock.lock();
+        try {
+            running = false;
+        } finally {
+            walLock.unlock();
+        }
+
+        snapshotScheduler.shutdown();
+        snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+        groupCommitter.close();
+
+        walLock.lock();
+        try {
+            wal.close();
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    // 버전이 다르면 WAL 에 쓰지 않고 null 반환
+    private UserPoint write(long id, long expectedVersion, long amount) {
+        long updateMillis;
+        long lsn;
+
+        walLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("유저 포인트 저장소가 닫혔습니다.");
+            }
+            // 저장소는 walLock 을 잡은 스레드만 바꾸므로 읽기 락 없이 조회
+            long version = UserPointVersions.versionOf(store.find(id));
+            if (expectedVersion != UserPointVersions.ANY_VERSION && expectedVersion != version) {
+                return null;
+            }
+            updateMillis = UserPointVersions.nextUpdateMillis(version);
+            lsn = appendWal(id, amount, updateMillis);
+
+            storeLock.writeLock().lock();
+            try {
+                store.put(id, amount, updateMillis);
+            } finally {
+                storeLock.writeLock().unlock();
+            }
+        } finally {
+            walLock.unlock();
+        }
+
+        if (sync) {
+            groupCommitter.awaitDurable(lsn + 1);
+        }
+        return new UserPoint(id, amount, updateMillis, updateMillis);
+    }
+
+    // 가장 최근의 유효한 스냅샷을 읽고 이후 WAL 을 다시 적용
+    private LongPointStore recover(int initialCapacity) throws IOException {
+        LongPointStore recovered = null;
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            try {
+                recovered = loadSnapshot(path, initialCapacity);
+                break;
+            } catch (IOException | IllegalStateException e) {
+                log.warn("유저 포인트 스냅샷 복구 실패, 이전 스냅샷 사용: {}", path, e);
+            }
+        }
+        if (recovered == null) {
+            recovered = new LongPointStore(initialCapacity, false);
+        }
+
+        List<Path> segments = list(WAL_PREFIX, WAL_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            if (!replayWal(segments.get(i), recovered)) {
+                // 끊긴 위치 뒤에 있는 세그먼트는 이어지지 않으므로 삭제
+                for (Path orphan : segments.subList(i + 1, segments.size())) {
+                    log.warn("유저 포인트 WAL 복구: 이어지지 않는 세그먼트 삭제 {}", orphan);
+                    Files.delete(orphan);
+                }
+                segments = segments.subList(0, i + 1);
+                break;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            wal = FileChannel.open(directory.resolve(fileName(WAL_PREFIX, nextLsn, WAL_SUFFIX)),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } else {
+            wal = FileChannel.open(segments.get(segments.size() - 1), StandardOpenOption.WRITE);
+            wal.position(wal.size());
+        }
+        rolledLsn = nextLsn;
+        return recovered;
+    }
+
+    private LongPointStore loadSnapshot(Path path, int initialCapacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SNAPSHOT_HEADER_SIZE + SNAPSHOT_TRAILER_SIZE
+                    || (size - SNAPSHOT_HEADER_SIZE - SNAPSHOT_TRAILER_SIZE) % SNAPSHOT_ENTRY_SIZE != 0) {
+                throw new IllegalStateException("스냅샷 크기가 올바르지 않습니다.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, (int) size - Integer.BYTES));
+            long count = (size - SNAPSHOT_HEADER_SIZE - SNAPSHOT_TRAILER_SIZE) / SNAPSHOT_ENTRY_SIZE;
+            if (buffer.getInt(0) != SNAPSHOT_MAGIC
+                    || buffer.getLong((int) size - SNAPSHOT_TRAILER_SIZE) != count
+                    || buffer.getInt((int) size - Integer.BYTES) != (int) crc.getValue()) {
+                throw new IllegalStateException("스냅샷이 손상되었습니다.");
+            }
+
+            LongPointStore loaded = new LongPointStore((int) Math.max(initialCapacity, count), false);
+            for (int offset = SNAPSHOT_HEADER_SIZE; offset < size - SNAPSHOT_TRAILER_SIZE; offset += SNAPSHOT_ENTRY_SIZE) {
+                loaded.put(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+            }
+            nextLsn = buffer.getLong(4);
+            return loaded;
+        }
+    }
+
+    /**
+     * WAL 세그먼트를 다시 적용, 손상된 레코드(중간에 끊긴 쓰기)를 만나면 그 위치부터 잘라내고 false
+     * - lsn 이 이어지지 않으면 스냅샷과 WAL 사이에 빠진 기록이 있으므로 시작하지 않는다.
+     */
+    private boolean replayWal(Path path, LongPointStore target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+
+            int position = 0;
+            for (; position + WAL_RECORD_SIZE <= size; position += WAL_RECORD_SIZE) {
+                crc.reset();
+                crc.update(buffer.slice(position, WAL_CRC_OFFSET));
+                if (buffer.getInt(position + WAL_CRC_OFFSET) != (int) crc.getValue()) {
+                    break;
+                }
+                long lsn = buffer.getLong(position);
+                if (lsn > nextLsn) {
+                    throw new IllegalStateException("WAL 이 이어지지 않습니다. " + path + " lsn " + lsn + ", 기대한 lsn " + nextLsn);
+                }
+                // 스냅샷에 이미 포함된 레코드는 건너뜀
+                if (lsn == nextLsn) {
+                    target.put(buffer.getLong(position + 8), buffer.getLong(position + 16), buffer.getLong(position + 24));
+                    nextLsn++;
+                }
+            }
+
+            if (position < size) {
+                log.warn("유저 포인트 WAL 복구: {} 의 {} 번째 바이트부터 손상된 레코드 제거", path, position);
+                channel.truncate(position);
+                channel.force(true);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    // 호출하는 쪽에서 walLock 을 잡은 상태
+    private long appendWal(long id, long point, long updateMillis) {
+        long lsn = nextLsn;
+        walRecord.clear();
+        walRecord.putLong(lsn).putLong(id).putLong(point).putLong(updateMillis);
+        walCrc.reset();
+        walCrc.update(walRecord.array(), 0, WAL_CRC_OFFSET);
+        walRecord.putInt((int) walCrc.getValue()).putInt(0);
+        walRecord.flip();
+
+        try {
+            if (wal.position() + WAL_RECORD_SIZE > walSegmentSize) {
+                rollWal();
+            }
+            long position = wal.position();
+            try {
+                while (walRecord.hasRemaining()) {
+                    wal.write(walRecord);
+                }
+            } catch (IOException e) {
+                // 일부만 쓴 레코드를 남기지 않도록 되돌림
+                wal.truncate(position);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return nextLsn++;
+    }
+
+    // 현재 세그먼트를 디스크에 반영하고 닫은 뒤 nextLsn 부터 시작하는 새 세그먼트 생성, 호출하는 쪽에서 walLock 을 잡은 상태
+    private void rollWal() throws IOException {
+        wal.force(false);
+        wal.close();
+        Path path = directory.resolve(fileName(WAL_PREFIX, nextLsn, WAL_SUFFIX));
+        wal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        wal.position(wal.size());
+        rolledLsn = nextLsn;
+    }
+
+    // 지금까지 쓴 WAL 을 디스크에 반영하고 반영된 lsn 을 반환
+    private long force() throws IOException {
+        long target;
+        long rolled;
+        FileChannel channel;
+        walLock.lock();
+        try {
+            target = nextLsn;
+            rolled = rolledLsn;
+            channel = wal;
+        } finally {
+            walLock.unlock();
+        }
+
+        try {
+            channel.force(false);
+            return target;
+        } catch (ClosedChannelException e) {
+            // 그 사이 세그먼트가 교체됨, 교체 전까지는 반영된 상태
+            return rolled;
+        }
+    }
+
+    // 스냅샷을 임시 파일에 저장, 도중에 저장소가 재배치되면 false
+    private boolean writeSnapshot(Path temp, long lsn) throws IOException {
+        long[] chunk = new long[(SNAPSHOT_SCAN_SLOTS + 1) * 3];
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = Channels.newOutputStream(channel);
+            CheckedOutputStream checked = new CheckedOutputStream(file, new CRC32C());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(lsn);
+
+            int generation = -1;
+            for (int slot = 0; ; slot += SNAPSHOT_SCAN_SLOTS) {
+                int copied;
+                storeLock.readLock().lock();
+                try {
+                    if (generation == -1) {
+                        generation = store.generation();
+                    } else if (generation != store.generation()) {
+                        return false;
+                    }
+                    if (slot >= store.capacity()) {
+                        break;
+                    }
+                    copied = store.copy(slot, SNAPSHOT_SCAN_SLOTS, chunk);
+                } finally {
+                    storeLock.readLock().unlock();
+                }
+
+                for (int i = 0; i < copied * 3; i++) {
+                    out.writeLong(chunk[i]);
+                }
+                count += copied;
+            }
+
+            out.writeLong(count);
+            out.flush();
+            new DataOutputStream(file).writeInt((int) checked.getChecksum().getValue());
+            channel.force(true);
+        }
+        return true;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("유저 포인트 스냅샷 저장 실패", e);
+        }
+    }
+
+    // 파일 이름의 lsn 이 before 보다 작은 파일 삭제
+    private void deleteBefore(String prefix, String suffix, long before) throws IOException {
+        for (Path path : list(prefix, suffix)) {
+            if (lsnOf(path, prefix, suffix) < before) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // lsn 순으로 정렬된 파일 목록
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long lsnOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static String fileName(String prefix, long lsn, String suffix) {
+        return String.format("%s%020d%s", prefix, lsn, suffix);
+    }
+}
@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로그 파일 group commit
+ * - 백그라운드 스레드가 intervalMillis 마다 지금까지 쓴 내용을 한 번에 디스크에 반영(fsync)한다.
+ * - 쓰기 요청은 awaitDurable 로 자신이 쓴 위치가 반영될 때까지 기다리므로, 동시에 들어온 요청은 fsync 한 번을 공유한다.
+ * - 반영이 연속으로 MAX_FAILED_FORCES 번 실패하거나 awaitTimeoutMillis 안에 반영되지 않으면, 기다리던 쓰기는 무한히 재시도하지 않고 실패한다.
+ * - 닫을 때는 마지막으로 한 번 더 반영한 뒤 기다리던 쓰기를 깨우고, 그래도 반영되지 않은 쓰기는 실패한다.
+ * - 백그라운드 스레드는 interrupt 로 깨우지 않는다. (FileChannel 에 반영하는 중 interrupt 되면 채널이 닫히므로)
+ */
+final class GroupCommitter {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitter.class);
+
+    static final int MAX_FAILED_FORCES = 3;
+    private static final long DEFAULT_AWAIT_TIMEOUT_MILLIS = 5_000L;
+
+    /**
+     * 지금까지 쓴 내용을 디스크에 반영하고, 반영된 마지막 순번을 반환
+     */
+    @FunctionalInterface
+    interface Syncer {
+        long sync() throws IOException;
+    }
+
+    private final Syncer syncer;
+    private final long intervalNanos;
+    private final long awaitTimeoutMillis;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition durableCondition = lock.newCondition();
+    private long durable;
+    // 연속으로 실패한 반영 횟수와 마지막 실패 원인, 반영에 성공하면 초기화
+    private int failedForces;
+    private Exception lastFailure;
+    // 마지막 반영까지 끝나고 닫힘
+    private boolean closed;
+
+    private volatile boolean running = true;
+    private final Thread thread;
+
+    GroupCommitter(String name, long intervalMillis, long durable, Syncer syncer) {
+        this(name, intervalMillis, DEFAULT_AWAIT_TIMEOUT_MILLIS, durable, syncer);
+    }
+
+    GroupCommitter(String name, long intervalMillis, long awaitTimeoutMillis, long durable, Syncer syncer) {
+        this.syncer = syncer;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.durable = durable;
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * sequence 까지 디스크에 반영될 때까지 대기
+     * - 반영이 연속으로 MAX_FAILED_FORCES 번 실패하거나, awaitTimeoutMillis 가 지나거나, 반영되지 않은 채 닫히면 UncheckedIOException
+     * - 실패해도 이미 쓴 내용은 로그에 남아 있으므로, 이후 반영되면 재시작 후 복구될 수 있다.
+     */
+    void awaitDurable(long sequence) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(awaitTimeoutMillis);
+        lock.lock();
+        try {
+            while (durable < sequence) {
+                if (failedForces >= MAX_FAILED_FORCES) {
+                    throw new UncheckedIOException(new IOException("디스크 반영이 " + failedForces + "번 연속 실패했습니다.", lastFailure));
+                }
+                if (closed) {
+                    throw new UncheckedIOException(new IOException("디스크에 반영되기 전에 닫혔습니다."));
+                }
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    throw new UncheckedIOException(new IOException(awaitTimeoutMillis + "ms 안에 디스크에 반영되지 않았습니다."));
+                }
+                durableCondition.awaitNanos(Math.min(remainingNanos, intervalNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("디스크 반영을 기다리는 중 중단되었습니다."));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 백그라운드 스레드를 멈추고 남은 내용을 반영한 뒤, 기다리던 쓰기를 깨움
+    void close() throws IOException, InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        try {
+            sync();
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                durableCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (!running) {
+                return;
+            }
+            try {
+                sync();
+            } catch (IOException | RuntimeException e) {
+                log.error("{} 디스크 반영 실패", thread.getName(), e);
+            }
+        }
+    }
+
+    private void sync() throws IOException {
+        long synced;
+        try {
+            synced = syncer.sync();
+        } catch (IOException | RuntimeException e) {
+            lock.lock();
+            try {
+                failedForces++;
+                lastFailure = e;
+                durableCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            failedForces = 0;
+            lastFailure = null;
+            if (synced > durable) {
+                durable = synced;
+                durableCondition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * 유저 ID -> (포인트, 수정 시각) 을 long 배열 하나에 저장하는 open addressing 해시 테이블
+ * - 슬롯 하나는 [id, point, updateMillis] 3개의 long 으로, 박싱된 키/값 객체나 엔트리 객체를 만들지 않는다.
+ * - 충돌은 선형 탐사로 해결하고, 삭제는 지원하지 않는다.
+ * - direct = true 이면 힙 밖(direct buffer)에 저장하여 GC 대상에서 제외한다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+public class LongPointStore {
+
+    private static final int SLOT_LONGS = 3;
+    private static final int POINT_OFFSET = 1;
+    private static final int MILLIS_OFFSET = 2;
+
+    // 빈 슬롯 표시, 이 값을 ID 로 쓰는 유저는 별도 필드에 저장
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // 하나의 버퍼에 담을 수 있는 최대 슬롯 수 (2^26 * 24 바이트 < 2GB)
+    private static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    private static final double LOAD_FACTOR = 0.75;
+
+    // 피보나치 해싱, 연속된 ID 도 테이블 전체에 고르게 퍼짐
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final boolean direct;
+
+    private LongBuffer slots;
+    private int capacity;
+    private int shift;
+    private int threshold;
+    private int size;
+
+    // 재배치할 때마다 증가, 나누어 훑는 도중 재배치되었는지 확인하는 용도
+    private int generation;
+
+    private boolean hasEmptyKey;
+    private long emptyKeyPoint;
+    private long emptyKeyMillis;
+
+    public LongPointStore(int initialCapacity, boolean direct) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("초기 용량은 1 이상이어야 합니다.");
+        }
+        this.direct = direct;
+
+        int capacity = 2;
+        while (capacity < initialCapacity / LOAD_FACTOR && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    // 저장된 값이 없으면 null
+    public UserPoint find(long id) {
+        if (id == EMPTY) {
+            return hasEmptyKey ? new UserPoint(id, emptyKeyPoint, emptyKeyMillis) : null;
+        }
+
+        int index = indexOf(id);
+        while (true) {
+            long key = slots.get(index);
+            if (key == id) {
+                return new UserPoint(id, slots.get(index + POINT_OFFSET), slots.get(index + MILLIS_OFFSET));
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+            index = next(index);
+        }
+    }
+
+    public void put(long id, long point, long updateMillis) {
+        if (id == EMPTY) {
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            emptyKeyPoint = point;
+            emptyKeyMillis = updateMillis;
+            return;
+        }
+
+        int index = indexOf(id);
+        while (true) {
+            long key = slots.get(index);
+            if (key == id) {
+                break;
+            }
+            if (key == EMPTY) {
+                if (size >= threshold) {
+                    grow();
+                    put(id, point, updateMillis);
+                    return;
+                }
+                slots.put(index, id);
+                size++;
+                break;
+            }
+            index = next(index);
+        }
+        slots.put(index + POINT_OFFSET, point);
+        slots.put(index + MILLIS_OFFSET, updateMillis);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // 슬롯 버퍼가 차지하는 바이트 수
+    public long memoryBytes() {
+        return (long) capacity * SLOT_LONGS * Long.BYTES;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    /**
+     * fromSlot 부터 slotCount 개의 슬롯에 있는 유저를 [id, point, updateMillis] 순으로 out 에 복사하고 복사한 유저 수를 반환
+     * - 빈 슬롯 표시값과 같은 ID 의 유저는 fromSlot 이 0 일 때 함께 복사한다.
+     * - out 은 (slotCount + 1) * 3 이상의 크기여야 한다.
+     */
+    public int copy(int fromSlot, int slotCount, long[] out) {
+        int count = 0;
+        if (fromSlot == 0 && hasEmptyKey) {
+            out[0] = EMPTY;
+            out[1] = emptyKeyPoint;
+            out[2] = emptyKeyMillis;
+            count++;
+        }
+
+        int end = Math.min(capacity, fromSlot + slotCount) * SLOT_LONGS;
+        for (int i = fromSlot * SLOT_LONGS; i < end; i += SLOT_LONGS) {
+            long key = slots.get(i);
+            if (key == EMPTY) {
+                continue;
+            }
+            int offset = count * SLOT_LONGS;
+            out[offset] = key;
+            out[offset + POINT_OFFSET] = slots.get(i + POINT_OFFSET);
+            out[offset + MILLIS_OFFSET] = slots.get(i + MILLIS_OFFSET);
+            count++;
+        }
+        return count;
+    }
+
+    private void allocate(int capacity) {
+        int longs = capacity * SLOT_LONGS;
+        LongBuffer buffer = direct
+                ? ByteBuffer.allocateDirect(longs * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                : LongBuffer.allocate(longs);
+        for (int i = 0; i < longs; i += SLOT_LONGS) {
+            buffer.put(i, EMPTY);
+        }
+
+        this.slots = buffer;
+        this.capacity = capacity;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void grow() {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("저장 가능한 최대 유저 수를 넘어섰습니다.");
+        }
+
+        LongBuffer old = slots;
+        int oldLongs = capacity * SLOT_LONGS;
+        allocate(capacity << 1);
+        generation++;
+
+        // 빈 키 유저는 별도 필드에 있으므로 그대로 두고 슬롯만 다시 배치
+        for (int i = 0; i < oldLongs; i += SLOT_LONGS) {
+            long key = old.get(i);
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = indexOf(key);
+            while (slots.get(index) != EMPTY) {
+                index = next(index);
+            }
+            slots.put(index, key);
+            slots.put(index + POINT_OFFSET, old.get(i + POINT_OFFSET));
+            slots.put(index + MILLIS_OFFSET, old.get(i + MILLIS_OFFSET));
+        }
+    }
+
+    private int indexOf(long id) {
+        return (int) ((id * GOLDEN_RATIO) >>> shift) * SLOT_LONGS;
+    }
+
+    private int next(int index) {
+        index += SLOT_LONGS;
+        return index == capacity * SLOT_LONGS ? 0 : index;
+    }
+}
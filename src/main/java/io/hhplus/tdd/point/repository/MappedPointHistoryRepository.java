@@ -0,0 +1,397 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 맵 파일 기반 포인트 히스토리 저장소 (mapped-history 프로필)
+ * - 히스토리를 고정 길이(40 바이트) 레코드로 세그먼트 파일 끝에 이어 쓰고, 세그먼트가 가득 차면 새 파일을 만든다.
+ * - 레코드는 메모리 맵에 쓰고 즉시 반환하며, 백그라운드 스레드가 force-interval-millis 마다 모아서 디스크에 반영한다. (group commit)
+ * - sync = true 이면 적재한 레코드가 디스크에 반영될 때까지 기다린 뒤 반환한다.
+ * - 시작 시 모든 세그먼트를 읽어 인덱스(유저별 합계 포함)를 복구하고, CRC 가 맞지 않는 레코드(중간에 끊긴 쓰기)부터는 버린다.
+ */
+@Repository
+@Profile("mapped-history")
+@Qualifier("pointHistoryStore")
+public class MappedPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryRepository.class);
+
+    // [id 8][userId 8][amount 8][updateMillis 8][type 4][crc 4]
+    static final int RECORD_SIZE = 40;
+    private static final int CRC_OFFSET = 36;
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+
+    private final PointHistoryIndex index = new PointHistoryIndex();
+
+    // 적재와 인덱스 조회를 직렬화
+    private final Lock appendLock = new ReentrantLock();
+
+    private final Timer findAllTimer;
+    private final Timer findBetweenTimer;
+    private final Timer findPageTimer;
+    private final Timer summarizeTimer;
+    private final Timer summarizeDailyTimer;
+    private final Timer insertTimer;
+
+    private Segment active;
+    private long nextId = 1;
+
+    // 메모리 맵에 쓴 레코드 수
+    private long written;
+
+    // 디스크에 반영된 레코드 수 (group commit 스레드와 종료 시에만 접근)
+    private long synced;
+
+    private volatile boolean running = true;
+    private final GroupCommitter groupCommitter;
+
+    public MappedPointHistoryRepository(
+            @Value("${point.history.log.directory:data/history}") Path directory,
+            @Value("${point.history.log.segment-size-bytes:67108864}") int segmentSize,
+            @Value("${point.history.log.force-interval-millis:10}") long forceIntervalMillis,
+            @Value("${point.history.log.sync:true}") boolean sync,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("세그먼트 크기는 레코드 크기(" + RECORD_SIZE + ") 이상이어야 합니다.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize / RECORD_SIZE * RECORD_SIZE;
+        this.sync = sync;
+
+        this.findAllTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findAllById");
+        this.findBetweenTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findAllByIdBetween");
+        this.findPageTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findPageById");
+        this.summarizeTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "summarize");
+        this.summarizeDailyTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "summarizeDaily");
+        this.insertTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "insertPointHistory");
+
+        Files.createDirectories(directory);
+        recover();
+        this.synced = written;
+
+        Gauge.builder("point.history.rows", this, MappedPointHistoryRepository::rows)
+                .description("적재된 포인트 히스토리 수")
+                .register(meterRegistry);
+
+        this.groupCommitter = new GroupCommitter("point-history-log-flusher", forceIntervalMillis, written, this::force);
+    }
+
+    @Override
+    public List<PointHistory> findAllById(Long id) {
+        appendLock.lock();
+        try {
+            return findAllTimer.record(() -> index.findAll(id));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByIdBetween(Long id, long from, long to) {
+        appendLock.lock();
+        try {
+            return findBetweenTimer.record(() -> index.findBetween(id, from, to));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findPageById(Long id, HistoryCursor cursor, int limit, HistoryOrder order) {
+        appendLock.lock();
+        try {
+            return findPageTimer.record(() -> index.findPage(id, cursor, limit, order));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public PointSummary summarize(Long id) {
+        appendLock.lock();
+        try {
+            return summarizeTimer.record(() -> index.summary(id));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<DailyPointSummary> summarizeDaily(Long id, LocalDate from, LocalDate to) {
+        appendLock.lock();
+        try {
+            return summarizeDailyTimer.record(() -> index.daily(id, from, to));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+        return insertTimer.record(() -> {
+            PointHistory pointHistory;
+            long sequence;
+
+            appendLock.lock();
+            try {
+                if (!running) {
+                    throw new IllegalStateException("포인트 히스토리 로그가 닫혔습니다.");
+                }
+                if (active == null || active.isFull()) {
+                    roll();
+                }
+                pointHistory = new PointHistory(nextId++, id, amount, type, updateMillis);
+                active.append(pointHistory);
+                index.add(pointHistory);
+                sequence = ++written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                appendLock.unlock();
+            }
+
+            if (sync) {
+                groupCommitter.awaitDurable(sequence);
+            }
+            return pointHistory;
+        });
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        groupCommitter.close();
+
+        appendLock.lock();
+        try {
+            if (active != null) {
+                active.close();
+                active = null;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long rows() {
+        appendLock.lock();
+        try {
+            return index.size();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // 세그먼트를 순서대로 읽어 인덱스 복구, 유효하지 않은 레코드부터는 버림
+    private void recover() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = Segment.open(segments.get(i));
+            boolean complete = replay(segment);
+
+            if (!complete || !segment.isFull()) {
+                // 끊긴 위치 뒤에 있는 세그먼트는 이어지지 않으므로 삭제
+                for (Path orphan : segments.subList(i + 1, segments.size())) {
+                    log.warn("포인트 히스토리 로그 복구: 이어지지 않는 세그먼트 삭제 {}", orphan);
+                    Files.delete(orphan);
+                }
+                active = segment;
+                return;
+            }
+            segment.close();
+        }
+    }
+
+    // 세그먼트의 레코드를 인덱스에 추가, 끝까지 유효하면 true
+    private boolean replay(Segment segment) {
+        while (!segment.isFull()) {
+            PointHistory pointHistory = segment.read();
+            if (pointHistory == null || pointHistory.id() != nextId) {
+                if (!segment.isEmptyFromPosition()) {
+                    log.warn("포인트 히스토리 로그 복구: {} 의 {} 번째 바이트부터 손상된 레코드 제거",
+                            segment.path, segment.position);
+                    segment.truncate();
+                }
+                return false;
+            }
+            index.add(pointHistory);
+            nextId++;
+            written++;
+            segment.position += RECORD_SIZE;
+        }
+        return true;
+    }
+
+    // 가득 찬 세그먼트는 디스크에 반영하고 닫은 뒤 새 세그먼트 생성
+    private void roll() throws IOException {
+        if (active != null) {
+            active.force();
+            active.close();
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextId, SEGMENT_SUFFIX));
+        active = Segment.create(path, segmentSize);
+    }
+
+    // 지금까지 쓴 레코드를 디스크에 반영하고 반영된 레코드 수를 반환
+    private long force() {
+        long target;
+        Segment segment;
+        appendLock.lock();
+        try {
+            target = written;
+            segment = active;
+        } finally {
+            appendLock.unlock();
+        }
+
+        // 이전 세그먼트는 교체될 때 이미 반영됨
+        if (target > synced && segment != null) {
+            segment.force();
+            synced = target;
+        }
+        return synced;
+    }
+
+    // 메모리 맵으로 연 세그먼트 파일, 호출하는 쪽에서 동기화
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final CRC32C crc = new CRC32C();
+
+        private int position;
+
+        private Segment(Path path, FileChannel channel, int size) throws IOException {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        static Segment create(Path path, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, channel, size);
+        }
+
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int size = (int) (channel.size() / RECORD_SIZE * RECORD_SIZE);
+            return new Segment(path, channel, size);
+        }
+
+        boolean isFull() {
+            return position + RECORD_SIZE > buffer.capacity();
+        }
+
+        void append(PointHistory pointHistory) {
+            buffer.putLong(position, pointHistory.id());
+            buffer.putLong(position + 8, pointHistory.userId());
+            buffer.putLong(position + 16, pointHistory.amount());
+            buffer.putLong(position + 24, pointHistory.updateMillis());
+            buffer.putInt(position + 32, pointHistory.type().ordinal());
+            buffer.putInt(position + CRC_OFFSET, checksum(position));
+            position += RECORD_SIZE;
+        }
+
+        // 현재 위치의 레코드, 비어 있거나 CRC 가 맞지 않으면 null
+        PointHistory read() {
+            long id = buffer.getLong(position);
+            int type = buffer.getInt(position + 32);
+            if (id == 0L || type < 0 || type >= TYPES.length || buffer.getInt(position + CRC_OFFSET) != checksum(position)) {
+                return null;
+            }
+            return new PointHistory(
+                    id,
+                    buffer.getLong(position + 8),
+                    buffer.getLong(position + 16),
+                    TYPES[type],
+                    buffer.getLong(position + 24)
+            );
+        }
+
+        boolean isEmptyFromPosition() {
+            for (int i = position; i < buffer.capacity(); i += Long.BYTES) {
+                if (buffer.getLong(i) != 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 현재 위치부터 끝까지 0 으로 채우고 디스크에 반영
+        void truncate() {
+            for (int i = position; i < buffer.capacity(); i += Long.BYTES) {
+                if (buffer.getLong(i) != 0L) {
+                    buffer.putLong(i, 0L);
+                }
+            }
+            buffer.force();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        private int checksum(int offset) {
+            crc.reset();
+            crc.update(buffer.slice(offset, CRC_OFFSET));
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저별 포인트 히스토리 인덱스
+ * - 유저별 히스토리를 (updateMillis, id) 순으로 정렬하여 보관한다.
+ * - 유저별 조회는 해당 유저의 히스토리 수에만 비례하고, 기간 조회와 페이지 조회는 이진 탐색으로 범위를 찾는다.
+ * - 추가할 때 유저별 누적/일별 합계도 함께 갱신한다. (PointHistoryRollup)
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+public class PointHistoryIndex {
+
+    private final Map<Long, List<PointHistory>> histories = new HashMap<>();
+    private final PointHistoryRollup rollup = new PointHistoryRollup();
+    private long size;
+
+    public void add(PointHistory pointHistory) {
+        List<PointHistory> userHistories = histories.computeIfAbsent(pointHistory.userId(), id -> new ArrayList<>());
+
+        // 대부분 시간 순으로 들어오므로 끝에 추가, 순서가 뒤바뀐 경우만 이진 탐색으로 위치를 찾아 삽입
+        if (userHistories.isEmpty() || compare(userHistories.get(userHistories.size() - 1), pointHistory) <= 0) {
+            userHistories.add(pointHistory);
+        } else {
+            userHistories.add(upperBound(userHistories, HistoryCursor.of(pointHistory)), pointHistory);
+        }
+        rollup.add(pointHistory);
+        size++;
+    }
+
+    public List<PointHistory> findAll(long userId) {
+        List<PointHistory> userHistories = histories.get(userId);
+        return userHistories == null ? List.of() : List.copyOf(userHistories);
+    }
+
+    // from <= updateMillis <= to 인 히스토리 조회
+    public List<PointHistory> findBetween(long userId, long from, long to) {
+        List<PointHistory> userHistories = histories.get(userId);
+        if (userHistories == null || from > to) {
+            return List.of();
+        }
+
+        int start = firstAtOrAfter(userHistories, from);
+        int end = to == Long.MAX_VALUE ? userHistories.size() : firstAtOrAfter(userHistories, to + 1);
+        return List.copyOf(userHistories.subList(start, end));
+    }
+
+    // 커서 다음부터 limit 개 조회, 커서가 없으면 처음(또는 최신)부터
+    public List<PointHistory> findPage(long userId, HistoryCursor cursor, int limit, HistoryOrder order) {
+        List<PointHistory> userHistories = histories.get(userId);
+        if (userHistories == null || limit <= 0) {
+            return List.of();
+        }
+
+        if (order == HistoryOrder.OLDEST) {
+            int start = cursor == null ? 0 : upperBound(userHistories, cursor);
+            int end = (int) Math.min((long) start + limit, userHistories.size());
+            return List.copyOf(userHistories.subList(start, end));
+        }
+
+        // 최신순: 커서보다 앞에 있는 히스토리를 뒤에서부터 limit 개
+        int end = cursor == null ? userHistories.size() : lowerBound(userHistories, cursor);
+        int start = Math.max(0, end - limit);
+        List<PointHistory> page = new ArrayList<>(userHistories.subList(start, end));
+        Collections.reverse(page);
+        return Collections.unmodifiableList(page);
+    }
+
+    public PointSummary summary(long userId) {
+        return rollup.summary(userId);
+    }
+
+    public List<DailyPointSummary> daily(long userId, LocalDate from, LocalDate to) {
+        return rollup.daily(userId, from, to);
+    }
+
+    public int userCount() {
+        return histories.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // updateMillis 가 millis 이상인 첫 번째 위치
+    private static int firstAtOrAfter(List<PointHistory> userHistories, long millis) {
+        int low = 0;
+        int high = userHistories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (userHistories.get(mid).updateMillis() < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // key 이상인 첫 번째 위치
+    private static int lowerBound(List<PointHistory> userHistories, HistoryCursor key) {
+        int low = 0;
+        int high = userHistories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.compareTo(userHistories.get(mid)) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // key 보다 큰 첫 번째 위치 (같은 값이 있으면 그 뒤)
+    private static int upperBound(List<PointHistory> userHistories, HistoryCursor key) {
+        int low = 0;
+        int high = userHistories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.compareTo(userHistories.get(mid)) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(PointHistory a, PointHistory b) {
+        int result = Long.compare(a.updateMillis(), b.updateMillis());
+        return result != 0 ? result : Long.compare(a.id(), b.id());
+    }
+}
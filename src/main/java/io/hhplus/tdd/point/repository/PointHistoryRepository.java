@@ -1,9 +1,15 @@
 package io.hhplus.tdd.point.repository;
 
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
 import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 
 @Repository
@@ -11,6 +17,38 @@ public interface PointHistoryRepository {
 
     List<PointHistory> findAllById(Long id);
 
+    // from <= updateMillis <= to 인 히스토리 조회, 인덱스가 없는 구현은 전체 조회 후 필터링
+    default List<PointHistory> findAllByIdBetween(Long id, long from, long to) {
+        return findAllById(id).stream()
+                .filter(pointHistory -> from <= pointHistory.updateMillis() && pointHistory.updateMillis() <= to)
+                .toList();
+    }
+
+    // 커서 다음부터 limit 개 조회, 인덱스가 없는 구현은 전체 조회 후 정렬
+    default List<PointHistory> findPageById(Long id, HistoryCursor cursor, int limit, HistoryOrder order) {
+        Comparator<PointHistory> comparator = Comparator.comparingLong(PointHistory::updateMillis)
+                .thenComparingLong(PointHistory::id);
+        boolean newest = order == HistoryOrder.NEWEST;
+
+        return findAllById(id).stream()
+                .filter(pointHistory -> cursor == null
+                        || (newest ? cursor.compareTo(pointHistory) > 0 : cursor.compareTo(pointHistory) < 0))
+                .sorted(newest ? comparator.reversed() : comparator)
+                .limit(limit)
+                .toList();
+    }
+
+    // 유저별 누적 충전/사용 합계, 집계가 없는 구현은 전체 조회 후 합산
+    default PointSummary summarize(Long id) {
+        return PointHistoryRollup.of(findAllById(id)).summary(id);
+    }
+
+    // from ~ to (UTC, 포함) 일별 충전/사용 합계, 내역이 있는 날만 날짜순으로 반환
+    default List<DailyPointSummary> summarizeDaily(Long id, LocalDate from, LocalDate to) {
+        return PointHistoryRollup.of(findAllByIdBetween(id, PointHistoryRollup.startOf(from), PointHistoryRollup.endOf(to)))
+                .daily(id, from, to);
+    }
+
     PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis);
 
 }
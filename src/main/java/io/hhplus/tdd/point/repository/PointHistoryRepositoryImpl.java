@@ -1,26 +1,200 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
 import io.hhplus.tdd.point.reponse.PointHistory;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * PointHistoryTable 기반 히스토리 저장소
+ * - PointHistoryTable 은 ArrayList 기반이라 적재를 직렬화해야 하지만, 노드 전체를 하나의 락으로 묶으면 적재 지연(최대 300ms)이 모든 유저에게 쌓인다.
+ * - 유저 ID 로 파티션을 나누고 파티션마다 테이블, 인덱스, 락을 따로 두어, 다른 파티션의 유저는 병렬로 적재/조회한다.
+ * - 테이블이 파티션마다 따로 ID 를 매기므로, 응답과 인덱스에는 저장소 전체에서 증가하는 ID 를 다시 매겨 사용한다.
+ */
 @Repository
-@RequiredArgsConstructor
+@Profile("!mapped-history")
+@Qualifier("pointHistoryStore")
 public class PointHistoryRepositoryImpl implements PointHistoryRepository {
 
-    private final PointHistoryTable pointHistoryTable;
+    private final Partition[] partitions;
+
+    // 파티션 테이블의 ID 대신 사용하는 저장소 전체 ID (같은 유저는 같은 파티션 락 안에서 매기므로 유저별로 증가 순서가 보장됨)
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 저장소 호출 시간 (저장소 락 대기 제외)
+    private final Timer findAllTimer;
+    private final Timer findBetweenTimer;
+    private final Timer findPageTimer;
+    private final Timer summarizeTimer;
+    private final Timer summarizeDailyTimer;
+    private final Timer insertTimer;
+
+    public PointHistoryRepositoryImpl(PointHistoryTable pointHistoryTable, MeterRegistry meterRegistry) {
+        this(pointHistoryTable, meterRegistry, 1);
+    }
+
+    @Autowired
+    public PointHistoryRepositoryImpl(
+            PointHistoryTable pointHistoryTable,
+            MeterRegistry meterRegistry,
+            @Value("${point.repository.partitions:16}") int partitions
+    ) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("파티션 개수는 1 이상이어야 합니다.");
+        }
+        // 첫 파티션은 주입받은 테이블을 그대로 사용
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(i == 0 ? pointHistoryTable : new PointHistoryTable());
+        }
+        this.findAllTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findAllById");
+        this.findBetweenTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findAllByIdBetween");
+        this.findPageTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "findPageById");
+        this.summarizeTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "summarize");
+        this.summarizeDailyTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "summarizeDaily");
+        this.insertTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "insertPointHistory");
+
+        Gauge.builder("point.history.rows", this, PointHistoryRepositoryImpl::rows)
+                .description("적재된 포인트 히스토리 수")
+                .register(meterRegistry);
+        Gauge.builder("point.history.users", this, PointHistoryRepositoryImpl::users)
+                .description("포인트 히스토리가 있는 유저 수")
+                .register(meterRegistry);
+    }
 
     @Override
     public List<PointHistory> findAllById(Long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return findAllTimer.record(() -> partition.index.findAll(id));
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByIdBetween(Long id, long from, long to) {
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return findBetweenTimer.record(() -> partition.index.findBetween(id, from, to));
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findPageById(Long id, HistoryCursor cursor, int limit, HistoryOrder order) {
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return findPageTimer.record(() -> partition.index.findPage(id, cursor, limit, order));
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    @Override
+    public PointSummary summarize(Long id) {
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return summarizeTimer.record(() -> partition.index.summary(id));
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<DailyPointSummary> summarizeDaily(Long id, LocalDate from, LocalDate to) {
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return summarizeDailyTimer.record(() -> partition.index.daily(id, from, to));
+        } finally {
+            partition.lock.unlock();
+        }
     }
 
     @Override
     public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(id, amount, type, updateMillis);
+        Partition partition = partitionOf(id);
+        partition.lock.lock();
+        try {
+            return insertTimer.record(() -> {
+                PointHistory inserted = partition.table.insert(id, amount, type, updateMillis);
+                PointHistory pointHistory = new PointHistory(
+                        sequence.incrementAndGet(), inserted.userId(), inserted.amount(), inserted.type(), inserted.updateMillis()
+                );
+                partition.index.add(pointHistory);
+                return pointHistory;
+            });
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    private Partition partitionOf(long id) {
+        return partitions[(int) Math.floorMod(id, (long) partitions.length)];
+    }
+
+    private long rows() {
+        long rows = 0;
+        for (Partition partition : partitions) {
+            partition.lock.lock();
+            try {
+                rows += partition.index.size();
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+        return rows;
+    }
+
+    private int users() {
+        int users = 0;
+        for (Partition partition : partitions) {
+            partition.lock.lock();
+            try {
+                users += partition.index.userCount();
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+        return users;
+    }
+
+    private static final class Partition {
+
+        private final PointHistoryTable table;
+
+        // 테이블 전체를 훑지 않도록 적재 시 유저별 인덱스를 함께 유지
+        private final PointHistoryIndex index = new PointHistoryIndex();
+
+        // 테이블과 인덱스는 스레드 안전하지 않으므로 파티션 안의 접근은 직렬화
+        // 적재 지연 동안 락을 잡고 있으므로 synchronized 대신 ReentrantLock 사용 (가상 스레드가 캐리어 스레드에 고정되지 않도록)
+        private final Lock lock = new ReentrantLock();
+
+        private Partition(PointHistoryTable table) {
+            this.table = table;
+        }
     }
 }
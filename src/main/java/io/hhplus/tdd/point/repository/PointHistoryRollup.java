@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 포인트 히스토리 집계 (누적 합계 + UTC 일별 합계)
+ * - 히스토리를 추가할 때마다 갱신하므로, 누적 합계는 O(1), 일별 합계는 조회 기간 중 내역이 있는 날 수에 비례한다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+final class PointHistoryRollup {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // 충전 금액, 충전 횟수, 사용 금액, 사용 횟수
+    private static final int CHARGED = 0;
+    private static final int CHARGES = 1;
+    private static final int USED = 2;
+    private static final int USES = 3;
+
+    private final Map<Long, UserRollup> users = new HashMap<>();
+
+    static PointHistoryRollup of(List<PointHistory> histories) {
+        PointHistoryRollup rollup = new PointHistoryRollup();
+        histories.forEach(rollup::add);
+        return rollup;
+    }
+
+    // from 날짜 시작 ~ to 날짜 끝 (UTC, epoch millis)
+    static long startOf(LocalDate date) {
+        return date.toEpochDay() * DAY_MILLIS;
+    }
+
+    static long endOf(LocalDate date) {
+        return (date.toEpochDay() + 1) * DAY_MILLIS - 1;
+    }
+
+    // 날짜별로 합침, 날짜순
+    static List<DailyPointSummary> merge(List<DailyPointSummary> a, List<DailyPointSummary> b) {
+        TreeMap<LocalDate, DailyPointSummary> merged = new TreeMap<>();
+        a.forEach(day -> merged.merge(day.date(), day, DailyPointSummary::plus));
+        b.forEach(day -> merged.merge(day.date(), day, DailyPointSummary::plus));
+        return List.copyOf(merged.values());
+    }
+
+    void add(PointHistory pointHistory) {
+        UserRollup user = users.computeIfAbsent(pointHistory.userId(), id -> new UserRollup());
+        long day = Math.floorDiv(pointHistory.updateMillis(), DAY_MILLIS);
+        apply(user.totals, pointHistory);
+        apply(user.days.computeIfAbsent(day, key -> new long[4]), pointHistory);
+    }
+
+    PointSummary summary(long userId) {
+        UserRollup user = users.get(userId);
+        long[] totals = user == null ? new long[4] : user.totals;
+        return new PointSummary(userId, totals[CHARGED], totals[CHARGES], totals[USED], totals[USES]);
+    }
+
+    // from ~ to (포함) 중 내역이 있는 날만 날짜순으로 반환
+    List<DailyPointSummary> daily(long userId, LocalDate from, LocalDate to) {
+        UserRollup user = users.get(userId);
+        if (user == null || from.isAfter(to)) {
+            return List.of();
+        }
+
+        List<DailyPointSummary> days = new ArrayList<>();
+        user.days.subMap(from.toEpochDay(), true, to.toEpochDay(), true).forEach((day, totals) -> days.add(
+                new DailyPointSummary(LocalDate.ofEpochDay(day), totals[CHARGED], totals[CHARGES], totals[USED], totals[USES])));
+        return days;
+    }
+
+    private static void apply(long[] totals, PointHistory pointHistory) {
+        if (pointHistory.type() == TransactionType.CHARGE) {
+            totals[CHARGED] += pointHistory.amount();
+            totals[CHARGES]++;
+        } else {
+            totals[USED] += pointHistory.amount();
+            totals[USES]++;
+        }
+    }
+
+    private static final class UserRollup {
+
+        private final long[] totals = new long[4];
+        private final TreeMap<Long, long[]> days = new TreeMap<>();
+    }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 유저 포인트 저장소 (primitive-store 프로필)
+ * - UserPointTable 대신 LongPointStore 에 포인트를 저장하여 유저당 박싱된 키, UserPoint, 맵 엔트리 객체를 만들지 않는다.
+ * - UserPoint 는 호출한 쪽에 반환할 때만 생성한다.
+ * - point.primitive-store.off-heap = true 이면 힙 밖에 저장한다.
+ * - 슬롯을 늘리지 않도록 수정 시각을 버전으로 사용하며, 같은 유저의 수정 시각은 항상 이전보다 크게 저장한다.
+ */
+@Repository
+@Profile("primitive-store")
+@Qualifier("userPointStore")
+public class PrimitiveUserPointRepository implements UserPointRepository {
+
+    private final LongPointStore store;
+
+    // 조회는 동시에, 저장(재배치 포함)은 단독으로
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Timer selectTimer;
+    private final Timer upsertTimer;
+    private final Timer compareAndSetTimer;
+
+    public PrimitiveUserPointRepository(
+            @Value("${point.primitive-store.initial-capacity:1024}") int initialCapacity,
+            @Value("${point.primitive-store.off-heap:false}") boolean offHeap,
+            MeterRegistry meterRegistry
+    ) {
+        this.store = new LongPointStore(initialCapacity, offHeap);
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "findById");
+        this.upsertTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "upsert");
+        this.compareAndSetTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "compareAndSet");
+
+        Gauge.builder("point.store.bytes", this, PrimitiveUserPointRepository::memoryBytes)
+                .description("유저 포인트 저장소가 차지하는 바이트 수")
+                .tag("location", offHeap ? "off-heap" : "heap")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint findById(Long id) {
+        return selectTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                UserPoint userPoint = store.find(id);
+                return userPoint != null ? UserPointVersions.versioned(userPoint) : UserPoint.empty(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public UserPoint upsert(Long id, Long amount) {
+        return upsertTimer.record(() -> write(id, UserPointVersions.ANY_VERSION, amount));
+    }
+
+    @Override
+    public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+        return compareAndSetTimer.record(() -> write(id, expectedVersion, amount));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private UserPoint write(long id, long expectedVersion, long amount) {
+        lock.writeLock().lock();
+        try {
+            long version = UserPointVersions.versionOf(store.find(id));
+            if (expectedVersion != UserPointVersions.ANY_VERSION && expectedVersion != version) {
+                return null;
+            }
+            long updateMillis = UserPointVersions.nextUpdateMillis(version);
+            store.put(id, amount, updateMillis);
+            return new UserPoint(id, amount, updateMillis, updateMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return store.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
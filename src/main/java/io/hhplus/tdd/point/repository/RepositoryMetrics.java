@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 저장소 호출 시간 측정용 타이머 (point.repository.calls)
+ * - repository : 저장소 종류, method : 호출한 메서드
+ */
+final class RepositoryMetrics {
+
+    private RepositoryMetrics() {
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String repository, String method) {
+        return Timer.builder("point.repository.calls")
+                .description("저장소 호출 시간")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
@@ -9,4 +9,9 @@ public interface UserPointRepository {
     UserPoint findById(Long id);
 
     UserPoint upsert(Long id, Long amount);
+
+    /**
+     * 현재 버전이 expectedVersion 과 같을 때만 저장하고, 버전이 바뀌었으면 저장하지 않고 null 을 반환
+     */
+    UserPoint compareAndSet(Long id, long expectedVersion, Long amount);
 }
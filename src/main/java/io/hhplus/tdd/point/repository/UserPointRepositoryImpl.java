@@ -2,22 +2,115 @@ package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.reponse.UserPoint;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserPointTable 기반 잔고 저장소
+ * - UserPointTable 은 HashMap 기반이라 저장을 직렬화해야 하지만, 노드 전체를 하나의 락으로 묶으면 유저별 락을 써도 저장 지연(최대 300ms)이 모든 유저에게 쌓인다.
+ * - 유저 ID 로 파티션을 나누고 파티션마다 테이블과 락을 따로 두어, 다른 파티션의 유저는 병렬로 저장한다.
+ */
 @Repository
-@RequiredArgsConstructor
+@Profile("!primitive-store & !durable-store")
+@Qualifier("userPointStore")
 public class UserPointRepositoryImpl implements UserPointRepository {
 
-    private final UserPointTable userPointTable;
+    private final Partition[] partitions;
+
+    // 테이블 호출 시간 (저장소 락 대기 제외)
+    private final Timer selectTimer;
+    private final Timer upsertTimer;
+    private final Timer compareAndSetTimer;
+
+    // 테이블은 버전을 저장하지 않으므로 유저별 버전을 따로 관리 (저장 락을 잡고 테이블 저장 후 증가)
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public UserPointRepositoryImpl(UserPointTable userPointTable, MeterRegistry meterRegistry) {
+        this(userPointTable, meterRegistry, 1);
+    }
+
+    @Autowired
+    public UserPointRepositoryImpl(
+            UserPointTable userPointTable,
+            MeterRegistry meterRegistry,
+            @Value("${point.repository.partitions:16}") int partitions
+    ) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("파티션 개수는 1 이상이어야 합니다.");
+        }
+        // 첫 파티션은 주입받은 테이블을 그대로 사용
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(i == 0 ? userPointTable : new UserPointTable());
+        }
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "findById");
+        this.upsertTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "upsert");
+        this.compareAndSetTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "compareAndSet");
+    }
 
     @Override
     public UserPoint findById(Long id) {
-        return userPointTable.selectById(id);
+        // 버전을 먼저 읽어 테이블 값이 버전보다 오래되지 않도록 함 (그 사이 저장이 있었다면 compareAndSet 이 실패)
+        long version = versions.getOrDefault(id, 0L);
+        UserPoint userPoint = selectTimer.record(() -> partitionOf(id).table.selectById(id));
+        return new UserPoint(userPoint.id(), userPoint.point(), userPoint.updateMillis(), version);
+    }
+
+    @Override
+    public UserPoint upsert(Long id, Long amount) {
+        Lock lock = partitionOf(id).lock;
+        lock.lock();
+        try {
+            return upsertTimer.record(() -> write(id, amount));
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized UserPoint upsert(Long id, Long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+    public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+        Lock lock = partitionOf(id).lock;
+        lock.lock();
+        try {
+            if (versions.getOrDefault(id, 0L) != expectedVersion) {
+                return null;
+            }
+            return compareAndSetTimer.record(() -> write(id, amount));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 파티션 락을 잡은 상태에서 호출
+    private UserPoint write(Long id, Long amount) {
+        UserPoint userPoint = partitionOf(id).table.insertOrUpdate(id, amount);
+        long version = versions.merge(id, 1L, Long::sum);
+        return new UserPoint(userPoint.id(), userPoint.point(), userPoint.updateMillis(), version);
+    }
+
+    private Partition partitionOf(long id) {
+        return partitions[(int) Math.floorMod(id, (long) partitions.length)];
+    }
+
+    private static final class Partition {
+
+        private final UserPointTable table;
+
+        // 테이블 지연 동안 락을 잡고 있으므로 synchronized 대신 ReentrantLock 사용 (가상 스레드가 캐리어 스레드에 고정되지 않도록)
+        private final Lock lock = new ReentrantLock();
+
+        private Partition(UserPointTable table) {
+            this.table = table;
+        }
     }
 }
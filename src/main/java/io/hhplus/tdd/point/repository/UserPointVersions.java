@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+
+/**
+ * LongPointStore 기반 저장소의 버전 규칙
+ * - 버전을 따로 저장하지 않고 수정 시각을 버전으로 사용한다. 저장된 적 없는 유저는 0
+ * - 같은 밀리초에 두 번 저장해도 버전이 바뀌도록, 새 수정 시각은 항상 이전 수정 시각보다 크게 한다.
+ */
+final class UserPointVersions {
+
+    // 버전과 상관없이 저장 (upsert)
+    static final long ANY_VERSION = -1L;
+
+    private UserPointVersions() {
+    }
+
+    static long versionOf(UserPoint stored) {
+        return stored == null ? 0L : stored.updateMillis();
+    }
+
+    static long nextUpdateMillis(long version) {
+        return Math.max(System.currentTimeMillis(), version + 1);
+    }
+
+    static UserPoint versioned(UserPoint stored) {
+        return new UserPoint(stored.id(), stored.point(), stored.updateMillis(), stored.updateMillis());
+    }
+}
@@ -0,0 +1,306 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 히스토리 비동기 적재 (write-behind)
+ * - 히스토리는 제한된 크기의 큐에 넣고 즉시 반환하며, 백그라운드 스레드가 순서대로 테이블에 적재한다.
+ * - 큐가 가득 차면 일정 시간 대기 후 호출한 스레드에서 직접 적재한다. (backpressure)
+ * - 조회 시 아직 적재되지 않은 내역도 함께 반환한다. (적재 전 내역의 id 는 0)
+ * - 페이지 조회는 id 기반 커서를 사용하므로 적재가 끝난 내역만 반환한다.
+ * - 종료 시 큐에 남은 내역을 모두 적재한다.
+ * - 가상 스레드 모드(spring.threads.virtual.enabled)에서는 적재 스레드도 가상 스레드로 실행한다.
+ * - 테이블 적재와 조회는 유저 ID 로 나눈 락으로 묶는다. 조회는 같은 락을 쓰는 유저의 적재 한 건(테이블 지연, 최대 300ms)만 기다리고,
+ *   다른 유저의 적재는 기다리지 않는다. (조회 대기 시간은 point.history.read.wait)
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.history.write-behind.enabled", havingValue = "true")
+public class WriteBehindPointHistoryRepository implements PointHistoryRepository, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPointHistoryRepository.class);
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final int TABLE_LOCK_STRIPES = 64;
+
+    private static final String WRITER_NAME = "point-history-writer";
+
+    private final PointHistoryRepository delegate;
+    private final BlockingQueue<PendingHistory> queue;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final boolean virtualThreads;
+
+    // 큐에 들어갔지만 아직 테이블에 적재되지 않은 내역 (조회 시 병합)
+    private final Queue<PendingHistory> pending = new ConcurrentLinkedQueue<>();
+
+    // 테이블 적재 + pending 제거, 테이블 조회 + pending 조회를 각각 원자적으로 수행하기 위한 락 (유저 ID 로 나눔)
+    // 하나의 락이면 적재 중인 동안 모든 유저의 조회가 멈추므로, 적재 중인 유저와 같은 락을 쓰는 유저의 조회만 기다리도록 함
+    // 적재가 밀려 있어도 조회가 계속 밀리지 않도록 공정 락 사용
+    private final Lock[] tableLocks = new Lock[TABLE_LOCK_STRIPES];
+
+    // 조회가 테이블 락을 기다린 시간, bindTo 전에는 기록하지 않음
+    private volatile Timer readWaitTimer;
+
+    // 종료 이후 큐에 들어가는 내역이 없도록 보장
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public WriteBehindPointHistoryRepository(
+            @Qualifier("pointHistoryStore") PointHistoryRepository delegate,
+            @Value("${point.history.write-behind.queue-size:10000}") int queueSize,
+            @Value("${point.history.write-behind.offer-timeout-millis:100}") long offerTimeoutMillis,
+            @Value("${point.history.write-behind.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.virtualThreads = virtualThreads;
+        for (int i = 0; i < TABLE_LOCK_STRIPES; i++) {
+            tableLocks[i] = new ReentrantLock(true);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor(WRITER_NAME + "-").getVirtualThreadFactory()
+                : runnable -> new Thread(runnable, WRITER_NAME);
+        writer = threadFactory.newThread(this::drain);
+        writer.start();
+    }
+
+    @Override
+    public List<PointHistory> findAllById(Long id) {
+        Lock tableLock = lockForRead(id);
+        try {
+            List<PointHistory> histories = new ArrayList<>(delegate.findAllById(id));
+            for (PendingHistory history : pending) {
+                if (history.userId() == id) {
+                    histories.add(history.toPointHistory());
+                }
+            }
+            return histories;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByIdBetween(Long id, long from, long to) {
+        Lock tableLock = lockForRead(id);
+        try {
+            List<PointHistory> histories = new ArrayList<>(delegate.findAllByIdBetween(id, from, to));
+            for (PendingHistory history : pending) {
+                if (history.userId() == id && from <= history.updateMillis() && history.updateMillis() <= to) {
+                    histories.add(history.toPointHistory());
+                }
+            }
+            return histories;
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findPageById(Long id, HistoryCursor cursor, int limit, HistoryOrder order) {
+        return delegate.findPageById(id, cursor, limit, order);
+    }
+
+    // 적재된 내역의 집계에 적재 대기 중인 내역을 더함
+    @Override
+    public PointSummary summarize(Long id) {
+        Lock tableLock = lockForRead(id);
+        try {
+            return delegate.summarize(id).plus(PointHistoryRollup.of(pendingOf(id)).summary(id));
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    @Override
+    public List<DailyPointSummary> summarizeDaily(Long id, LocalDate from, LocalDate to) {
+        Lock tableLock = lockForRead(id);
+        try {
+            return PointHistoryRollup.merge(delegate.summarizeDaily(id, from, to),
+                    PointHistoryRollup.of(pendingOf(id)).daily(id, from, to));
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    @Override
+    public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+        PendingHistory history = new PendingHistory(id, amount, type, updateMillis);
+        pending.add(history);
+
+        if (enqueue(history)) {
+            return history.toPointHistory();
+        }
+
+        // 큐가 가득 찼거나 종료 중이면 호출한 스레드에서 직접 적재
+        return write(history);
+    }
+
+    // 큐에 남아있는 (적재 대기 중인) 내역 수
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("point.history.pending", this, WriteBehindPointHistoryRepository::pendingCount)
+                .description("적재 대기 중인 포인트 히스토리 수")
+                .register(meterRegistry);
+        readWaitTimer = Timer.builder("point.history.read.wait")
+                .description("히스토리 조회가 적재 중인 테이블 락을 기다린 시간")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void flush() throws InterruptedException {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+
+        if (writer != null) {
+            writer.join(shutdownTimeoutMillis);
+        }
+
+        // 제한 시간 내에 적재하지 못한 내역은 종료 스레드에서 마저 적재
+        PendingHistory history;
+        while ((history = queue.poll()) != null) {
+            write(history);
+        }
+    }
+
+    private Lock tableLockOf(long userId) {
+        return tableLocks[(int) Math.floorMod(userId, (long) TABLE_LOCK_STRIPES)];
+    }
+
+    // 유저의 테이블 락을 잡고 기다린 시간을 기록, 잡은 락을 반환
+    private Lock lockForRead(long userId) {
+        Lock tableLock = tableLockOf(userId);
+        long start = System.nanoTime();
+        tableLock.lock();
+        Timer timer = readWaitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return tableLock;
+    }
+
+    // 유저의 테이블 락을 잡은 상태에서 호출
+    private List<PointHistory> pendingOf(long userId) {
+        List<PointHistory> histories = new ArrayList<>();
+        for (PendingHistory history : pending) {
+            if (history.userId() == userId) {
+                histories.add(history.toPointHistory());
+            }
+        }
+        return histories;
+    }
+
+    private boolean enqueue(PendingHistory history) {
+        lifecycleLock.readLock().lock();
+        try {
+            return running && queue.offer(history, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory history = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (history != null) {
+                    write(history);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ignored) {
+                // 재시도 후에도 실패한 내역은 write 에서 로그를 남김
+            }
+        }
+    }
+
+    private PointHistory write(PendingHistory history) {
+        Lock tableLock = tableLockOf(history.userId());
+        for (int attempt = 1; ; attempt++) {
+            tableLock.lock();
+            try {
+                PointHistory pointHistory = delegate.insertPointHistory(
+                        history.userId(), history.amount(), history.type(), history.updateMillis());
+                pending.remove(history);
+                return pointHistory;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    pending.remove(history);
+                    log.error("포인트 히스토리 적재 실패로 유실: {}", history, e);
+                    throw e;
+                }
+            } finally {
+                tableLock.unlock();
+            }
+        }
+    }
+
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis
+    ) {
+
+        PointHistory toPointHistory() {
+            return new PointHistory(0L, userId, amount, type, updateMillis);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadOptionsTest {
+
+    @Test
+    void 인자가_없으면_기본값_지정한_인자는_그_값() {
+        LoadOptions defaults = LoadOptions.parse(new String[0]);
+        assertEquals("http://localhost:8080", defaults.baseUrl());
+        assertEquals(LoadOptions.Mode.OPEN, defaults.mode());
+        assertEquals(1000.0, defaults.rate());
+        assertEquals(LoadOptions.Distribution.UNIFORM, defaults.distribution());
+        assertEquals(50, defaults.readWeight());
+        assertNull(defaults.json());
+
+        LoadOptions options = LoadOptions.parse(new String[]{
+                "--mode=closed", "--rate=0", "--concurrency=8", "--distribution=zipfian", "--zipfian-exponent=0.8",
+                "--mix=0:1:1", "--users=500", "--json=build/out.json"
+        });
+        assertEquals(LoadOptions.Mode.CLOSED, options.mode());
+        assertEquals(0.0, options.rate());
+        assertEquals(8, options.concurrency());
+        assertEquals(LoadOptions.Distribution.ZIPFIAN, options.distribution());
+        assertEquals(0.8, options.zipfianExponent());
+        assertEquals(0, options.readWeight());
+        assertEquals(1, options.chargeWeight());
+        assertEquals(500L, options.users());
+        assertEquals("build/out.json", options.json());
+    }
+
+    @Test
+    void 형식이_잘못되거나_범위를_벗어난_인자는_거절() {
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"rate=10"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--rate"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--mix=1:1"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--mix=0:0:0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--mode=OPEN", "--rate=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--users=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[]{"--mode=HALF"}));
+    }
+
+    @Test
+    void 쉼표로_지정한_여러_노드_중에서_골라_보냄() {
+        LoadOptions options = LoadOptions.parse(new String[]{"--base-url=http://localhost:8081, http://localhost:8082"});
+
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            picked.add(options.pickBaseUrl());
+        }
+        assertEquals(Set.of("http://localhost:8081", "http://localhost:8082"), picked);
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadStatsTest {
+
+    @Test
+    void 보내지_못한_요청은_시간_초과로_지연_시간에_포함() {
+        LoadOptions options = LoadOptions.parse(new String[]{"--timeout-millis=1000"});
+        LoadStats stats = new LoadStats();
+        for (int i = 0; i < 98; i++) {
+            stats.record(Operation.CHARGE, TimeUnit.MILLISECONDS.toNanos(1), 200);
+        }
+        stats.recordDropped(Operation.CHARGE, TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()));
+        stats.recordDropped(Operation.CHARGE, TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis()));
+
+        LoadResult result = stats.result(options, 1.0, true);
+
+        // 보내지 못한 2% 가 빠지면 p99 가 1ms 로 낮게 나옴
+        LoadResult.Summary all = result.operations().get("ALL");
+        assertEquals(100L, all.count());
+        assertEquals(1000.0, all.p99(), 1.0);
+        assertEquals(2L, result.dropped());
+        assertTrue(result.toText().contains("경고"));
+    }
+}
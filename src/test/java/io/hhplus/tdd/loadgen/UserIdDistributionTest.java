@@ -0,0 +1,45 @@
+package io.hhplus.tdd.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdDistributionTest {
+
+    @Test
+    void Zipfian_은_범위_안의_ID_만_뽑고_작은_ID_일수록_많이_뽑음() {
+        int items = 1_000;
+        UserIdDistribution.Zipfian zipfian = new UserIdDistribution.Zipfian(items, 0.99);
+
+        int samples = 200_000;
+        long[] counts = new long[items + 1];
+        for (int i = 0; i < samples; i++) {
+            long userId = zipfian.next();
+            assertTrue(userId >= 1 && userId <= items, "범위를 벗어난 ID " + userId);
+            counts[(int) userId]++;
+        }
+
+        // P(k) ∝ 1 / k^theta, 1 번 유저는 전체의 약 1 / zeta(1000, 0.99) ≈ 13%
+        double first = counts[1] / (double) samples;
+        assertTrue(first > 0.11 && first < 0.16, "1 번 유저 비율 " + first);
+        // 1 번과 2 번 유저의 비율 ≈ 2^theta
+        double ratio = counts[1] / (double) counts[2];
+        assertTrue(ratio > 1.7 && ratio < 2.3, "1, 2 번 유저 비율 " + ratio);
+        // 상위 10 명이 하위 500 명보다 많이 뽑힘
+        long top = 0;
+        long bottom = 0;
+        for (int k = 1; k <= 10; k++) {
+            top += counts[k];
+        }
+        for (int k = 501; k <= items; k++) {
+            bottom += counts[k];
+        }
+        assertTrue(top > bottom);
+    }
+
+    @Test
+    void Zipfian_지수가_0_과_1_사이가_아니면_생성하지_않음() {
+        assertThrows(IllegalArgumentException.class, () -> new UserIdDistribution.Zipfian(100, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new UserIdDistribution.Zipfian(100, 1.0));
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.HotUser;
+import io.hhplus.tdd.point.reponse.HotUsers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotUserTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void 집계할_수_있는_유저보다_많은_유저가_들어와도_요청이_몰린_유저를_찾음() {
+        // stripe 당 4명만 집계
+        HotUserTracker tracker = new HotUserTracker(64, 3, 60_000L, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            tracker.recordRequest(1_000 + i);
+            if (i % 10 == 0) {
+                tracker.recordRequest(1L);
+            }
+            if (i % 20 == 0) {
+                tracker.recordRequest(2L);
+            }
+        }
+
+        List<HotUser> top = tracker.topByRequests();
+        assertEquals(3, top.size());
+        assertEquals(1L, top.get(0).userId());
+        assertEquals(2L, top.get(1).userId());
+        // 실제 값 이상, 실제 값 + error 이하
+        assertTrue(top.get(0).value() >= 1_000 && top.get(0).value() - top.get(0).error() <= 1_000);
+        assertTrue(top.get(1).value() >= 500 && top.get(1).value() - top.get(1).error() <= 500);
+    }
+
+    @Test
+    void 직전_구간보다_오래된_집계는_제외() {
+        HotUserTracker tracker = new HotUserTracker(64, 10, 1_000L, clock::get);
+
+        tracker.recordRequest(1L);
+        tracker.recordLockWait(1L, TimeUnit.MILLISECONDS.toNanos(30));
+        clock.addAndGet(1_000L);
+        tracker.recordRequest(1L);
+        tracker.recordRequest(2L);
+
+        // 직전 구간 + 현재 구간
+        assertEquals(2L, tracker.topByRequests().get(0).value());
+        assertEquals(30L, tracker.topByLockWait().get(0).value());
+
+        clock.addAndGet(1_000L);
+        assertEquals(List.of(1L, 2L), tracker.topByRequests().stream().map(HotUser::userId).toList());
+        assertEquals(1L, tracker.topByRequests().get(0).value());
+        assertTrue(tracker.topByLockWait().isEmpty());
+
+        clock.addAndGet(2_000L);
+        assertTrue(tracker.topByRequests().isEmpty());
+    }
+
+    @Test
+    void 메트릭은_순위별_값만_노출하고_캐시_시간_동안_한_번만_계산() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HotUserTracker tracker = new HotUserTracker(64, 3, 60_000L, 1_000L, clock::get, meterRegistry);
+        tracker.recordRequest(1L);
+        tracker.recordRequest(1L);
+
+        double first = meterRegistry.get("point.hot.users.requests").tag("rank", "1").gauge().value();
+        HotUsers snapshot = tracker.metricsSnapshot();
+        tracker.recordRequest(1L);
+
+        // 캐시 시간 안에는 같은 집계를 재사용
+        assertSame(snapshot, tracker.metricsSnapshot());
+        assertEquals(first, meterRegistry.get("point.hot.users.requests").tag("rank", "1").gauge().value());
+        assertTrue(Double.isNaN(meterRegistry.get("point.hot.users.requests").tag("rank", "2").gauge().value()));
+        assertNull(meterRegistry.find("point.hot.users.requests.id").gauge());
+
+        clock.addAndGet(1_000L);
+        assertEquals(3L, tracker.metricsSnapshot().byRequests().get(0).value());
+    }
+
+    @Test
+    void 한_유저에_동시_요청이_몰리면_락_대기_시간_상위에_집계() throws InterruptedException {
+        PointServiceConcurrencyTest.LatencyUserPointRepository userPointRepository =
+                new PointServiceConcurrencyTest.LatencyUserPointRepository();
+        PointServiceConcurrencyTest.LatencyPointHistoryRepository pointHistoryRepository =
+                new PointServiceConcurrencyTest.LatencyPointHistoryRepository();
+        UserLockManager userLockManager = new UserLockManager(1024);
+        PointService pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                new PointAsyncExecutor(userLockManager, 8, 1000, 10_000L),
+                new PointShardEngine(userPointRepository, pointHistoryRepository, 4, 1024)
+        );
+        HotUserTracker tracker = new HotUserTracker(1024, 5, 60_000L, System::currentTimeMillis);
+        pointService.setHotUserTracker(tracker);
+
+        Thread[] threads = new Thread[10];
+        for (int i = 0; i < threads.length; i++) {
+            // 1번 유저에 5건, 나머지 유저에 1건씩
+            long userId = i < 5 ? 1L : 10L + i;
+            threads[i] = new Thread(() -> pointService.chargePoint(userId, 10L));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1L, tracker.topByRequests().get(0).userId());
+        assertEquals(5L, tracker.topByRequests().get(0).value());
+        HotUser mostWaited = tracker.topByLockWait().get(0);
+        assertEquals(1L, mostWaited.userId());
+        // 먼저 잡은 요청이 조회/저장/히스토리 적재하는 동안 나머지 4건이 대기
+        assertTrue(mostWaited.value() >= 50L, "락 대기 " + mostWaited.value() + "ms");
+    }
+}
@@ -0,0 +1,178 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final PointOperation CHARGE = new PointOperation(1L, TransactionType.CHARGE, 100L);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void 같은_키로_재시도하면_다시_처리하지_않고_처음_결과_반환() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000L, new SimpleMeterRegistry());
+
+        UserPoint first = cache.execute("key-1", CHARGE, this::charge);
+        UserPoint retried = cache.execute("key-1", CHARGE, this::charge);
+
+        assertSame(first, retried);
+        assertEquals(1, executions.get());
+
+        // 다른 키는 새로 처리
+        cache.execute("key-2", CHARGE, this::charge);
+        assertEquals(2, executions.get());
+
+        // 같은 키로 다른 요청은 처리하지 않음
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> cache.execute("key-1", new PointOperation(1L, TransactionType.CHARGE, 200L), this::charge));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void 처리중인_키로_동시에_들어온_요청은_먼저_들어온_결과를_기다림() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000L, new SimpleMeterRegistry());
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Future<UserPoint> first = executor.submit(() -> cache.execute("key", CHARGE, () -> {
+            processing.countDown();
+            await(release);
+            return charge();
+        }));
+        processing.await();
+
+        List<Future<UserPoint>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            duplicates.add(executor.submit(() -> cache.execute("key", CHARGE, this::charge)));
+        }
+        // 중복 요청이 처리 중인 키를 만나 대기하도록 잠시 후 처리 완료
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+
+        for (Future<UserPoint> duplicate : duplicates) {
+            assertSame(first.get(), duplicate.get());
+        }
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void 실패하면_키를_지워_재시도시_다시_처리() {
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000L, new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> cache.execute("key", CHARGE, () -> {
+            throw new IllegalStateException("충돌");
+        }));
+        assertEquals(0, cache.size());
+
+        cache.execute("key", CHARGE, this::charge);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void 처리_중_Error_가_발생해도_기다리던_요청에_전달하고_키를_지움() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000L, new SimpleMeterRegistry());
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserPoint> first = executor.submit(() -> cache.execute("key", CHARGE, () -> {
+            processing.countDown();
+            await(release);
+            throw new AssertionError("처리 실패");
+        }));
+        processing.await();
+        Future<UserPoint> duplicate = executor.submit(() -> cache.execute("key", CHARGE, this::charge));
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, failed.getCause());
+        ExecutionException waited = assertThrows(ExecutionException.class, () -> duplicate.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, waited.getCause());
+        assertEquals(0, cache.size());
+
+        cache.execute("key", CHARGE, this::charge);
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void 비동기_처리가_시간_초과되어도_같은_키로_재시도하면_다시_처리하지_않음() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000L, new SimpleMeterRegistry());
+        PointAsyncExecutor asyncExecutor = new PointAsyncExecutor(new UserLockManager(16), 2, 100, 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // 처리 제한 시간보다 오래 걸리는 작업
+            CompletableFuture<UserPoint> first = cache.executeAsync("key", CHARGE,
+                    () -> asyncExecutor.submit(CHARGE.userId(), () -> {
+                        await(release);
+                        return charge();
+                    }));
+            ExecutionException timeout = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, timeout.getCause());
+
+            // 시간 초과 후 재시도는 진행 중인 작업의 결과를 기다림
+            CompletableFuture<UserPoint> retried = cache.executeAsync("key", CHARGE,
+                    () -> asyncExecutor.submit(CHARGE.userId(), this::charge));
+            release.countDown();
+
+            assertEquals(CHARGE.amount(), retried.get(1, TimeUnit.SECONDS).point());
+            assertEquals(1, executions.get());
+            assertEquals(1, cache.size());
+        } finally {
+            release.countDown();
+            asyncExecutor.close();
+        }
+    }
+
+    @Test
+    void 기간이_지나거나_최대_개수를_넘으면_오래된_키부터_제거() throws InterruptedException {
+        IdempotencyCache bounded = new IdempotencyCache(2, 60_000L, new SimpleMeterRegistry());
+        bounded.execute("key-1", CHARGE, this::charge);
+        bounded.execute("key-2", CHARGE, this::charge);
+        bounded.execute("key-3", CHARGE, this::charge);
+
+        assertEquals(2, bounded.size());
+        bounded.execute("key-1", CHARGE, this::charge);
+        assertEquals(4, executions.get());
+
+        IdempotencyCache expiring = new IdempotencyCache(100, 20L, new SimpleMeterRegistry());
+        expiring.execute("key", CHARGE, this::charge);
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        expiring.execute("key", CHARGE, this::charge);
+        assertEquals(6, executions.get());
+    }
+
+    private UserPoint charge() {
+        executions.incrementAndGet();
+        return new UserPoint(CHARGE.userId(), CHARGE.amount(), System.currentTimeMillis());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointAsyncExecutorTest {
+
+    private PointAsyncExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.close();
+    }
+
+    @Test
+    void 같은_유저의_작업은_스레드_하나에서_순서대로_처리() throws Exception {
+        executor = new PointAsyncExecutor(new UserLockManager(16), 4, 1000, 10_000L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int index = i;
+            futures.add(executor.submit(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                order.add(index);
+                running.decrementAndGet();
+                return index;
+            }));
+        }
+        // 다른 유저의 작업은 기다리지 않고 처리
+        assertEquals("done", executor.submit(2L, () -> "done").get(1, TimeUnit.SECONDS));
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(1, maxRunning.get());
+        assertEquals(IntStream.range(0, 20).boxed().toList(), order);
+    }
+
+    @Test
+    void 대기_중에_시간이_초과된_작업은_처리하지_않음() throws Exception {
+        executor = new PointAsyncExecutor(new UserLockManager(16), 1, 10, 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        executor.submit(() -> {
+            await(release);
+            return null;
+        });
+        CompletableFuture<Boolean> waiting = executor.submit(() -> executed.getAndSet(true));
+
+        ExecutionException timeout = assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, timeout.getCause());
+
+        release.countDown();
+        // 스레드가 비면 다음 작업을 꺼내지만, 이미 시간이 초과되었으므로 처리하지 않음
+        executor.submit(() -> true).get(1, TimeUnit.SECONDS);
+        assertFalse(executed.get());
+    }
+
+    @Test
+    void 대기_가능한_작업_수를_넘으면_거절() throws Exception {
+        executor = new PointAsyncExecutor(new UserLockManager(16), 1, 2, 10_000L);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> first = executor.submit(1L, () -> {
+            await(release);
+            return null;
+        });
+        CompletableFuture<Object> second = executor.submit(1L, () -> null);
+        CompletableFuture<Object> rejected = executor.submit(2L, () -> null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void 작업에서_Error_가_발생해도_같은_유저의_다음_작업을_처리() throws Exception {
+        executor = new PointAsyncExecutor(new UserLockManager(16), 1, 10, 10_000L);
+
+        CompletableFuture<Object> failed = executor.submit(1L, () -> {
+            throw new AssertionError("처리 실패");
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+
+        assertEquals("done", executor.submit(1L, () -> "done").get(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.pending());
+    }
+
+    @Test
+    void 실행기가_종료된_후_넘긴_작업은_거절로_완료() throws Exception {
+        executor = new PointAsyncExecutor(new UserLockManager(16), 1, 10, 10_000L);
+        executor.close();
+
+        CompletableFuture<Object> rejected = executor.submit(1L, () -> null);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(0, executor.pending());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointHistoryExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private PointService pointService;
+
+    private PointHistoryExporter pointHistoryExporter;
+
+    private final List<PointHistory> histories = List.of(
+            new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 100L),
+            new PointHistory(2L, 1L, -10L, TransactionType.USE, 200L),
+            new PointHistory(3L, 1L, 50L, TransactionType.CHARGE, 300L),
+            new PointHistory(4L, 1L, -20L, TransactionType.USE, 400L),
+            new PointHistory(5L, 1L, 30L, TransactionType.CHARGE, 500L)
+    );
+
+    @BeforeEach
+    void setUp() {
+        // 2건씩 나누어 조회
+        pointHistoryExporter = new PointHistoryExporter(pointService, objectMapper, 2, 2);
+
+        when(pointService.getPointHistoryChunk(1L, null, 2)).thenReturn(histories.subList(0, 2));
+        when(pointService.getPointHistoryChunk(1L, HistoryCursor.of(histories.get(1)), 2)).thenReturn(histories.subList(2, 4));
+        when(pointService.getPointHistoryChunk(1L, HistoryCursor.of(histories.get(3)), 2)).thenReturn(histories.subList(4, 5));
+    }
+
+    @Test
+    void 한_줄에_하나씩_JSON_으로_내보내기() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = pointHistoryExporter.export(1L, outputStream, false);
+
+        assertEquals(5L, count);
+        assertEquals(histories, parse(outputStream.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void gzip_압축하여_내보내기() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        pointHistoryExporter.export(1L, outputStream, true);
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals(histories, parse(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    private List<PointHistory> parse(String ndjson) throws IOException {
+        assertTrue(ndjson.endsWith("\n"));
+
+        String[] lines = ndjson.split("\n");
+        PointHistory[] parsed = new PointHistory[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            parsed[i] = objectMapper.readValue(lines[i], PointHistory.class);
+        }
+        return List.of(parsed);
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointOperationCombinerTest {
+
+    private final UserLockManager userLockManager = new UserLockManager(16);
+    private final PointOperationCombiner combiner = new PointOperationCombiner(userLockManager, 128);
+
+    // 처리한 요청을 기록하고 모두 성공 처리
+    private final List<PointOperation> applied = new ArrayList<>();
+
+    @Test
+    void 기한_안에_락을_잡지_못하면_대기열에서_빠지고_나중에도_반영되지_않음() throws InterruptedException {
+        Lock lock = userLockManager.getLock(1L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        PointOperation expired = new PointOperation(1L, TransactionType.CHARGE, 100L);
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        try {
+            assertThrows(DeadlineExceededException.class, () -> combiner.submit(expired, this::apply));
+        } finally {
+            RequestDeadline.clear();
+            release.countDown();
+        }
+        holder.join();
+
+        // 락을 놓은 뒤 다음 요청을 처리할 때 포기한 요청은 함께 처리되지 않음
+        PointOperation next = new PointOperation(1L, TransactionType.CHARGE, 10L);
+        assertTrue(combiner.submit(next, this::apply).result().success());
+        assertEquals(List.of(next), applied);
+    }
+
+    @Test
+    void 기한이_지난_요청만_실패하고_나머지는_반영() {
+        PointOperation operation = new PointOperation(1L, TransactionType.CHARGE, 10L);
+        RequestDeadline.set(System.nanoTime() - 1);
+        try {
+            AppliedOperation result = combiner.submit(operation, this::apply);
+            assertFalse(result.result().success());
+            assertThrows(DeadlineExceededException.class, result::toUserPoint);
+        } finally {
+            RequestDeadline.clear();
+        }
+        assertTrue(applied.isEmpty());
+
+        assertTrue(combiner.submit(operation, this::apply).result().success());
+        assertEquals(List.of(operation), applied);
+    }
+
+    private List<AppliedOperation> apply(List<PointOperation> operations) {
+        applied.addAll(operations);
+        return operations.stream().map(operation -> AppliedOperation.success(operation, operation.amount())).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.ReconciliationReport;
+import io.hhplus.tdd.point.reponse.ReconciliationReport.Mismatch;
+import io.hhplus.tdd.point.reponse.ReconciliationReport.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointReconcilerTest {
+
+    private final PointServiceConcurrencyTest.LatencyUserPointRepository userPointRepository =
+            new PointServiceConcurrencyTest.LatencyUserPointRepository();
+    private final PointServiceConcurrencyTest.LatencyPointHistoryRepository pointHistoryRepository =
+            new PointServiceConcurrencyTest.LatencyPointHistoryRepository();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 히스토리_합계와_다른_잔고만_불일치로_보고() throws InterruptedException {
+        charge(1L, 100L);
+        charge(2L, 300L);
+        // 히스토리 없이 잔고만 바뀐 유저
+        userPointRepository.upsert(3L, 50L);
+        // 잔고 없이 히스토리만 남은 유저
+        pointHistoryRepository.insertPointHistory(4L, 70L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        PointReconciler reconciler = reconciler();
+        ReconciliationReport report = reconciler.run(1L, 10L, false);
+        reconciler.close();
+
+        assertEquals(Status.COMPLETED, report.status());
+        assertEquals(10L, report.checkedUsers());
+        assertEquals(report.totalChunks(), report.completedChunks());
+        assertEquals(2L, report.mismatchCount());
+        assertEquals(List.of(new Mismatch(3L, 50L, 0L, 50L), new Mismatch(4L, 0L, 70L, -70L)),
+                report.mismatches().stream().sorted((a, b) -> Long.compare(a.userId(), b.userId())).toList());
+    }
+
+    @Test
+    void 같은_범위로_다시_시작하면_끝난_구간은_건너뛰고_이전_결과를_이어받음() throws IOException, InterruptedException {
+        // 1 ~ 10 구간은 이전 실행에서 끝남 (유저 3 불일치)
+        ReconciliationCheckpoint checkpoint =
+                ReconciliationCheckpoint.open(dir.resolve("checkpoint.log"), 1L, 30L, 10, false);
+        checkpoint.chunkDone(0L, 10L, List.of(new Mismatch(3L, 10L, 0L, 10L)));
+
+        // 끝난 구간의 불일치는 다시 검사하지 않고, 나머지 구간의 불일치만 새로 찾음
+        userPointRepository.upsert(5L, 20L);
+        userPointRepository.upsert(15L, 30L);
+
+        PointReconciler reconciler = reconciler();
+        ReconciliationReport report = reconciler.run(1L, 30L, false);
+
+        assertEquals(Status.COMPLETED, report.status());
+        assertEquals(30L, report.checkedUsers());
+        assertEquals(3L, report.completedChunks());
+        assertEquals(List.of(3L, 15L), report.mismatches().stream().map(Mismatch::userId).sorted().toList());
+
+        // 완료된 진행 상황은 이어받지 않고 처음부터 검사
+        report = reconciler.run(1L, 30L, false);
+        reconciler.close();
+        assertEquals(List.of(5L, 15L), report.mismatches().stream().map(Mismatch::userId).sorted().toList());
+    }
+
+    @Test
+    void 잔고가_맞는_유저는_유저_락을_잡지_않고_검사() throws InterruptedException {
+        charge(1L, 100L);
+        charge(2L, 300L);
+        userPointRepository.upsert(3L, 50L);
+
+        Set<Long> lockedUsers = ConcurrentHashMap.newKeySet();
+        UserLockManager userLockManager = new UserLockManager(16) {
+            @Override
+            public Lock getLock(long userId) {
+                lockedUsers.add(userId);
+                return super.getLock(userId);
+            }
+        };
+        PointReconciler reconciler = new PointReconciler(userPointRepository, pointHistoryRepository, userLockManager,
+                4, 10, 0, dir.resolve("checkpoint.log"));
+        ReconciliationReport report = reconciler.run(1L, 10L, false);
+        reconciler.close();
+
+        assertEquals(1L, report.mismatchCount());
+        // 다르게 읽힌 유저만 락을 잡고 다시 확인
+        assertEquals(Set.of(3L), lockedUsers);
+    }
+
+    private PointReconciler reconciler() {
+        return new PointReconciler(userPointRepository, pointHistoryRepository, new UserLockManager(16),
+                4, 10, 0, dir.resolve("checkpoint.log"));
+    }
+
+    private void charge(long userId, long amount) {
+        userPointRepository.upsert(userId, userPointRepository.findById(userId).point() + amount);
+        pointHistoryRepository.insertPointHistory(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,257 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.cluster.ClusterMembership;
+import io.hhplus.tdd.point.cluster.ClusterRoutingException;
+import io.hhplus.tdd.point.cluster.ClusterTransport;
+import io.hhplus.tdd.point.cluster.PointClusterNode;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.PointOperationResult;
+import io.hhplus.tdd.point.reponse.UserHandoff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 클러스터 모드 소유권 이전 테스트
+ * - 노드 두 개를 한 JVM 에 만들고, 노드 간 통신은 HTTP 대신 서로의 PointClusterNode 를 직접 호출한다.
+ */
+class PointServiceClusterTest {
+
+    private static final String A = "http://localhost:8081";
+    private static final String B = "http://localhost:8082";
+    private static final String C = "http://localhost:8083";
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private boolean failAccept;
+
+    // B 가 추가되면 B 로 옮겨가는 유저와 A 에 남는 유저
+    private final List<Long> movedUsers = new ArrayList<>();
+    private final List<Long> stayingUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        nodes.put(A, new Node(A));
+        nodes.put(B, new Node(B));
+        nodes.put(C, new Node(C));
+
+        ClusterMembership both = new ClusterMembership(A, List.of(A, B), 128);
+        for (long userId = 1; movedUsers.size() < 3 || stayingUsers.size() < 2; userId++) {
+            (both.isOwner(userId) ? stayingUsers : movedUsers).add(userId);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Node node : nodes.values()) {
+            node.close();
+        }
+    }
+
+    @Test
+    void 멤버가_추가되면_옮겨간_유저의_잔고와_히스토리를_새_소유_노드로_넘겨줌() {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        chargeAll(a);
+
+        b.membership.update(List.of(A, B));
+        a.membership.update(List.of(A, B));
+
+        for (long userId : movedUsers) {
+            assertEquals(100L, b.pointService.getPointByUser(userId).point());
+            assertEquals(1, b.pointService.getPointHistoriesByUser(userId).size());
+            // 넘겨준 유저는 이전 소유 노드에서 처리하지 않음
+            assertThrows(ClusterRoutingException.class, () -> a.pointService.chargePoint(userId, 100L));
+            assertEquals(150L, b.pointService.chargePoint(userId, 50L).point());
+        }
+        for (long userId : stayingUsers) {
+            assertEquals(150L, a.pointService.chargePoint(userId, 50L).point());
+            assertThrows(ClusterRoutingException.class, () -> b.pointService.chargePoint(userId, 100L));
+        }
+        assertEquals(stayingUsers.size(), a.node.localUserCount());
+    }
+
+    @Test
+    void 넘겨주지_못한_유저는_새_소유_노드가_처음_요청을_받을_때_가져옴() {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        chargeAll(a);
+
+        failAccept = true;
+        b.membership.update(List.of(A, B));
+        a.membership.update(List.of(A, B));
+
+        long userId = movedUsers.get(0);
+        // 가져오기 전에는 새 소유 노드도 처리하지 않음 (잔고 0 에서 시작하지 않도록)
+        assertThrows(ClusterRoutingException.class, () -> b.pointService.chargePoint(userId, 50L));
+
+        b.node.prepare(userId);
+        assertEquals(150L, b.pointService.chargePoint(userId, 50L).point());
+        assertEquals(2, b.pointService.getPointHistoriesByUser(userId).size());
+
+        // 한 번 넘겨준 데이터는 다시 넘겨주지 않음 (빈 데이터로 넘겨주지도 않음)
+        assertThrows(ClusterRoutingException.class, () -> a.node.release(userId));
+        b.node.prepare(userId);
+        assertEquals(150L, b.pointService.getPointByUser(userId).point());
+    }
+
+    @Test
+    void 일괄_처리도_넘겨주지_못한_유저를_가져온_뒤_처리() {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        chargeAll(a);
+
+        failAccept = true;
+        b.membership.update(List.of(A, B));
+        a.membership.update(List.of(A, B));
+
+        List<PointOperationResult> results = b.pointService.applyBatch(List.of(
+                new PointOperation(movedUsers.get(0), TransactionType.CHARGE, 50L),
+                new PointOperation(movedUsers.get(1), TransactionType.USE, -30L)
+        ));
+
+        assertTrue(results.get(0).success());
+        assertEquals(150L, results.get(0).point());
+        assertTrue(results.get(1).success());
+        assertEquals(70L, results.get(1).point());
+    }
+
+    @Test
+    void 멤버_목록이_바뀌기_전인_노드는_소유한_유저를_넘겨주지_않음() {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        chargeAll(a);
+
+        // B 만 먼저 멤버 목록을 다시 읽은 상태
+        b.membership.update(List.of(A, B));
+        long userId = movedUsers.get(0);
+        assertThrows(ClusterRoutingException.class, () -> b.node.prepare(userId));
+
+        a.membership.update(List.of(A, B));
+        b.node.prepare(userId);
+        assertEquals(100L, b.pointService.getPointByUser(userId).point());
+    }
+
+    @Test
+    void 재시작한_노드는_저장소에_있는_유저의_데이터를_넘겨줌() throws InterruptedException {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        chargeAll(a);
+
+        // 저장소는 그대로 두고 재시작, 재시작 후 아직 요청을 받지 않은 유저
+        a.restart();
+        failAccept = true;
+        b.membership.update(List.of(A, B));
+        a.membership.update(List.of(A, B));
+
+        long userId = movedUsers.get(0);
+        b.node.prepare(userId);
+        assertEquals(100L, b.pointService.getPointByUser(userId).point());
+        assertEquals(150L, b.pointService.chargePoint(userId, 50L).point());
+    }
+
+    @Test
+    void 멤버가_연달아_바뀌면_데이터를_가진_이전_소유_노드를_찾아_가져옴() {
+        Node a = nodes.get(A);
+        Node b = nodes.get(B);
+        Node c = nodes.get(C);
+
+        // A -> B -> C 순서로 소유 노드가 바뀌는 유저
+        ClusterMembership ab = new ClusterMembership(A, List.of(A, B), 128);
+        ClusterMembership abc = new ClusterMembership(A, List.of(A, B, C), 128);
+        long userId = 1;
+        while (!ab.ring().ownerOf(userId).equals(B) || !abc.ring().ownerOf(userId).equals(C)) {
+            userId++;
+        }
+        a.pointService.chargePoint(userId, 100L);
+
+        // B 가 가져가기 전에 다시 바뀜
+        failAccept = true;
+        for (Node node : List.of(a, b, c)) {
+            node.membership.update(List.of(A, B));
+        }
+        for (Node node : List.of(a, b, c)) {
+            node.membership.update(List.of(A, B, C));
+        }
+
+        c.node.prepare(userId);
+        assertEquals(100L, c.pointService.getPointByUser(userId).point());
+        assertEquals(1, c.pointService.getPointHistoriesByUser(userId).size());
+    }
+
+    private void chargeAll(Node node) {
+        for (long userId : movedUsers) {
+            node.pointService.chargePoint(userId, 100L);
+        }
+        for (long userId : stayingUsers) {
+            node.pointService.chargePoint(userId, 100L);
+        }
+    }
+
+    private final class Node implements ClusterTransport {
+
+        private final String self;
+        private final UserLockManager userLockManager = new UserLockManager(16);
+        private final PointServiceConcurrencyTest.LatencyUserPointRepository userPointRepository =
+                new PointServiceConcurrencyTest.LatencyUserPointRepository();
+        private final PointServiceConcurrencyTest.LatencyPointHistoryRepository pointHistoryRepository =
+                new PointServiceConcurrencyTest.LatencyPointHistoryRepository();
+
+        private ClusterMembership membership;
+        private PointClusterNode node;
+        private PointService pointService;
+        private PointAsyncExecutor pointAsyncExecutor;
+        private PointShardEngine pointShardEngine;
+
+        private Node(String self) throws InterruptedException {
+            this.self = self;
+            restart();
+        }
+
+        // 저장소만 남기고 다시 만듦, 처음에는 A 한 노드
+        private void restart() throws InterruptedException {
+            if (pointService != null) {
+                close();
+            }
+            this.membership = new ClusterMembership(self, List.of(A), 128);
+            // 넘겨주기는 멤버 변경을 알린 스레드에서 바로 실행
+            this.node = new PointClusterNode(membership, this, userLockManager, userPointRepository, pointHistoryRepository,
+                    Runnable::run);
+            this.pointAsyncExecutor = new PointAsyncExecutor(userLockManager, 2, 100, 10_000L);
+            this.pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 1, 16);
+            this.pointService = new PointService(
+                    userPointRepository,
+                    pointHistoryRepository,
+                    userLockManager,
+                    new PointOperationCombiner(userLockManager, 128),
+                    pointAsyncExecutor,
+                    pointShardEngine
+            );
+            pointService.setUserOwnership(node);
+        }
+
+        private void close() throws InterruptedException {
+            pointShardEngine.close();
+            pointAsyncExecutor.close();
+        }
+
+        @Override
+        public UserHandoff release(String member, long userId) {
+            return nodes.get(member).node.release(userId);
+        }
+
+        @Override
+        public void accept(String member, UserHandoff handoff) {
+            if (failAccept) {
+                throw new IllegalStateException("연결 실패");
+            }
+            nodes.get(member).node.accept(handoff);
+        }
+    }
+}
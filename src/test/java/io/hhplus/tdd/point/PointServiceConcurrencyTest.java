@@ -0,0 +1,365 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 유저별 락 동시성 테스트
+ * - 고정 지연을 가진 스텁 저장소를 사용해 락 구조에 따른 처리 시간만 비교한다.
+ */
+class PointServiceConcurrencyTest {
+
+    private static final long READ_MILLIS = 20L;
+    private static final long WRITE_MILLIS = 30L;
+
+    private UserLockManager userLockManager;
+    private LatencyUserPointRepository userPointRepository;
+    private PointAsyncExecutor pointAsyncExecutor;
+    private PointShardEngine pointShardEngine;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userLockManager = new UserLockManager(1024);
+        userPointRepository = new LatencyUserPointRepository();
+        LatencyPointHistoryRepository pointHistoryRepository = new LatencyPointHistoryRepository();
+        pointAsyncExecutor = new PointAsyncExecutor(userLockManager, 8, 1000, 10_000L);
+        pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 4, 1024);
+        pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                pointAsyncExecutor,
+                pointShardEngine
+        );
+    }
+
+    // 샤드/비동기 실행 스레드가 다른 테스트로 남지 않도록 종료
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointShardEngine.close();
+        pointAsyncExecutor.close();
+    }
+
+    @Test
+    void 같은_유저는_같은_락을_사용() {
+        UserLockManager userLockManager = new UserLockManager(1000);
+
+        // 2의 거듭제곱으로 올림
+        assertEquals(1024, userLockManager.stripes());
+        assertSame(userLockManager.getLock(1L), userLockManager.getLock(1L));
+        assertNotSame(userLockManager.getLock(1L), userLockManager.getLock(2L));
+    }
+
+    @Test
+    void 락_대기와_보유_시간은_가장_바깥의_획득과_해제만_기록() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserLockManager userLockManager = new UserLockManager(16, meterRegistry);
+
+        Lock lock = userLockManager.getLock(1L);
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+
+        assertEquals(1L, meterRegistry.timer("point.lock.wait").count());
+        assertEquals(1L, meterRegistry.timer("point.lock.hold").count());
+        assertEquals(0, userLockManager.queueLength());
+    }
+
+    @Test
+    void 여러_유저_동시_충전시_유저별_포인트_정합성() throws InterruptedException {
+        int numberOfUsers = 8;
+        int numberOfCharges = 5;
+        long chargeAmount = 10L;
+
+        runCharges(numberOfUsers, numberOfCharges, chargeAmount);
+
+        for (long userId = 1; userId <= numberOfUsers; userId++) {
+            assertEquals(chargeAmount * numberOfCharges, pointService.getPointByUser(userId).point(),
+                    "User ID " + userId + "의 포인트가 예상과 다릅니다.");
+            assertEquals(numberOfCharges, pointService.getPointHistoriesByUser(userId).size());
+        }
+    }
+
+    @Test
+    void 유저_수가_늘어도_처리시간이_비례해서_늘지_않음() throws InterruptedException {
+        int numberOfCharges = 5;
+
+        // 1명의 유저가 순차적으로 처리되는 시간
+        long singleUserMillis = runCharges(1, numberOfCharges, 1L);
+
+        setUp();
+
+        // 8명의 유저 -> 전역 락이라면 약 8배, 유저별 락이라면 1명일 때와 비슷해야 함
+        // 지연만 있는 스텁 저장소라 서비스 계층의 락 구조만 검증 (실제 테이블 저장소의 병렬 저장은 UserPointRepositoryImplTest, PointHistoryRepositoryImplTest)
+        long multiUserMillis = runCharges(8, numberOfCharges, 1L);
+
+        System.out.printf("1명: %dms, 8명: %dms%n", singleUserMillis, multiUserMillis);
+        assertTrue(multiUserMillis < singleUserMillis * 3,
+                "유저 수에 비례하여 처리 시간이 증가했습니다. 1명: " + singleUserMillis + "ms, 8명: " + multiUserMillis + "ms");
+    }
+
+    @Test
+    void 결합_모드에서_한_유저_동시_충전시_저장_횟수가_줄어듦() throws InterruptedException {
+        int numberOfCharges = 20;
+        long chargeAmount = 10L;
+
+        pointService.setConcurrencyMode(ConcurrencyMode.COMBINING);
+        runCharges(1, numberOfCharges, chargeAmount);
+
+        // 모든 충전이 반영되고 히스토리도 건별로 적재
+        assertEquals(chargeAmount * numberOfCharges, pointService.getPointByUser(1L).point());
+        assertEquals(numberOfCharges, pointService.getPointHistoriesByUser(1L).size());
+
+        // 락을 기다리던 요청은 한 번에 모아서 저장되므로 저장 횟수가 요청 수보다 적음
+        System.out.printf("충전 %d건, 저장 %d회%n", numberOfCharges, userPointRepository.writes.get());
+        assertTrue(userPointRepository.writes.get() < numberOfCharges);
+    }
+
+    @Test
+    void 결합_모드에서_실패한_요청은_요청한_스레드에_예외_전달() {
+        pointService.setConcurrencyMode(ConcurrencyMode.COMBINING);
+
+        pointService.chargePoint(1L, 900L);
+
+        assertThrows(IllegalArgumentException.class, () -> pointService.chargePoint(1L, 200L));
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(1L, -1000L));
+        assertEquals(800L, pointService.usePoint(1L, -100L).point());
+    }
+
+    @Test
+    void 낙관적_모드에서_한_유저_동시_충전시_충돌을_재시도하여_모두_반영() throws InterruptedException {
+        int numberOfCharges = 5;
+        long chargeAmount = 10L;
+
+        pointService.setConcurrencyMode(ConcurrencyMode.OPTIMISTIC);
+        runCharges(1, numberOfCharges, chargeAmount);
+
+        // 충돌한 요청은 다시 조회해서 반영하므로 잃어버린 충전이 없음
+        assertEquals(chargeAmount * numberOfCharges, pointService.getPointByUser(1L).point());
+        assertEquals(numberOfCharges, pointService.getPointHistoriesByUser(1L).size());
+        assertEquals(numberOfCharges, userPointRepository.writes.get());
+
+        System.out.printf("충전 %d건, 버전 충돌 %d회%n", numberOfCharges, userPointRepository.conflicts.get());
+        assertTrue(userPointRepository.conflicts.get() > 0);
+    }
+
+    @Test
+    void 낙관적_모드에서_충돌이_계속되면_최대_시도_횟수_후_실패() throws InterruptedException {
+        // 조회할 때마다 다른 요청이 먼저 저장한 것처럼 버전을 올림
+        LatencyUserPointRepository conflictingRepository = new LatencyUserPointRepository() {
+            @Override
+            public UserPoint findById(Long id) {
+                UserPoint userPoint = super.findById(id);
+                upsert(id, userPoint.point());
+                return userPoint;
+            }
+        };
+        LatencyPointHistoryRepository pointHistoryRepository = new LatencyPointHistoryRepository();
+        UserLockManager userLockManager = new UserLockManager(16);
+        PointAsyncExecutor conflictingExecutor = new PointAsyncExecutor(userLockManager, 1, 1, 10_000L);
+        PointShardEngine conflictingEngine = new PointShardEngine(conflictingRepository, pointHistoryRepository, 1, 1);
+        PointService conflicting = new PointService(
+                conflictingRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                conflictingExecutor,
+                conflictingEngine
+        );
+        conflicting.setConcurrencyMode(ConcurrencyMode.OPTIMISTIC);
+        conflicting.setOptimisticMaxAttempts(3);
+
+        try {
+            assertThrows(IllegalStateException.class, () -> conflicting.chargePoint(1L, 100L));
+            assertEquals(0L, conflicting.getPointByUser(1L).point());
+        } finally {
+            conflictingEngine.close();
+            conflictingExecutor.close();
+        }
+    }
+
+    @Test
+    void 샤드_모드에서_한_유저_동시_충전시_락_없이_모두_반영() throws InterruptedException {
+        int numberOfCharges = 20;
+        long chargeAmount = 10L;
+
+        pointService.setConcurrencyMode(ConcurrencyMode.SHARDED);
+        runCharges(2, numberOfCharges, chargeAmount);
+
+        // 같은 유저의 요청은 한 샤드 스레드에서 순서대로 반영되므로 잃어버린 충전이 없음
+        for (long userId = 1; userId <= 2; userId++) {
+            assertEquals(chargeAmount * numberOfCharges, pointService.getPointByUser(userId).point());
+            assertEquals(numberOfCharges, pointService.getPointHistoriesByUser(userId).size());
+        }
+        // 큐에 모인 요청은 유저별로 한 번에 저장
+        System.out.printf("충전 %d건, 저장 %d회%n", numberOfCharges * 2, userPointRepository.writes.get());
+        assertTrue(userPointRepository.writes.get() < numberOfCharges * 2);
+
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(1L, -1000L));
+        assertEquals(100L, pointService.usePoint(1L, -100L).point());
+    }
+
+    @Test
+    void 처리_기한이_지난_요청은_테이블에_접근하지_않고_거절() {
+        RequestDeadline.set(System.nanoTime() - 1);
+        try {
+            assertThrows(DeadlineExceededException.class, () -> pointService.chargePoint(1L, 100L));
+            assertThrows(DeadlineExceededException.class, () -> pointService.usePoint(1L, 100L));
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        assertEquals(0, userPointRepository.writes.get());
+        assertEquals(0, pointService.getPointHistoriesByUser(1L).size());
+    }
+
+    @Test
+    void 처리_기한까지_유저_락을_잡지_못하면_기다리지_않고_시간_초과() {
+        Lock lock = userLockManager.getLock(1L);
+        lock.lock();
+        long start = System.nanoTime();
+        try {
+            CompletableFuture<UserPoint> charged = CompletableFuture.supplyAsync(() -> RequestDeadline.callWithin(
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100), () -> pointService.chargePoint(1L, 100L)));
+
+            CompletionException exception = assertThrows(CompletionException.class, charged::join);
+            assertInstanceOf(DeadlineExceededException.class, exception.getCause());
+        } finally {
+            lock.unlock();
+        }
+
+        // 락을 가진 요청이 끝날 때까지 기다리지 않음
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(0L, pointService.getPointByUser(1L).point());
+        assertEquals(0, userPointRepository.writes.get());
+    }
+
+    // 유저별 충전 요청을 동시에 실행하고 전체 소요 시간(ms)을 반환
+    private long runCharges(int numberOfUsers, int numberOfCharges, long chargeAmount) throws InterruptedException {
+        int numberOfTasks = numberOfUsers * numberOfCharges;
+
+        CountDownLatch readyLatch = new CountDownLatch(numberOfTasks);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfTasks);
+
+        for (long userId = 1; userId <= numberOfUsers; userId++) {
+            long id = userId;
+            for (int i = 0; i < numberOfCharges; i++) {
+                executor.submit(() -> {
+                    try {
+                        readyLatch.countDown();
+                        startLatch.await();
+                        pointService.chargePoint(id, chargeAmount);
+                    } catch (Exception e) {
+                        System.err.println("에러 발생: " + e.getMessage());
+                    }
+                });
+            }
+        }
+
+        readyLatch.await();
+        long start = System.nanoTime();
+        startLatch.countDown();
+
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 테이블과 달리 고정 지연 + 스레드 안전한 저장소
+    static class LatencyUserPointRepository implements UserPointRepository {
+
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+
+        @Override
+        public UserPoint findById(Long id) {
+            sleep(READ_MILLIS);
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint upsert(Long id, Long amount) {
+            writes.incrementAndGet();
+            sleep(WRITE_MILLIS);
+            return table.compute(id, (key, current) ->
+                    new UserPoint(id, amount, System.currentTimeMillis(), current == null ? 1L : current.version() + 1));
+        }
+
+        @Override
+        public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+            sleep(WRITE_MILLIS);
+            UserPoint[] saved = new UserPoint[1];
+            table.compute(id, (key, current) -> {
+                long version = current == null ? 0L : current.version();
+                if (version != expectedVersion) {
+                    conflicts.incrementAndGet();
+                    return current;
+                }
+                writes.incrementAndGet();
+                saved[0] = new UserPoint(id, amount, System.currentTimeMillis(), version + 1);
+                return saved[0];
+            });
+            return saved[0];
+        }
+    }
+
+    static class LatencyPointHistoryRepository implements PointHistoryRepository {
+
+        private final List<PointHistory> table = new CopyOnWriteArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public List<PointHistory> findAllById(Long id) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == id).toList();
+        }
+
+        @Override
+        public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+            sleep(WRITE_MILLIS);
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), id, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+    }
+}
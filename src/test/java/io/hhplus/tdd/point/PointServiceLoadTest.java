@@ -0,0 +1,216 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.PointServiceConcurrencyTest.LatencyPointHistoryRepository;
+import io.hhplus.tdd.point.PointServiceConcurrencyTest.LatencyUserPointRepository;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 부하 테스트 (./gradlew loadTest)
+ * - Tomcat 기본 최대 스레드 수(200)의 플랫폼 스레드 풀과 가상 스레드로 같은 요청을 처리하여
+ *   동시에 처리 중인 요청 수와 p99 지연 시간을 비교한다.
+ * - 소수의 유저에 요청이 몰릴 때 동기 처리와 비동기 처리(PointAsyncExecutor)를 같은 스레드 수로 비교한다.
+ * - 지연 시간은 요청 제출부터 완료까지로, 스레드를 기다리는 시간도 포함한다.
+ */
+@Tag("load")
+class PointServiceLoadTest {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int NUMBER_OF_REQUESTS = 2000;
+
+    // 요청 스레드 풀 크기, 비동기 처리는 요청 스레드와 실행기 스레드를 절반씩 사용
+    private static final int SERVLET_THREADS = 50;
+    private static final int HOT_USERS = 5;
+    private static final int HOT_REQUESTS = 250;
+    private static final int OTHER_REQUESTS = 100;
+
+    @Test
+    void 가상_스레드는_플랫폼_스레드_수를_넘어서_동시에_처리() throws InterruptedException {
+        ExecutorService platformExecutor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        LoadResult platform;
+        try {
+            platform = run(platformExecutor);
+        } finally {
+            platformExecutor.shutdownNow();
+        }
+        LoadResult virtual = run(new VirtualThreadTaskExecutor("point-load-"));
+
+        System.out.printf("platform(%d): 최대 동시 처리 %d건, p99 %dms, 전체 %dms%n",
+                PLATFORM_THREADS, platform.maxInFlight(), platform.p99Millis(), platform.totalMillis());
+        System.out.printf("virtual: 최대 동시 처리 %d건, p99 %dms, 전체 %dms%n",
+                virtual.maxInFlight(), virtual.p99Millis(), virtual.totalMillis());
+
+        // 플랫폼 스레드 풀은 스레드 수 이상 동시에 처리하지 못함
+        assertTrue(platform.maxInFlight() <= PLATFORM_THREADS);
+        assertTrue(virtual.maxInFlight() > PLATFORM_THREADS);
+        assertTrue(virtual.p99Millis() < platform.p99Millis());
+    }
+
+    @Test
+    void 비동기_처리는_같은_스레드_수로_더_많은_요청을_받고_다른_유저_조회가_밀리지_않음() throws InterruptedException {
+        BurstResult sync = runBurst(false);
+        BurstResult async = runBurst(true);
+
+        System.out.printf("sync(%d): 최대 동시 처리 %d건, 다른 유저 조회 p99 %dms, 전체 %dms%n",
+                SERVLET_THREADS, sync.maxInFlight(), sync.otherP99Millis(), sync.totalMillis());
+        System.out.printf("async(%d + %d): 최대 동시 처리 %d건, 다른 유저 조회 p99 %dms, 전체 %dms%n",
+                SERVLET_THREADS / 2, SERVLET_THREADS / 2, async.maxInFlight(), async.otherP99Millis(), async.totalMillis());
+
+        // 동기 처리는 요청 스레드가 락과 테이블 지연 동안 묶여 스레드 수 이상 받지 못함
+        assertTrue(sync.maxInFlight() <= SERVLET_THREADS);
+        assertTrue(async.maxInFlight() > SERVLET_THREADS);
+        assertTrue(async.otherP99Millis() < sync.otherP99Millis());
+    }
+
+    // 소수 유저의 충전 요청을 먼저 몰아서 제출한 뒤 다른 유저의 조회 요청을 제출하고 결과를 측정
+    private BurstResult runBurst(boolean async) throws InterruptedException {
+        UserLockManager userLockManager = new UserLockManager(1024);
+        PointAsyncExecutor pointAsyncExecutor = new PointAsyncExecutor(userLockManager, SERVLET_THREADS / 2, 10_000, 60_000L);
+        LatencyUserPointRepository userPointRepository = new LatencyUserPointRepository();
+        LatencyPointHistoryRepository pointHistoryRepository = new LatencyPointHistoryRepository();
+        PointShardEngine pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 16, 1024);
+        PointService pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                pointAsyncExecutor,
+                pointShardEngine
+        );
+        ExecutorService servletExecutor = Executors.newFixedThreadPool(async ? SERVLET_THREADS / 2 : SERVLET_THREADS);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long[] otherLatencies = new long[OTHER_REQUESTS];
+        CountDownLatch doneLatch = new CountDownLatch(HOT_REQUESTS + OTHER_REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < HOT_REQUESTS + OTHER_REQUESTS; i++) {
+            boolean hot = i < HOT_REQUESTS;
+            long userId = hot ? i % HOT_USERS + 1 : HOT_USERS + i;
+            int otherIndex = i - HOT_REQUESTS;
+            long submitted = System.nanoTime();
+
+            Runnable complete = () -> {
+                inFlight.decrementAndGet();
+                if (!hot) {
+                    otherLatencies[otherIndex] = System.nanoTime() - submitted;
+                }
+                doneLatch.countDown();
+            };
+            servletExecutor.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                if (async) {
+                    // 요청 스레드는 작업을 넘기고 바로 반환
+                    CompletableFuture<UserPoint> response = hot
+                            ? pointService.chargePointAsync(userId, 1L)
+                            : pointService.getPointByUserAsync(userId);
+                    response.whenComplete((userPoint, error) -> complete.run());
+                    return;
+                }
+                try {
+                    if (hot) {
+                        pointService.chargePoint(userId, 1L);
+                    } else {
+                        pointService.getPointByUser(userId);
+                    }
+                } finally {
+                    complete.run();
+                }
+            });
+        }
+
+        long totalMillis;
+        try {
+            assertTrue(doneLatch.await(1, TimeUnit.MINUTES), "제한 시간 내에 모든 요청을 처리하지 못했습니다.");
+            totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            servletExecutor.shutdownNow();
+            pointShardEngine.close();
+            pointAsyncExecutor.close();
+        }
+
+        Arrays.sort(otherLatencies);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(otherLatencies[(int) Math.ceil(OTHER_REQUESTS * 0.99) - 1]);
+        return new BurstResult(maxInFlight.get(), p99Millis, totalMillis);
+    }
+
+    // 서로 다른 유저의 충전 요청을 한꺼번에 제출하고 결과를 측정
+    private LoadResult run(Executor executor) throws InterruptedException {
+        UserLockManager userLockManager = new UserLockManager(1024);
+        LatencyUserPointRepository userPointRepository = new LatencyUserPointRepository();
+        LatencyPointHistoryRepository pointHistoryRepository = new LatencyPointHistoryRepository();
+        PointAsyncExecutor pointAsyncExecutor = new PointAsyncExecutor(userLockManager, 8, 1000, 10_000L);
+        PointShardEngine pointShardEngine = new PointShardEngine(userPointRepository, pointHistoryRepository, 16, 1024);
+        PointService pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                userLockManager,
+                new PointOperationCombiner(userLockManager, 128),
+                pointAsyncExecutor,
+                pointShardEngine
+        );
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long[] latencies = new long[NUMBER_OF_REQUESTS];
+        CountDownLatch doneLatch = new CountDownLatch(NUMBER_OF_REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    pointService.chargePoint(index + 1L, 10L);
+                } finally {
+                    inFlight.decrementAndGet();
+                    latencies[index] = System.nanoTime() - submitted;
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long totalMillis;
+        try {
+            assertTrue(doneLatch.await(1, TimeUnit.MINUTES), "제한 시간 내에 모든 요청을 처리하지 못했습니다.");
+            totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            pointShardEngine.close();
+            pointAsyncExecutor.close();
+        }
+
+        Arrays.sort(latencies);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(NUMBER_OF_REQUESTS * 0.99) - 1]);
+        return new LoadResult(maxInFlight.get(), p99Millis, totalMillis);
+    }
+
+    private record BurstResult(
+            int maxInFlight,
+            long otherP99Millis,
+            long totalMillis
+    ) {
+    }
+
+    private record LoadResult(
+            int maxInFlight,
+            long p99Millis,
+            long totalMillis
+    ) {
+    }
+}
@@ -1,6 +1,9 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.lock.UserLockManager;
 import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointHistoryPage;
+import io.hhplus.tdd.point.reponse.PointOperationResult;
 import io.hhplus.tdd.point.reponse.UserPoint;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +34,9 @@ class PointServiceTest {
     @Mock
     private PointHistoryRepository pointHistoryRepository;
 
+    @Spy
+    private UserLockManager userLockManager = new UserLockManager(16);
+
     @InjectMocks
     private PointService pointService;
 
@@ -238,6 +245,91 @@ class PointServiceTest {
         // 원하는 메서드 호출했는지 검증
         verify(pointHistoryRepository, times(1)).findAllById(id);
     }
+
+    @Test
+    void 포인트_히스토리_페이지_조회시_다음_커서_반환() {
+        long id = 1L;
+
+        // given: limit(2) 보다 한 건 더 조회되면 다음 페이지가 있음
+        List<PointHistory> mockHistoryList = Arrays.asList(
+                new PointHistory(3L, id, 100L, TransactionType.CHARGE, 300L),
+                new PointHistory(2L, id, -50L, TransactionType.USE, 200L),
+                new PointHistory(1L, id, 10L, TransactionType.CHARGE, 100L)
+        );
+        when(pointHistoryRepository.findPageById(id, null, 3, HistoryOrder.NEWEST)).thenReturn(mockHistoryList);
+
+        // when
+        PointHistoryPage page = pointService.getPointHistoryPage(id, null, 2, HistoryOrder.NEWEST);
+
+        // then: 2건만 반환하고, 마지막 히스토리 다음부터 조회하는 커서 반환
+        assertEquals(2, page.histories().size());
+        assertEquals(new HistoryCursor(200L, 2L), HistoryCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void 포인트_히스토리_마지막_페이지는_다음_커서_없음() {
+        long id = 1L;
+        HistoryCursor cursor = new HistoryCursor(200L, 2L);
+
+        when(pointHistoryRepository.findPageById(id, cursor, 3, HistoryOrder.NEWEST))
+                .thenReturn(List.of(new PointHistory(1L, id, 10L, TransactionType.CHARGE, 100L)));
+
+        PointHistoryPage page = pointService.getPointHistoryPage(id, cursor.encode(), 2, HistoryOrder.NEWEST);
+
+        assertEquals(1, page.histories().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void 일괄_처리시_유저별로_한번만_저장() {
+        // given: 1번 유저 100 포인트, 2번 유저 0 포인트
+        when(userPointRepository.findById(1L)).thenReturn(mockPoint);
+        when(userPointRepository.findById(2L)).thenReturn(new UserPoint(2L, 0L, System.currentTimeMillis()));
+
+        // when
+        List<PointOperationResult> results = pointService.applyBatch(List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 50L),
+                new PointOperation(1L, TransactionType.USE, -30L)
+        ));
+
+        // then: 요청 순서대로 각 요청 직후의 잔고 반환
+        assertTrue(results.stream().allMatch(PointOperationResult::success));
+        assertEquals(200L, results.get(0).point().longValue());
+        assertEquals(50L, results.get(1).point().longValue());
+        assertEquals(170L, results.get(2).point().longValue());
+
+        // 유저별 최종 잔고로 한 번씩만 저장, 히스토리는 요청 건별로 적재
+        verify(userPointRepository, times(1)).upsert(1L, 170L);
+        verify(userPointRepository, times(1)).upsert(2L, 50L);
+        verify(pointHistoryRepository, times(3)).insertPointHistory(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void 일괄_처리시_실패한_요청은_잔고에_반영하지_않음() {
+        // given: 1번 유저 100 포인트, 2번 유저 0 포인트
+        when(userPointRepository.findById(1L)).thenReturn(mockPoint);
+        when(userPointRepository.findById(2L)).thenReturn(new UserPoint(2L, 0L, System.currentTimeMillis()));
+
+        // when: 최대 포인트 초과 충전, 잔고 부족 사용은 실패
+        List<PointOperationResult> results = pointService.applyBatch(List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 950L),
+                new PointOperation(1L, TransactionType.USE, -50L),
+                new PointOperation(2L, TransactionType.USE, -10L)
+        ));
+
+        // then
+        assertFalse(results.get(0).success());
+        assertEquals("최대 보유 가능 포인트를 넘어섰습니다.", results.get(0).message());
+        assertTrue(results.get(1).success());
+        assertEquals(50L, results.get(1).point().longValue());
+        assertFalse(results.get(2).success());
+
+        // 성공한 요청만 반영하여 저장, 모두 실패한 유저는 저장하지 않음
+        verify(userPointRepository, times(1)).upsert(1L, 50L);
+        verify(userPointRepository, never()).upsert(eq(2L), anyLong());
+        verify(pointHistoryRepository, times(1)).insertPointHistory(eq(1L), eq(-50L), eq(TransactionType.USE), anyLong());
+    }
     
     // 동시에 여러 건의 포인트 충전, 이용 요청이 들어올 경우 순차적으로 처리 - 통합 테스트 진행
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.deadline.DeadlineExceededException;
+import io.hhplus.tdd.point.deadline.RequestDeadline;
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointShardEngineTest {
+
+    private final PointServiceConcurrencyTest.LatencyUserPointRepository userPointRepository =
+            new PointServiceConcurrencyTest.LatencyUserPointRepository();
+    private final PointServiceConcurrencyTest.LatencyPointHistoryRepository pointHistoryRepository =
+            new PointServiceConcurrencyTest.LatencyPointHistoryRepository();
+
+    @Test
+    void 유저는_항상_같은_샤드에_배정되고_연속된_ID_는_고르게_퍼짐() throws InterruptedException {
+        PointShardEngine engine = new PointShardEngine(userPointRepository, pointHistoryRepository, 8, 16);
+        engine.close();
+
+        assertEquals(engine.shardOf(42L), engine.shardOf(42L));
+        long usedShards = IntStream.range(0, 64).map(userId -> engine.shardOf(userId)).distinct().count();
+        assertEquals(8, usedShards);
+    }
+
+    @Test
+    void 종료하면_새_요청은_거절하고_큐에_남은_요청은_모두_처리() throws InterruptedException {
+        PointShardEngine engine = new PointShardEngine(userPointRepository, pointHistoryRepository, 2, 64);
+
+        List<CompletableFuture<AppliedOperation>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 4; userId++) {
+            for (int i = 0; i < 5; i++) {
+                futures.add(engine.submit(new PointOperation(userId, TransactionType.CHARGE, 10L)));
+            }
+        }
+        engine.close();
+
+        // close 가 반환되면 이미 받은 요청은 모두 처리된 상태
+        futures.forEach(future -> assertTrue(future.isDone()));
+        for (long userId = 1; userId <= 4; userId++) {
+            assertEquals(50L, userPointRepository.findById(userId).point());
+        }
+        assertThrows(RejectedExecutionException.class,
+                () -> engine.submit(new PointOperation(1L, TransactionType.CHARGE, 10L)));
+
+        // 샤드별 처리 건수의 합 = 받은 요청 수
+        List<PointShardEngine.ShardStats> stats = engine.stats();
+        assertEquals(2, stats.size());
+        assertEquals(20L, stats.stream().mapToLong(PointShardEngine.ShardStats::processed).sum());
+        stats.forEach(shard -> assertEquals(0, shard.queueDepth()));
+    }
+
+    @Test
+    void 정책을_어긴_요청만_실패하고_같은_배치의_다른_요청은_반영() throws InterruptedException {
+        PointShardEngine engine = new PointShardEngine(userPointRepository, pointHistoryRepository, 1, 16);
+
+        CompletableFuture<AppliedOperation> charged = engine.submit(new PointOperation(1L, TransactionType.CHARGE, 900L));
+        CompletableFuture<AppliedOperation> exceeded = engine.submit(new PointOperation(1L, TransactionType.CHARGE, 200L));
+        CompletableFuture<AppliedOperation> used = engine.submit(new PointOperation(1L, TransactionType.USE, -100L));
+        engine.close();
+
+        assertTrue(charged.join().result().success());
+        assertFalse(exceeded.join().result().success());
+        assertThrows(IllegalArgumentException.class, () -> exceeded.join().toUserPoint());
+        assertEquals(800L, used.join().toUserPoint().point());
+        assertEquals(2, pointHistoryRepository.findAllById(1L).size());
+    }
+
+    @Test
+    void 샤드가_처리하지_못하면_요청_처리_기한까지만_기다림() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        PointServiceConcurrencyTest.LatencyUserPointRepository stuckRepository = new PointServiceConcurrencyTest.LatencyUserPointRepository() {
+            @Override
+            public UserPoint findById(Long id) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findById(id);
+            }
+        };
+        PointShardEngine engine = new PointShardEngine(stuckRepository, pointHistoryRepository, 1, 16);
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        long start = System.nanoTime();
+        try {
+            CompletableFuture<AppliedOperation> result = engine.submit(new PointOperation(1L, TransactionType.CHARGE, 10L));
+            assertThrows(DeadlineExceededException.class, () -> engine.await(result));
+        } finally {
+            RequestDeadline.clear();
+            release.countDown();
+            engine.close();
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000L);
+        // 기다리다 포기한 요청은 샤드 스레드가 나중에 반영하지 않음
+        assertEquals(0L, stuckRepository.findById(1L).point());
+        assertTrue(pointHistoryRepository.findAllById(1L).isEmpty());
+    }
+}
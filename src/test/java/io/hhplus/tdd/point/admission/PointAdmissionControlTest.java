@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.admission;
+
+import io.hhplus.tdd.point.reponse.AdmissionStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointAdmissionControlTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void 유저별_버스트를_넘으면_다음_토큰까지_남은_시간을_Retry_After_로_거절() {
+        PointAdmissionControl control = new PointAdmissionControl(0.5, 2, 16, 100, 1, 100, clock::get);
+
+        control.release(control.acquire(1L));
+        control.release(control.acquire(1L));
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> control.acquire(1L));
+        assertEquals(RejectReason.USER_RATE, rejected.reason());
+        // 초당 0.5 개씩 채워지므로 다음 토큰까지 2초
+        assertEquals(2L, rejected.retryAfterSeconds());
+
+        // 다른 유저와 유저 ID 가 없는 요청은 영향 없음
+        control.release(control.acquire(2L));
+        control.release(control.acquire(null));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        control.release(control.acquire(1L));
+        assertEquals(1L, control.stats().rejectedByUserRate());
+    }
+
+    @Test
+    void 동시_처리_한도를_넘으면_거절하고_반환되면_다시_수락() {
+        PointAdmissionControl control = new PointAdmissionControl(1000, 1000, 16, 2, 1, 10, clock::get);
+
+        PointAdmissionControl.Permit first = control.acquire(1L);
+        control.acquire(2L);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> control.acquire(3L));
+        assertEquals(RejectReason.CONCURRENCY, rejected.reason());
+        assertEquals(1L, rejected.retryAfterSeconds());
+
+        control.release(first);
+        control.acquire(3L);
+
+        AdmissionStats stats = control.stats();
+        assertEquals(2, stats.inFlight());
+        assertEquals(3L, stats.admitted());
+        assertEquals(1L, stats.rejectedByConcurrency());
+    }
+
+    @Test
+    void 같은_유저의_처리_중인_요청이_많으면_거절하고_다른_유저는_영향_없음() {
+        PointAdmissionControl control = new PointAdmissionControl(1000, 1000, 2, 100, 1, 100, clock::get);
+
+        PointAdmissionControl.Permit first = control.acquire(1L);
+        control.acquire(1L);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> control.acquire(1L));
+        assertEquals(RejectReason.USER_QUEUE, rejected.reason());
+        assertEquals(1L, control.stats().rejectedByUserQueue());
+
+        // 락 stripe 와 관계없이 다른 유저는 수락
+        for (long userId = 2; userId <= 64; userId++) {
+            control.release(control.acquire(userId));
+        }
+
+        // 거절된 요청은 처리 중인 요청 수에 남지 않음
+        control.release(first);
+        control.acquire(1L);
+        assertEquals(2, control.stats().inFlight());
+    }
+
+    @Test
+    void 응답_시간이_늘어나면_한도를_줄이고_회복되면_다시_늘림() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 10, 200, 1.5, 1000L, 0L);
+
+        // 평소 응답 시간 10ms 로 한도를 모두 사용
+        long now = runWindows(limit, 0L, 5, TimeUnit.MILLISECONDS.toNanos(10));
+        int steady = limit.limit();
+        assertTrue(steady >= 100);
+
+        // 응답 시간이 10배로 늘어나면 줄어듦
+        now = runWindows(limit, now, 5, TimeUnit.MILLISECONDS.toNanos(100));
+        int overloaded = limit.limit();
+        assertTrue(overloaded < steady);
+        assertTrue(overloaded >= 10);
+
+        // 다시 빨라지면 늘어남
+        runWindows(limit, now, 10, TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(limit.limit() > overloaded);
+    }
+
+    // 구간마다 한도만큼 동시에 처리하고 rtt 로 끝냄
+    private static long runWindows(GradientConcurrencyLimit limit, long now, int windows, long rttNanos) {
+        for (int window = 0; window < windows; window++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            now += TimeUnit.MILLISECONDS.toNanos(1000);
+            for (int i = 0; i < admitted; i++) {
+                limit.release(rttNanos, now);
+            }
+        }
+        return now;
+    }
+}
@@ -0,0 +1,259 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.hhplus.tdd.point.reponse.UserHandoff;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 클러스터 모드 HTTP 경로 테스트
+ * - 이 노드(SELF)와 다른 노드(HttpServer 로 만든 가짜 노드) 두 멤버로 실행하고, 가짜 노드가 받은 요청을 확인한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClusterForwardingInterceptorTest {
+
+    private static final String SELF = "http://localhost:18081";
+
+    private static final HttpServer OTHER = startOther();
+    private static final String OTHER_URL = "http://localhost:" + OTHER.getAddress().getPort();
+    private static final BlockingQueue<Received> RECEIVED = new LinkedBlockingQueue<>();
+
+    private static final ConsistentHashRing RING = new ConsistentHashRing(List.of(SELF, OTHER_URL), 128);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HttpClusterTransport httpClusterTransport;
+
+    @DynamicPropertySource
+    static void clusterProperties(DynamicPropertyRegistry registry) {
+        registry.add("point.cluster.enabled", () -> "true");
+        registry.add("point.cluster.self", () -> SELF);
+        registry.add("point.cluster.members", () -> SELF + "," + OTHER_URL);
+    }
+
+    @AfterAll
+    static void stopOther() {
+        OTHER.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RECEIVED.clear();
+    }
+
+    @Test
+    void 다른_노드가_소유한_유저의_충전은_소유_노드로_전달하고_응답을_그대로_돌려줌() throws Exception {
+        long userId = userOwnedBy(OTHER_URL);
+
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "charge-1")
+                        .content("{\"amount\":100}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(100));
+
+        Received received = RECEIVED.poll(1, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals("PATCH", received.method());
+        assertEquals("/point/" + userId + "/charge", received.path());
+        assertEquals("{\"amount\":100}", received.body());
+        assertEquals(SELF, received.forwardedBy());
+        assertEquals("charge-1", received.idempotencyKey());
+    }
+
+    @Test
+    void 전달받은_요청을_소유하지_않으면_다시_전달하지_않고_503() throws Exception {
+        long userId = userOwnedBy(OTHER_URL);
+
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(ClusterForwardingInterceptor.FORWARDED_BY_HEADER, OTHER_URL)
+                        .content("{\"amount\":100}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        assertTrue(RECEIVED.isEmpty());
+    }
+
+    @Test
+    void 이_노드가_소유한_유저는_전달하지_않고_처리하고_넘겨받은_데이터를_반영() throws Exception {
+        long userId = userOwnedBy(SELF);
+
+        mockMvc.perform(post("/point/cluster/handoff")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + userId + ",\"point\":300,\"histories\":[]}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":100}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(400));
+        mockMvc.perform(get("/point/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(400));
+
+        assertTrue(RECEIVED.isEmpty());
+    }
+
+    @Test
+    void 이_노드가_소유한_유저의_비동기_충전은_다시_디스패치되어도_전달하지_않고_응답() throws Exception {
+        // 다른 테스트와 잔고가 섞이지 않도록 다른 유저 사용
+        long userId = userOwnedBy(SELF, userOwnedBy(SELF) + 1);
+
+        MvcResult started = mockMvc.perform(patch("/point/{id}/charge/async", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":100}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(100));
+
+        assertTrue(RECEIVED.isEmpty());
+    }
+
+    @Test
+    void 다른_노드가_모두_소유한_유저의_일괄_처리는_전체를_소유_노드로_전달() throws Exception {
+        long userId = userOwnedBy(OTHER_URL);
+        long otherUserId = userOwnedBy(OTHER_URL, userId + 1);
+
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":" + userId + ",\"type\":\"CHARGE\",\"amount\":100},"
+                                + "{\"userId\":" + otherUserId + ",\"type\":\"CHARGE\",\"amount\":100}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(userId));
+
+        Received received = RECEIVED.poll(1, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals("POST", received.method());
+        assertEquals("/point/batch", received.path());
+        assertTrue(received.body().contains("\"userId\":" + otherUserId));
+        assertEquals(SELF, received.forwardedBy());
+    }
+
+    @Test
+    void 여러_노드가_소유한_유저를_섞은_일괄_처리는_전체를_처리하지_않고_503() throws Exception {
+        long ownedUserId = userOwnedBy(SELF, 1_000);
+        long otherUserId = userOwnedBy(OTHER_URL);
+
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":" + ownedUserId + ",\"type\":\"CHARGE\",\"amount\":100},"
+                                + "{\"userId\":" + otherUserId + ",\"type\":\"CHARGE\",\"amount\":100}]"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/point/{id}", ownedUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(0));
+
+        assertTrue(RECEIVED.isEmpty());
+    }
+
+    @Test
+    void HTTP_전송으로_다른_노드의_유저_데이터를_주고받음() throws InterruptedException {
+        long userId = userOwnedBy(OTHER_URL);
+
+        UserHandoff handoff = httpClusterTransport.release(OTHER_URL, userId);
+        assertEquals(userId, handoff.userId());
+        assertEquals(70L, handoff.point());
+        assertEquals(1, handoff.histories().size());
+        assertEquals("POST", RECEIVED.take().method());
+
+        httpClusterTransport.accept(OTHER_URL, handoff);
+        Received accepted = RECEIVED.poll(1, TimeUnit.SECONDS);
+        assertNotNull(accepted);
+        assertEquals("/point/cluster/handoff", accepted.path());
+        assertTrue(accepted.body().contains("\"point\":70"));
+    }
+
+    private static long userOwnedBy(String member) {
+        return userOwnedBy(member, 1);
+    }
+
+    private static long userOwnedBy(String member, long from) {
+        long userId = from;
+        while (!RING.ownerOf(userId).equals(member)) {
+            userId++;
+        }
+        return userId;
+    }
+
+    // 받은 요청을 기록하고, 충전은 잔고 100, 일괄 처리는 받은 요청 목록, 데이터 요청은 잔고 70 과 히스토리 한 건으로 응답
+    private static HttpServer startOther() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", ClusterForwardingInterceptorTest::handle);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        RECEIVED.add(new Received(
+                exchange.getRequestMethod(),
+                path,
+                requestBody,
+                exchange.getRequestHeaders().getFirst(ClusterForwardingInterceptor.FORWARDED_BY_HEADER),
+                exchange.getRequestHeaders().getFirst("Idempotency-Key")
+        ));
+
+        String body;
+        if (path.endsWith("/release")) {
+            long userId = Long.parseLong(path.split("/")[4]);
+            body = "{\"userId\":" + userId + ",\"point\":70,\"histories\":[{\"id\":1,\"userId\":" + userId
+                    + ",\"amount\":70,\"type\":\"CHARGE\",\"updateMillis\":1}]}";
+        } else if (path.startsWith("/point/cluster")) {
+            body = "";
+        } else if (path.equals("/point/batch")) {
+            body = requestBody;
+        } else {
+            long userId = Long.parseLong(path.split("/")[2]);
+            body = "{\"id\":" + userId + ",\"point\":100,\"updateMillis\":0}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private record Received(String method, String path, String body, String forwardedBy, String idempotencyKey) {
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 30_000;
+
+    @Test
+    void 멤버_순서와_상관없이_같은_소유_노드이고_유저가_고르게_나뉨() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://a", "http://b", "http://c"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("http://c", "http://a", "http://b", "http://a"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            assertEquals(ring.ownerOf(userId), reordered.ownerOf(userId));
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        assertEquals(List.of("http://a", "http://b", "http://c"), reordered.members());
+        counts.values().forEach(count -> assertTrue(count > USERS * 0.25 && count < USERS * 0.42, counts.toString()));
+    }
+
+    @Test
+    void 노드를_추가하면_새_노드로_옮겨가는_유저만_소유_노드가_바뀜() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("http://a", "http://b", "http://c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            if (!before.ownerOf(userId).equals(after.ownerOf(userId))) {
+                assertEquals("http://d", after.ownerOf(userId));
+                moved++;
+            }
+        }
+        // 약 1/4
+        assertTrue(moved > USERS * 0.15 && moved < USERS * 0.35, String.valueOf(moved));
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedUserPointRepositoryTest {
+
+    private CountingUserPointRepository delegate;
+    private CachedUserPointRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CountingUserPointRepository();
+        repository = new CachedUserPointRepository(delegate, 2);
+    }
+
+    @Test
+    void 두번째_조회부터_테이블을_거치지_않음() {
+        delegate.upsert(1L, 100L);
+
+        assertEquals(100L, repository.findById(1L).point());
+        assertEquals(100L, repository.findById(1L).point());
+
+        // 테이블 조회는 최초 1회
+        assertEquals(1, delegate.reads);
+        assertEquals(1L, repository.stats().hits());
+        assertEquals(1L, repository.stats().misses());
+    }
+
+    @Test
+    void 저장시_캐시도_함께_갱신() {
+        repository.findById(1L);
+        repository.upsert(1L, 300L);
+
+        // 저장 이후 조회는 테이블을 거치지 않고 갱신된 값 반환
+        assertEquals(300L, repository.findById(1L).point());
+        assertEquals(1, delegate.reads);
+    }
+
+    @Test
+    void 최대_개수를_넘으면_가장_오래_사용되지_않은_유저_제거() {
+        repository.findById(1L);
+        repository.findById(2L);
+
+        // 1번 유저를 최근 사용으로 만들고 3번 유저 추가 -> 2번 유저 제거
+        repository.findById(1L);
+        repository.findById(3L);
+
+        assertEquals(2, repository.stats().size());
+        assertEquals(1L, repository.stats().evictions());
+
+        repository.findById(1L);
+        assertEquals(3, delegate.reads);
+
+        repository.findById(2L);
+        assertEquals(4, delegate.reads);
+    }
+
+    // 테이블 조회 횟수를 세는 저장소
+    static class CountingUserPointRepository implements UserPointRepository {
+
+        private final Map<Long, UserPoint> table = new HashMap<>();
+        private int reads;
+
+        @Override
+        public UserPoint findById(Long id) {
+            reads++;
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint upsert(Long id, Long amount) {
+            UserPoint current = table.get(id);
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis(), current == null ? 1L : current.version() + 1);
+            table.put(id, userPoint);
+            return userPoint;
+        }
+
+        @Override
+        public UserPoint compareAndSet(Long id, long expectedVersion, Long amount) {
+            UserPoint current = table.get(id);
+            if ((current == null ? 0L : current.version()) != expectedVersion) {
+                return null;
+            }
+            return upsert(id, amount);
+        }
+    }
+}
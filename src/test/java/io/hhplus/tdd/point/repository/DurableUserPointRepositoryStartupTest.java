@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스냅샷 + WAL 저장소 재시작 시간 비교 (./gradlew loadTest)
+ * - WAL 만 있는 경우: 모든 저장 기록을 다시 적용
+ * - 스냅샷이 있는 경우: 스냅샷을 읽고 이후 1% 의 WAL 만 다시 적용
+ */
+@Tag("load")
+class DurableUserPointRepositoryStartupTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 백만_유저_재시작_시간() throws Exception {
+        compare(1_000_000);
+    }
+
+    @Test
+    void 천만_유저_재시작_시간() throws Exception {
+        compare(10_000_000);
+    }
+
+    private void compare(int numberOfUsers) throws Exception {
+        Path walOnly = directory.resolve("wal-only");
+        Path withSnapshot = directory.resolve("with-snapshot");
+
+        fill(walOnly, numberOfUsers, false);
+        fill(withSnapshot, numberOfUsers, true);
+
+        long walOnlyMillis = measureStartup(walOnly, numberOfUsers);
+        long snapshotMillis = measureStartup(withSnapshot, numberOfUsers);
+
+        System.out.printf("%,d 유저 재시작: WAL 만 %dms, 스냅샷 + WAL 1%% %dms%n",
+                numberOfUsers, walOnlyMillis, snapshotMillis);
+        assertTrue(snapshotMillis < walOnlyMillis);
+    }
+
+    // 전체 유저 저장 (+ 스냅샷) 후 1% 유저를 다시 저장
+    private static void fill(Path directory, int numberOfUsers, boolean snapshot) throws Exception {
+        DurableUserPointRepository repository = open(directory);
+        for (long id = 1; id <= numberOfUsers; id++) {
+            repository.upsert(id, id % 1000);
+        }
+        if (snapshot) {
+            repository.snapshot();
+        }
+        for (long id = 1; id <= numberOfUsers / 100; id++) {
+            repository.upsert(id, 1000L);
+        }
+        repository.close();
+    }
+
+    private static long measureStartup(Path directory, int numberOfUsers) throws Exception {
+        long started = System.nanoTime();
+        DurableUserPointRepository repository = open(directory);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(numberOfUsers, repository.size());
+        assertEquals(1000L, repository.findById(1L).point());
+        assertEquals(numberOfUsers % 1000, repository.findById((long) numberOfUsers).point());
+        repository.close();
+        return millis;
+    }
+
+    private static DurableUserPointRepository open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        // 재시작 시간만 비교하므로 fsync 대기와 주기적 스냅샷은 끔
+        return new DurableUserPointRepository(directory, 1024, 1L << 30, 0L, 1000L, false, new SimpleMeterRegistry());
+    }
+}
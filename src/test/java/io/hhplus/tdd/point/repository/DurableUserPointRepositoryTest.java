@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableUserPointRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 재시작하면_WAL_로_포인트_복구() throws Exception {
+        DurableUserPointRepository repository = open();
+        repository.upsert(1L, 100L);
+        repository.upsert(2L, 200L);
+        repository.upsert(1L, 150L);
+        repository.close();
+
+        DurableUserPointRepository reopened = open();
+        assertEquals(150L, reopened.findById(1L).point());
+        assertEquals(200L, reopened.findById(2L).point());
+        assertEquals(0L, reopened.findById(3L).point());
+        reopened.close();
+    }
+
+    @Test
+    void 스냅샷_이후의_WAL_만_남기고_재시작시_함께_복구() throws Exception {
+        DurableUserPointRepository repository = open();
+        for (long id = 1; id <= 100; id++) {
+            repository.upsert(id, id);
+        }
+        repository.snapshot();
+        repository.upsert(1L, 1000L);
+        repository.close();
+
+        // 스냅샷 1개와 스냅샷 이후 WAL 세그먼트 1개
+        assertEquals(List.of("snapshot-00000000000000000100.bin", "wal-00000000000000000100.log"), fileNames());
+
+        DurableUserPointRepository reopened = open();
+        assertEquals(100, reopened.size());
+        assertEquals(1000L, reopened.findById(1L).point());
+        assertEquals(100L, reopened.findById(100L).point());
+        reopened.close();
+    }
+
+    @Test
+    void 중간에_끊긴_WAL_레코드는_버림() throws Exception {
+        DurableUserPointRepository repository = open();
+        repository.upsert(1L, 100L);
+        repository.upsert(2L, 200L);
+        repository.close();
+
+        // 세 번째 레코드를 쓰다가 멈춘 상태
+        Path wal = directory.resolve(fileNames().get(0));
+        Files.write(wal, new byte[DurableUserPointRepository.WAL_RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        DurableUserPointRepository reopened = open();
+        assertEquals(2, reopened.size());
+        reopened.upsert(3L, 300L);
+        reopened.close();
+
+        DurableUserPointRepository recovered = open();
+        assertEquals(300L, recovered.findById(3L).point());
+        assertEquals(DurableUserPointRepository.WAL_RECORD_SIZE * 3L, Files.size(wal));
+        recovered.close();
+    }
+
+    @Test
+    void 저장_중에_스냅샷을_만들어도_재시작시_마지막_값_복구() throws Exception {
+        DurableUserPointRepository repository = open();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        // 스냅샷 도중 저장 + 재배치가 일어나도록 계속 새로운 유저 저장
+        Thread writer = new Thread(() -> {
+            for (long id = 1; writing.get() || id <= 20_000; id++) {
+                repository.upsert(id % 50_000, id);
+            }
+        });
+        writer.start();
+        for (int i = 0; i < 3; i++) {
+            repository.snapshot();
+        }
+        writing.set(false);
+        writer.join();
+
+        int size = repository.size();
+        long[] expected = new long[50_000];
+        for (int id = 0; id < expected.length; id++) {
+            expected[id] = repository.findById((long) id).point();
+        }
+        repository.close();
+
+        DurableUserPointRepository reopened = open();
+        assertEquals(size, reopened.size());
+        for (int id = 0; id < expected.length; id++) {
+            assertEquals(expected[id], reopened.findById((long) id).point());
+        }
+        reopened.close();
+    }
+
+    @Test
+    void 버전이_바뀌었으면_저장하지_않고_재시작해도_버전_유지() throws Exception {
+        DurableUserPointRepository repository = open();
+        UserPoint empty = repository.findById(1L);
+        assertEquals(0L, empty.version());
+
+        UserPoint first = repository.compareAndSet(1L, empty.version(), 100L);
+        assertNotNull(first);
+
+        // 같은 밀리초 안에 다시 저장해도 버전은 바뀜
+        UserPoint second = repository.compareAndSet(1L, first.version(), 200L);
+        assertNotNull(second);
+        assertTrue(second.version() > first.version());
+
+        // 이미 지나간 버전으로는 저장되지 않음
+        assertNull(repository.compareAndSet(1L, first.version(), 300L));
+        assertEquals(second, repository.findById(1L));
+        repository.close();
+
+        DurableUserPointRepository reopened = open();
+        assertEquals(second.version(), reopened.findById(1L).version());
+        assertNotNull(reopened.compareAndSet(1L, second.version(), 300L));
+        reopened.close();
+    }
+
+    private DurableUserPointRepository open() throws IOException {
+        return new DurableUserPointRepository(directory, 16, 1L << 20, 0L, 1L, false, new SimpleMeterRegistry());
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
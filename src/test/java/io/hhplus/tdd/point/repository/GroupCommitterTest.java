@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitterTest {
+
+    @Test
+    void 디스크_반영이_계속_실패하면_기다리던_쓰기는_실패() throws Exception {
+        AtomicInteger forces = new AtomicInteger();
+        GroupCommitter groupCommitter = new GroupCommitter("test-flusher", 5L, 60_000L, 0L, () -> {
+            forces.incrementAndGet();
+            throw new IOException("디스크 오류");
+        });
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> groupCommitter.awaitDurable(1L));
+        assertInstanceOf(IOException.class, e.getCause().getCause());
+        assertTrue(forces.get() >= GroupCommitter.MAX_FAILED_FORCES);
+
+        assertThrows(IOException.class, groupCommitter::close);
+    }
+
+    @Test
+    void 기다리는_시간이_지나도_반영되지_않으면_실패() throws Exception {
+        GroupCommitter groupCommitter = new GroupCommitter("test-flusher", 5L, 50L, 0L, () -> 0L);
+
+        assertThrows(UncheckedIOException.class, () -> groupCommitter.awaitDurable(1L));
+        groupCommitter.close();
+    }
+
+    @Test
+    void 닫을_때_마지막으로_반영한_뒤_기다리던_쓰기를_깨움() throws Exception {
+        AtomicInteger forces = new AtomicInteger();
+        // 주기가 길어 백그라운드 스레드는 반영하지 않음
+        GroupCommitter groupCommitter = new GroupCommitter("test-flusher", 60_000L, 60_000L, 0L, () -> {
+            forces.incrementAndGet();
+            return 1L;
+        });
+
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> groupCommitter.awaitDurable(1L));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertFalse(waiter.isDone());
+
+        groupCommitter.close();
+
+        waiter.get(1, TimeUnit.SECONDS);
+        assertEquals(1, forces.get());
+    }
+
+    @Test
+    void 닫을_때_마지막_반영이_실패하면_기다리던_쓰기도_실패() throws Exception {
+        GroupCommitter groupCommitter = new GroupCommitter("test-flusher", 60_000L, 60_000L, 0L, () -> {
+            throw new IOException("디스크 오류");
+        });
+
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> groupCommitter.awaitDurable(1L));
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertThrows(IOException.class, groupCommitter::close);
+
+        Exception e = assertThrows(Exception.class, () -> waiter.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(UncheckedIOException.class, e.getCause());
+    }
+}
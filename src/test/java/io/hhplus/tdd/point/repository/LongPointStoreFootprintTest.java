@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserPointTable 과 같은 HashMap<Long, UserPoint> 와 LongPointStore 의 메모리 사용량 비교 (./gradlew loadTest)
+ * - 힙 저장은 GC 후 사용 중인 힙 크기의 차이로, 힙 밖 저장은 direct buffer 사용량으로 측정한다.
+ */
+@Tag("load")
+class LongPointStoreFootprintTest {
+
+    @Test
+    void 백만_유저_메모리_사용량_비교() {
+        compare(1_000_000);
+    }
+
+    @Test
+    void 천만_유저_메모리_사용량_비교() {
+        compare(10_000_000);
+    }
+
+    private static void compare(int numberOfUsers) {
+        long hashMapBytes = measureHeap(() -> {
+            Map<Long, UserPoint> table = new HashMap<>();
+            for (long id = 1; id <= numberOfUsers; id++) {
+                table.put(id, new UserPoint(id, id, id));
+            }
+            return table;
+        });
+
+        long heapStoreBytes = measureHeap(() -> fill(new LongPointStore(1024, false), numberOfUsers));
+
+        // 재배치 전 direct buffer 는 GC 이후 비동기로 해제되므로, 재배치가 없도록 필요한 크기로 생성
+        long directBefore = directBytes();
+        LongPointStore directStore = fill(new LongPointStore(numberOfUsers, true), numberOfUsers);
+        long directStoreBytes = directBytes() - directBefore;
+
+        System.out.printf("%,d 유저: HashMap %,d bytes (%d/유저), LongPointStore(heap) %,d bytes (%d/유저), LongPointStore(off-heap) %,d bytes%n",
+                numberOfUsers,
+                hashMapBytes, hashMapBytes / numberOfUsers,
+                heapStoreBytes, heapStoreBytes / numberOfUsers,
+                directStoreBytes);
+
+        assertTrue(heapStoreBytes < hashMapBytes / 2);
+        assertEquals(directStore.memoryBytes(), directStoreBytes);
+    }
+
+    private static LongPointStore fill(LongPointStore store, int numberOfUsers) {
+        for (long id = 1; id <= numberOfUsers; id++) {
+            store.put(id, id, id);
+        }
+        return store;
+    }
+
+    // 만든 객체가 살아있는 동안 늘어난 힙 사용량
+    private static long measureHeap(Supplier<Object> factory) {
+        long before = usedHeap();
+        Object retained = factory.get();
+        long after = usedHeap();
+        assertNotNull(retained);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long directBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.reponse.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongPointStoreTest {
+
+    @Test
+    void 저장한_포인트_조회_및_갱신() {
+        LongPointStore store = new LongPointStore(4, false);
+
+        assertNull(store.find(1L));
+
+        store.put(1L, 100L, 10L);
+        store.put(1L, 200L, 20L);
+
+        assertEquals(new UserPoint(1L, 200L, 20L), store.find(1L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void 용량을_넘으면_늘려서_재배치() {
+        LongPointStore store = new LongPointStore(4, false);
+        int capacity = store.capacity();
+
+        for (long id = 1; id <= 10_000; id++) {
+            store.put(id, id * 10, id);
+        }
+
+        assertTrue(store.capacity() > capacity);
+        assertEquals(10_000, store.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertEquals(id * 10, store.find(id).point());
+        }
+        assertNull(store.find(10_001L));
+    }
+
+    @Test
+    void 힙_밖에_저장() {
+        LongPointStore store = new LongPointStore(4, true);
+
+        for (long id = -100; id <= 100; id++) {
+            store.put(id, id, id);
+        }
+
+        assertTrue(store.isDirect());
+        assertEquals(201, store.size());
+        assertEquals(-100L, store.find(-100L).point());
+        assertEquals(0L, store.find(0L).point());
+    }
+
+    @Test
+    void 빈_슬롯_표시값과_같은_ID_도_저장() {
+        LongPointStore store = new LongPointStore(4, false);
+
+        store.put(Long.MIN_VALUE, 300L, 30L);
+
+        assertEquals(new UserPoint(Long.MIN_VALUE, 300L, 30L), store.find(Long.MIN_VALUE));
+        assertNull(store.find(0L));
+        assertEquals(1, store.size());
+    }
+}
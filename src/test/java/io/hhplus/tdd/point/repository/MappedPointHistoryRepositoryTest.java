@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPointHistoryRepositoryTest {
+
+    private static final int RECORD_SIZE = MappedPointHistoryRepository.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 재시작해도_히스토리가_남아있음() throws Exception {
+        MappedPointHistoryRepository repository = open(RECORD_SIZE * 100);
+        repository.insertPointHistory(1L, 100L, TransactionType.CHARGE, 10L);
+        repository.insertPointHistory(2L, 200L, TransactionType.CHARGE, 20L);
+        repository.insertPointHistory(1L, -50L, TransactionType.USE, 30L);
+        repository.close();
+
+        MappedPointHistoryRepository reopened = open(RECORD_SIZE * 100);
+        assertEquals(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L),
+                new PointHistory(3L, 1L, -50L, TransactionType.USE, 30L)
+        ), reopened.findAllById(1L));
+        // 유저별 합계도 로그를 다시 읽어 복구
+        assertEquals(new PointSummary(1L, 100L, 1L, -50L, 1L), reopened.summarize(1L));
+
+        // ID 는 이어서 발급
+        assertEquals(4L, reopened.insertPointHistory(2L, 10L, TransactionType.CHARGE, 40L).id());
+        reopened.close();
+    }
+
+    @Test
+    void 세그먼트가_가득_차면_새_파일에_기록() throws Exception {
+        MappedPointHistoryRepository repository = open(RECORD_SIZE * 4);
+        for (long i = 1; i <= 10; i++) {
+            repository.insertPointHistory(1L, i, TransactionType.CHARGE, i);
+        }
+        repository.close();
+
+        assertEquals(3, segments().size());
+
+        MappedPointHistoryRepository reopened = open(RECORD_SIZE * 4);
+        assertEquals(10, reopened.findAllById(1L).size());
+        reopened.close();
+    }
+
+    @Test
+    void 중간에_끊긴_레코드는_복구시_버림() throws Exception {
+        MappedPointHistoryRepository repository = open(RECORD_SIZE * 100);
+        for (long i = 1; i <= 3; i++) {
+            repository.insertPointHistory(1L, i, TransactionType.CHARGE, i);
+        }
+        repository.close();
+
+        // 마지막 레코드의 금액 일부만 기록된 상태로 만듦 (CRC 불일치)
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), RECORD_SIZE * 2L + 16);
+        }
+
+        MappedPointHistoryRepository reopened = open(RECORD_SIZE * 100);
+        assertEquals(List.of(1L, 2L), reopened.findAllById(1L).stream().map(PointHistory::id).toList());
+
+        // 버린 자리부터 다시 기록
+        assertEquals(3L, reopened.insertPointHistory(1L, 30L, TransactionType.CHARGE, 30L).id());
+        reopened.close();
+
+        MappedPointHistoryRepository recovered = open(RECORD_SIZE * 100);
+        assertEquals(30L, recovered.findAllById(1L).get(2).amount());
+        recovered.close();
+    }
+
+    private MappedPointHistoryRepository open(int segmentSize) throws IOException {
+        return new MappedPointHistoryRepository(directory, segmentSize, 1L, true, new SimpleMeterRegistry());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryOrder;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.DailyPointSummary;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.hhplus.tdd.point.reponse.PointSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointHistoryIndexTest {
+
+    private final PointHistoryIndex index = new PointHistoryIndex();
+
+    @Test
+    void 유저별로_시간순_정렬되어_조회() {
+        index.add(new PointHistory(1L, 1L, 10L, TransactionType.CHARGE, 100L));
+        index.add(new PointHistory(2L, 2L, 20L, TransactionType.CHARGE, 150L));
+        index.add(new PointHistory(3L, 1L, 30L, TransactionType.CHARGE, 300L));
+
+        // 시간이 뒤바뀌어 들어온 히스토리도 정렬 위치에 삽입
+        index.add(new PointHistory(4L, 1L, -5L, TransactionType.USE, 200L));
+
+        List<PointHistory> histories = index.findAll(1L);
+        assertEquals(List.of(1L, 4L, 3L), histories.stream().map(PointHistory::id).toList());
+        assertEquals(1, index.findAll(2L).size());
+        assertTrue(index.findAll(3L).isEmpty());
+
+        assertEquals(2, index.userCount());
+        assertEquals(4L, index.size());
+    }
+
+    @Test
+    void 기간_조회시_시작과_종료_시각_포함() {
+        for (long i = 1; i <= 10; i++) {
+            index.add(new PointHistory(i, 1L, 10L, TransactionType.CHARGE, i * 100L));
+        }
+
+        assertEquals(List.of(3L, 4L, 5L), ids(index.findBetween(1L, 300L, 500L)));
+        assertEquals(List.of(3L, 4L, 5L), ids(index.findBetween(1L, 250L, 550L)));
+        assertEquals(List.of(10L), ids(index.findBetween(1L, 1000L, Long.MAX_VALUE)));
+        assertTrue(index.findBetween(1L, 1100L, Long.MAX_VALUE).isEmpty());
+        assertTrue(index.findBetween(1L, 500L, 300L).isEmpty());
+    }
+
+    @Test
+    void 추가할_때마다_누적_합계와_일별_합계_갱신() {
+        long day1 = LocalDate.of(2024, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        long day3 = LocalDate.of(2024, 1, 3).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        index.add(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, day1));
+        index.add(new PointHistory(2L, 1L, -30L, TransactionType.USE, day1 + 1000L));
+        // 하루의 마지막 시각은 같은 날로 집계
+        index.add(new PointHistory(3L, 1L, 50L, TransactionType.CHARGE, day3 - 1));
+        index.add(new PointHistory(4L, 1L, -20L, TransactionType.USE, day3));
+        index.add(new PointHistory(5L, 2L, 10L, TransactionType.CHARGE, day1));
+
+        assertEquals(new PointSummary(1L, 150L, 2L, -50L, 2L), index.summary(1L));
+        assertEquals(new PointSummary(3L, 0L, 0L, 0L, 0L), index.summary(3L));
+
+        assertEquals(List.of(
+                new DailyPointSummary(LocalDate.of(2024, 1, 1), 100L, 1L, -30L, 1L),
+                new DailyPointSummary(LocalDate.of(2024, 1, 2), 50L, 1L, 0L, 0L),
+                new DailyPointSummary(LocalDate.of(2024, 1, 3), 0L, 0L, -20L, 1L)
+        ), index.daily(1L, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 31)));
+        assertEquals(List.of(LocalDate.of(2024, 1, 2)), index.daily(1L, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 2))
+                .stream().map(DailyPointSummary::date).toList());
+    }
+
+    @Test
+    void 커서_다음부터_페이지_조회() {
+        for (long i = 1; i <= 5; i++) {
+            index.add(new PointHistory(i, 1L, 10L, TransactionType.CHARGE, i * 100L));
+        }
+
+        // 최신순
+        List<PointHistory> first = index.findPage(1L, null, 2, HistoryOrder.NEWEST);
+        assertEquals(List.of(5L, 4L), ids(first));
+        List<PointHistory> second = index.findPage(1L, HistoryCursor.of(first.get(1)), 2, HistoryOrder.NEWEST);
+        assertEquals(List.of(3L, 2L), ids(second));
+        assertEquals(List.of(1L), ids(index.findPage(1L, HistoryCursor.of(second.get(1)), 2, HistoryOrder.NEWEST)));
+
+        // 오래된순
+        List<PointHistory> oldest = index.findPage(1L, null, 3, HistoryOrder.OLDEST);
+        assertEquals(List.of(1L, 2L, 3L), ids(oldest));
+        assertEquals(List.of(4L, 5L), ids(index.findPage(1L, HistoryCursor.of(oldest.get(2)), 3, HistoryOrder.OLDEST)));
+    }
+
+    @Test
+    void 커서_인코딩_디코딩() {
+        HistoryCursor cursor = new HistoryCursor(1700000000000L, 42L);
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("invalid-cursor"));
+    }
+
+    private static List<Long> ids(List<PointHistory> histories) {
+        return histories.stream().map(PointHistory::id).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 PointHistoryTable(적재 지연 최대 300ms)을 사용하는 저장소 테스트
+ */
+class PointHistoryRepositoryImplTest {
+
+    @Test
+    void 다른_파티션의_유저는_병렬로_적재하고_ID_는_저장소_전체에서_겹치지_않음() {
+        int numberOfUsers = 8;
+        int numberOfInserts = 3;
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointHistoryRepositoryImpl repository = new PointHistoryRepositoryImpl(new PointHistoryTable(), meterRegistry, numberOfUsers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfUsers);
+        long elapsedMillis;
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long userId = 1; userId <= numberOfUsers; userId++) {
+                long id = userId;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < numberOfInserts; i++) {
+                        repository.insertPointHistory(id, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 테이블 호출 시간의 합은 한 락으로 직렬화했을 때의 처리 시간
+        double serialMillis = meterRegistry.get("point.repository.calls").tag("method", "insertPointHistory").timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+        System.out.printf("처리: %dms, 테이블 호출 합: %.0fms%n", elapsedMillis, serialMillis);
+        assertTrue(elapsedMillis < serialMillis / 2,
+                "적재가 직렬화되었습니다. 처리: " + elapsedMillis + "ms, 테이블 호출 합: " + serialMillis + "ms");
+
+        Set<Long> ids = new HashSet<>();
+        for (long userId = 1; userId <= numberOfUsers; userId++) {
+            List<PointHistory> histories = repository.findAllById(userId);
+            assertEquals(numberOfInserts, histories.size());
+            histories.forEach(history -> ids.add(history.id()));
+        }
+        assertEquals(numberOfUsers * numberOfInserts, ids.size());
+        assertEquals(numberOfUsers * numberOfInserts, (long) meterRegistry.get("point.history.rows").gauge().value());
+    }
+}
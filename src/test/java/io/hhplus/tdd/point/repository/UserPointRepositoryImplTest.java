@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 UserPointTable(저장 지연 최대 300ms)을 사용하는 저장소 테스트
+ */
+class UserPointRepositoryImplTest {
+
+    @Test
+    void 다른_파티션의_유저는_병렬로_저장() {
+        int numberOfUsers = 8;
+        int numberOfWrites = 3;
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserPointRepositoryImpl repository = new UserPointRepositoryImpl(new UserPointTable(), meterRegistry, numberOfUsers);
+
+        long elapsedMillis = runUpserts(repository, numberOfUsers, numberOfWrites);
+
+        // 테이블 호출 시간의 합은 한 락으로 직렬화했을 때의 처리 시간
+        double serialMillis = meterRegistry.get("point.repository.calls").tag("method", "upsert").timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+        System.out.printf("처리: %dms, 테이블 호출 합: %.0fms%n", elapsedMillis, serialMillis);
+        assertTrue(elapsedMillis < serialMillis / 2,
+                "저장이 직렬화되었습니다. 처리: " + elapsedMillis + "ms, 테이블 호출 합: " + serialMillis + "ms");
+
+        for (long userId = 1; userId <= numberOfUsers; userId++) {
+            assertEquals(userId * 100, repository.findById(userId).point());
+            assertEquals(numberOfWrites, repository.findById(userId).version());
+        }
+    }
+
+    @Test
+    void 같은_파티션의_다른_유저도_버전은_유저별로_관리() {
+        UserPointRepositoryImpl repository = new UserPointRepositoryImpl(new UserPointTable(), new SimpleMeterRegistry(), 2);
+
+        // 1, 3 번 유저는 같은 파티션
+        repository.upsert(1L, 100L);
+        assertNotNull(repository.compareAndSet(3L, 0L, 300L));
+        assertNull(repository.compareAndSet(1L, 0L, 200L));
+
+        assertEquals(100L, repository.findById(1L).point());
+        assertEquals(300L, repository.findById(3L).point());
+    }
+
+    // 유저마다 numberOfWrites 번 (유저 ID * 100) 을 저장하고, 걸린 시간(ms)을 반환
+    private static long runUpserts(UserPointRepositoryImpl repository, int numberOfUsers, int numberOfWrites) {
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfUsers);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long userId = 1; userId <= numberOfUsers; userId++) {
+                long id = userId;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < numberOfWrites; i++) {
+                        repository.upsert(id, id * 100);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
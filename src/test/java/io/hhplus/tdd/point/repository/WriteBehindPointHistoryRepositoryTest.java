@@ -0,0 +1,183 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reponse.PointHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindPointHistoryRepositoryTest {
+
+    private final BlockingPointHistoryRepository blockingDelegate = new BlockingPointHistoryRepository();
+
+    private WriteBehindPointHistoryRepository repository;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        blockingDelegate.release.countDown();
+        if (repository != null) {
+            repository.flush();
+        }
+    }
+
+    @Test
+    void 적재_전_히스토리도_조회됨() {
+        repository = new WriteBehindPointHistoryRepository(new LatencyPointHistoryRepository(), 10, 10L, 1000L, false);
+        repository.start();
+
+        // 테이블 적재(건당 50ms)를 기다리지 않고 즉시 반환
+        for (int i = 1; i <= 5; i++) {
+            PointHistory pointHistory = repository.insertPointHistory(1L, i * 10L, TransactionType.CHARGE, i);
+            assertEquals(0L, pointHistory.id());
+        }
+
+        // 아직 적재되지 않은 내역도 조회 결과에 포함
+        List<PointHistory> histories = repository.findAllById(1L);
+        assertEquals(5, histories.size());
+        assertTrue(histories.stream().anyMatch(pointHistory -> pointHistory.id() == 0L));
+        assertEquals(List.of(10L, 20L, 30L, 40L, 50L), histories.stream().map(PointHistory::amount).toList());
+        assertTrue(repository.findAllById(2L).isEmpty());
+
+        // 합계에도 적재 전 내역 포함
+        assertEquals(150L, repository.summarize(1L).chargedAmount());
+        assertEquals(5L, repository.summarize(1L).chargeCount());
+    }
+
+    @Test
+    void 종료시_남은_히스토리_모두_적재() throws InterruptedException {
+        LatencyPointHistoryRepository delegate = new LatencyPointHistoryRepository();
+        repository = new WriteBehindPointHistoryRepository(delegate, 10, 10L, 1000L, false);
+        repository.start();
+
+        for (int i = 0; i < 5; i++) {
+            repository.insertPointHistory(1L, 10L, TransactionType.CHARGE, i);
+        }
+
+        repository.flush();
+
+        // 모두 테이블에 적재되었고, 대기 중인 내역은 없음
+        assertEquals(5, delegate.table.size());
+        assertEquals(0, repository.pendingCount());
+        assertEquals(5, repository.findAllById(1L).size());
+    }
+
+    @Test
+    void 큐가_가득_차면_요청_스레드에서_직접_적재() throws InterruptedException {
+        // 큐 크기 1: 첫 번째는 적재 스레드가 잡고 있고, 두 번째는 큐에 대기
+        repository = new WriteBehindPointHistoryRepository(blockingDelegate, 1, 10L, 1000L, false);
+        repository.start();
+
+        repository.insertPointHistory(1L, 10L, TransactionType.CHARGE, 1L);
+        assertTrue(blockingDelegate.writing.await(1, TimeUnit.SECONDS));
+        repository.insertPointHistory(1L, 20L, TransactionType.CHARGE, 2L);
+
+        // 세 번째 요청은 큐에 들어가지 못하므로 테이블 적재가 풀릴 때까지 요청 스레드에서 처리
+        Thread releaser = new Thread(() -> {
+            sleep(100L);
+            blockingDelegate.release.countDown();
+        });
+        releaser.start();
+
+        PointHistory pointHistory = repository.insertPointHistory(1L, 30L, TransactionType.CHARGE, 3L);
+        releaser.join();
+
+        assertNotEquals(0L, pointHistory.id());
+        assertEquals(3, repository.findAllById(1L).size());
+    }
+
+    @Test
+    void 다른_유저의_적재가_막혀_있어도_조회는_기다리지_않음() throws Exception {
+        repository = new WriteBehindPointHistoryRepository(blockingDelegate, 10, 10L, 1000L, false);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        repository.bindTo(meterRegistry);
+        repository.start();
+
+        repository.insertPointHistory(1L, 10L, TransactionType.CHARGE, 1L);
+        assertTrue(blockingDelegate.writing.await(1, TimeUnit.SECONDS));
+        repository.insertPointHistory(2L, 20L, TransactionType.CHARGE, 2L);
+
+        // 1번 유저의 적재가 끝나지 않은 동안 2번 유저의 조회는 바로 반환 (적재 대기 중인 내역 포함)
+        List<PointHistory> histories = CompletableFuture.supplyAsync(() -> repository.findAllById(2L))
+                .get(1, TimeUnit.SECONDS);
+        assertEquals(List.of(20L), histories.stream().map(PointHistory::amount).toList());
+        assertEquals(20L, CompletableFuture.supplyAsync(() -> repository.summarize(2L))
+                .get(1, TimeUnit.SECONDS).chargedAmount());
+
+        // 적재 중인 유저의 조회만 적재가 끝날 때까지 기다림
+        CompletableFuture<List<PointHistory>> blocked = CompletableFuture.supplyAsync(() -> repository.findAllById(1L));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(blocked.isDone());
+        blockingDelegate.release.countDown();
+        assertEquals(1, blocked.get(1, TimeUnit.SECONDS).size());
+
+        Timer readWait = meterRegistry.get("point.history.read.wait").timer();
+        assertEquals(3L, readWait.count());
+        assertTrue(readWait.max(TimeUnit.MILLISECONDS) >= 100);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 건당 50ms 가 걸리는 저장소
+    static class LatencyPointHistoryRepository implements PointHistoryRepository {
+
+        private final List<PointHistory> table = new CopyOnWriteArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public List<PointHistory> findAllById(Long id) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == id).toList();
+        }
+
+        @Override
+        public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+            sleep(50L);
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), id, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+    }
+
+    // release 되기 전까지 적재가 막혀 있는 저장소
+    static class BlockingPointHistoryRepository implements PointHistoryRepository {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<PointHistory> table = new CopyOnWriteArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public List<PointHistory> findAllById(Long id) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == id).toList();
+        }
+
+        @Override
+        public PointHistory insertPointHistory(Long id, Long amount, TransactionType type, long updateMillis) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), id, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+    }
+}